@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.core;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Bounded cache with a CLOCK (second chance) eviction: reads are lock free and only flag the entry as referenced,
+ * insertions are serialized and move a hand over the entries, clearing the flags until an unreferenced entry is found.
+ * An entry read since the last pass of the hand is kept so values read once don't evict the frequently read ones.
+ *
+ * @param <K> the key type.
+ * @param <V> the value type.
+ */
+final class ClockCache<K, V> {
+    private final ConcurrentMap<K, Slot<K, V>> slots = new ConcurrentHashMap<>();
+    private final Slot<K, V>[] ring;
+    private int size;
+    private int hand;
+
+    ClockCache(final int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.ring = new Slot[maxSize];
+    }
+
+    V get(final K key) {
+        final Slot<K, V> slot = slots.get(key);
+        if (slot == null) {
+            return null;
+        }
+        if (!slot.referenced) { // avoid to write the shared flag on each hit
+            slot.referenced = true;
+        }
+        return slot.value;
+    }
+
+    synchronized void put(final K key, final V value) {
+        final Slot<K, V> existing = slots.get(key);
+        if (existing != null) {
+            existing.value = value;
+            return;
+        }
+        final Slot<K, V> slot = new Slot<>(key, value);
+        if (size < ring.length) {
+            ring[size++] = slot;
+        } else {
+            while (ring[hand].referenced) {
+                ring[hand].referenced = false;
+                hand = (hand + 1) % ring.length;
+            }
+            slots.remove(ring[hand].key);
+            ring[hand] = slot;
+            hand = (hand + 1) % ring.length;
+        }
+        slots.put(key, slot);
+    }
+
+    int size() {
+        return slots.size();
+    }
+
+    private static final class Slot<K, V> {
+        private final K key;
+        private volatile V value;
+        private volatile boolean referenced;
+
+        private Slot(final K key, final V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
@@ -27,12 +27,29 @@ import javax.json.spi.JsonProvider;
  * This is not a standard factory but allows Johnzon to support an extended version of JSon Pointer.
  * By default, we support an extended usage of /- when used with replace/remove/get. But in the johnzon-jsonp-strict
  * module, it's overridden so we can pass the JSONP TCK in standalone environments or TomEE or else.
+ *
+ * Pointers are immutable so created ones are kept in a bounded {@link ClockCache}, frequently used pointers survive
+ * the one-shot ones (size configurable with {@code org.apache.johnzon.pointer-cache.size}, 0 disables it).
  */
 public class DefaultJsonPointerFactory implements JsonPointerFactory {
+    private final int cacheSize = Integer.getInteger("org.apache.johnzon.pointer-cache.size", 256);
+    private final ClockCache<String, JsonPointerImpl> cache = cacheSize > 0 ? new ClockCache<>(cacheSize) : null;
 
     @Override
     public JsonPointer createPointer(final JsonProvider provider, final String path) {
-        return new JsonPointerImpl(provider, path);
+        if (cache == null || path == null) {
+            return newPointer(provider, path);
+        }
+        final JsonPointerImpl cached = cache.get(path);
+        if (cached != null && cached.getProvider() == provider) {
+            return cached;
+        }
+        final JsonPointerImpl pointer = newPointer(provider, path); // don't cache invalid pointers (it throws)
+        cache.put(path, pointer);
+        return pointer;
     }
 
+    protected JsonPointerImpl newPointer(final JsonProvider provider, final String path) {
+        return new JsonPointerImpl(provider, path);
+    }
 }
@@ -32,4 +32,12 @@ class DiffBase implements Serializable {
     protected boolean isJsonArray(JsonValue targetValue) {
         return targetValue instanceof JsonArray;
     }
+
+    /**
+     * Enables to skip identical subtrees: shared instances are detected immediately and
+     * structures cache their hash so a different hash avoids a deep comparison.
+     */
+    protected boolean isSame(final JsonValue source, final JsonValue target) {
+        return source == target || (source.hashCode() == target.hashCode() && source.equals(target));
+    }
 }
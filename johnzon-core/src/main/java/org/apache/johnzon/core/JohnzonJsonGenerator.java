@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.johnzon.core;
+
+import javax.json.stream.JsonGenerator;
+
+/**
+ * JsonGenerator with extended functionality
+ */
+public interface JohnzonJsonGenerator extends JsonGenerator {
+    /**
+     * Writes the bytes as a Base64 JSON string, encoded directly in the output buffer.
+     *
+     * @param value the bytes to encode.
+     * @param url should the URL and filename safe alphabet be used.
+     * @return this generator.
+     */
+    JohnzonJsonGenerator writeBase64(byte[] value, boolean url);
+
+    /**
+     * @param name the attribute name.
+     * @param value the bytes to encode.
+     * @param url should the URL and filename safe alphabet be used.
+     * @return this generator.
+     * @see #writeBase64(byte[], boolean)
+     */
+    JohnzonJsonGenerator writeBase64(String name, byte[] value, boolean url);
+
+    /**
+     * Writes the float with its own shortest representation ({@code 0.1} and not the widened double {@code 0.10000000149011612}).
+     *
+     * @param value the float to write.
+     * @return this generator.
+     */
+    JohnzonJsonGenerator writeFloat(float value);
+}
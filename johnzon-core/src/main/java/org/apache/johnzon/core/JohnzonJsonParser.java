@@ -16,6 +16,8 @@
  */
 package org.apache.johnzon.core;
 
+import org.apache.johnzon.core.util.Base64Chars;
+
 import java.math.BigDecimal;
 import java.util.Map;
 import java.util.stream.Stream;
@@ -42,6 +44,21 @@ public interface JohnzonJsonParser extends JsonParser {
         throw new UnsupportedOperationException("getting the current JsonParser Event is not supported");
     }
 
+    /**
+     * @return the current number as a double, parsed from the parser buffer when the implementation supports it.
+     */
+    default double getDouble() {
+        return getBigDecimal().doubleValue();
+    }
+
+    /**
+     * @param url should the URL and filename safe alphabet be used.
+     * @return the bytes of the current Base64 string value, decoded from the parser buffer when the implementation supports it.
+     */
+    default byte[] getBase64Bytes(final boolean url) {
+        return Base64Chars.decode(getString(), url);
+    }
+
 
     class JohnzonJsonParserWrapper implements JohnzonJsonParser {
         private final JsonParser jsonParser;
@@ -61,6 +78,12 @@ public interface JohnzonJsonParser extends JsonParser {
             return true;
         }
 
+        @Override
+        public double getDouble() {
+            return JohnzonJsonParser.class.isInstance(jsonParser) ?
+                    JohnzonJsonParser.class.cast(jsonParser).getDouble() : jsonParser.getBigDecimal().doubleValue();
+        }
+
         @Override
         public boolean hasNext() {
             return jsonParser.hasNext();
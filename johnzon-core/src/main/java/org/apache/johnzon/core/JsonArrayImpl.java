@@ -33,8 +33,10 @@ import java.util.List;
 import java.util.NoSuchElementException;
 
 class JsonArrayImpl extends AbstractList<JsonValue> implements JsonArray, Serializable {
+    private static final long serialVersionUID = 2645783106823035371L; // computed one before hashCode became transient
+
     private final BufferStrategy.BufferProvider<char[]> provider;
-    private Integer hashCode = null;
+    private transient Integer hashCode = null;
     private final List<JsonValue> unmodifieableBackingList;
     private int size = -1;
 
@@ -177,6 +179,26 @@ class JsonArrayImpl extends AbstractList<JsonValue> implements JsonArray, Serial
 
     @Override
     public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (JsonArrayImpl.class.isInstance(obj)) {
+            // hashes are cached at each level of the tree so it is cheap to detect a difference without walking it
+            final JsonArrayImpl other = JsonArrayImpl.class.cast(obj);
+            if (hashCode() != other.hashCode()) {
+                return false;
+            }
+            final int length = unmodifieableBackingList.size();
+            if (length != other.unmodifieableBackingList.size()) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (!unmodifieableBackingList.get(i).equals(other.unmodifieableBackingList.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
         return List.class.isInstance(obj) && super.equals(obj);
     }
 
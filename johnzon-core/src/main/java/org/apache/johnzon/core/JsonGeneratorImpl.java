@@ -18,6 +18,8 @@
  */
 package org.apache.johnzon.core;
 
+import org.apache.johnzon.core.util.Base64Chars;
+
 import javax.json.JsonArray;
 import javax.json.JsonException;
 import javax.json.JsonNumber;
@@ -37,7 +39,7 @@ import java.nio.charset.Charset;
 import java.util.Iterator;
 import java.util.Map;
 
-class JsonGeneratorImpl implements JsonGenerator, JsonChars, Serializable {
+class JsonGeneratorImpl implements JohnzonJsonGenerator, JsonChars, Serializable {
     private static final Charset UTF8_CHARSET = Charset.forName("UTF-8");
 
     private final transient Writer writer;
@@ -435,6 +437,29 @@ class JsonGeneratorImpl implements JsonGenerator, JsonChars, Serializable {
         return this;
     }
 
+    @Override
+    public JohnzonJsonGenerator writeBase64(final byte[] value, final boolean url) {
+        checkArrayOrValue();
+        writeBase64Value(value, url);
+        return this;
+    }
+
+    @Override
+    public JohnzonJsonGenerator writeBase64(final String name, final byte[] value, final boolean url) {
+        checkObject();
+        writeKey(name);
+        writeBase64Value(value, url);
+        return this;
+    }
+
+    @Override
+    public JohnzonJsonGenerator writeFloat(final float value) {
+        checkArrayOrValue();
+        checkDoubleRange(value);
+        writeValue(Float.toString(value));
+        return this;
+    }
+
     @Override
     public JsonGenerator writeKey(final String key) {
         final GeneratorState currentState = currentState();
@@ -688,6 +713,36 @@ class JsonGeneratorImpl implements JsonGenerator, JsonChars, Serializable {
         alignState();
     }
 
+    // no escaping needed for the base64 alphabet so the chars are encoded in place, by chunks of the buffer size
+    private void writeBase64Value(final byte[] value, final boolean url) {
+        prepareValue();
+        final GeneratorState peek = state.peek();
+        if (peek == GeneratorState.START_ARRAY || peek == GeneratorState.IN_ARRAY) {
+            writeIndent();
+        }
+        justWrite(QUOTE_CHAR);
+        int offset = 0;
+        while (offset < value.length) {
+            if (buffer.length - bufferPos < 4) {
+                flushBuffer();
+            }
+            final int available = buffer.length - bufferPos;
+            final int end = Math.min(value.length, offset + Math.max(1, available / 4) * 3);
+            if (available < 4) { // tiny buffer
+                final char[] chars = new char[4];
+                Base64Chars.encode(value, offset, end, chars, 0, url);
+                for (final char c : chars) {
+                    justWrite(c);
+                }
+            } else {
+                bufferPos += Base64Chars.encode(value, offset, end, buffer, bufferPos, url);
+            }
+            offset = end;
+        }
+        justWrite(QUOTE_CHAR);
+        alignState();
+    }
+
     private void writeValue(final String value) {
         prepareValue();
         final GeneratorState peek = state.peek();
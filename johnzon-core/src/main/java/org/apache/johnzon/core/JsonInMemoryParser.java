@@ -43,10 +43,12 @@ class JsonInMemoryParser extends JohnzonJsonParserImpl {
 
     private class ArrayIterator implements Iterator<Event> {
 
+        private final JsonArray array;
         private final Iterator<JsonValue> aentries;
         private Boolean end = null;
 
         public ArrayIterator(final JsonArray ja) {
+            array = ja;
             aentries = ja.iterator();
 
         }
@@ -103,11 +105,13 @@ class JsonInMemoryParser extends JohnzonJsonParserImpl {
 
     private class ObjectIterator implements Iterator<Event> {
 
+        private final JsonObject object;
         private final Iterator<Map.Entry<String, JsonValue>> oentries;
         private JsonValue jsonValue;
         private Boolean end = null;
 
         public ObjectIterator(final JsonObject jo) {
+            object = jo;
             oentries = jo.entrySet().iterator();
 
         }
@@ -254,6 +258,59 @@ class JsonInMemoryParser extends JohnzonJsonParserImpl {
         return currentEvent;
     }
 
+    @Override
+    public JsonObject getObject() {
+        if (current() != Event.START_OBJECT) {
+            throw new IllegalStateException(currentEvent + " doesn't support getObject()");
+        }
+        return ObjectIterator.class.cast(skipStructure()).object;
+    }
+
+    @Override
+    public JsonArray getArray() {
+        if (current() != Event.START_ARRAY) {
+            throw new IllegalStateException(currentEvent + " doesn't support getArray()");
+        }
+        return ArrayIterator.class.cast(skipStructure()).array;
+    }
+
+    /**
+     * The values are already in memory so they are returned as they are,
+     * for a structure the parser directly moves to its end event without iterating it.
+     */
+    @Override
+    public JsonValue getValue() {
+        final Event current = current();
+        switch (current) {
+            case START_OBJECT:
+                return ObjectIterator.class.cast(skipStructure()).object;
+            case START_ARRAY:
+                return ArrayIterator.class.cast(skipStructure()).array;
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+            case VALUE_NULL:
+            case VALUE_STRING:
+            case VALUE_NUMBER:
+            case KEY_NAME:
+                return currentValue;
+            default:
+                throw new IllegalStateException(current + " doesn't support getValue()");
+        }
+    }
+
+    // the iterator of the structure which just started is on top of the stack
+    private Iterator<Event> skipStructure() {
+        final Iterator<Event> iterator = stack.pop();
+        if (currentEvent == Event.START_OBJECT) {
+            objectDepth--;
+            currentEvent = Event.END_OBJECT;
+        } else {
+            arrayDepth--;
+            currentEvent = Event.END_ARRAY;
+        }
+        return iterator;
+    }
+
     @Override
     public String getString() {
         if (currentEvent != Event.KEY_NAME && currentEvent != Event.VALUE_STRING) {
@@ -157,9 +157,15 @@ final class JsonObjectImpl extends AbstractMap<String, JsonValue> implements Jso
 
     @Override
     public boolean equals(final Object obj) {
-        return (JsonObjectImpl.class.isInstance(obj)
-                && unmodifieableBackingMap.equals(JsonObjectImpl.class.cast(obj).unmodifieableBackingMap))
-                || (Map.class.isInstance(obj) && unmodifieableBackingMap.equals(Map.class.cast(obj)));
+        if (this == obj) {
+            return true;
+        }
+        if (JsonObjectImpl.class.isInstance(obj)) {
+            // hashes are cached at each level of the tree so it is cheap to detect a difference without walking it
+            final JsonObjectImpl other = JsonObjectImpl.class.cast(obj);
+            return hashCode() == other.hashCode() && unmodifieableBackingMap.equals(other.unmodifieableBackingMap);
+        }
+        return Map.class.isInstance(obj) && unmodifieableBackingMap.equals(Map.class.cast(obj));
     }
 
     @Override
@@ -16,6 +16,11 @@
  */
 package org.apache.johnzon.core;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.json.JsonArray;
@@ -27,18 +32,35 @@ import javax.json.JsonValue;
 import javax.json.spi.JsonProvider;
 
 /**
- * Create a diff from a source and target JsonStructure
+ * Create a diff from a source and target JsonStructure.
+ *
+ * By default arrays are compared index by index. When {@code lcsThreshold} is positive, arrays are compared
+ * using a longest common subsequence which produces add/remove/move operations for inserted, removed or moved
+ * elements instead of replacing all the following ones. The threshold is the maximum number of elements
+ * (once the common prefix and suffix are skipped) the LCS is computed for, bigger arrays are compared
+ * by index since the LCS is quadratic.
  */
 class JsonPatchDiff extends DiffBase {
+    private static final byte KEEP = 0;
+    private static final byte MODIFY = 1;
+    private static final byte MOVE = 2;
+    private static final byte NEW = 3;
 
     private final JsonProvider provider;
     private final JsonStructure source;
     private final JsonStructure target;
+    private final int lcsThreshold;
 
     JsonPatchDiff(final JsonProvider provider, final JsonStructure source, final JsonStructure target) {
+        this(provider, source, target, 0);
+    }
+
+    JsonPatchDiff(final JsonProvider provider, final JsonStructure source, final JsonStructure target,
+                  final int lcsThreshold) {
         this.provider = provider;
         this.source = source;
         this.target = target;
+        this.lcsThreshold = lcsThreshold;
     }
 
     JsonPatch calculateDiff() {
@@ -50,11 +72,18 @@ class JsonPatchDiff extends DiffBase {
     }
 
     private void diff(JsonPatchBuilder patchBuilder, String basePath, JsonValue source, JsonValue target) {
+        if (isSame(source, target)) {
+            return;
+        }
         if (isJsonObject(source) && isJsonObject(target)) {
             diffJsonObjects(patchBuilder, basePath + "/", (JsonObject) source, (JsonObject) target);
         } else if (isJsonArray(source) && isJsonArray(target)) {
-            diffJsonArray(patchBuilder, basePath + "/", (JsonArray) source, (JsonArray) target);
-        } else if (!source.equals(target)){
+            if (lcsThreshold > 0) {
+                diffJsonArrayLcs(patchBuilder, basePath + "/", (JsonArray) source, (JsonArray) target);
+            } else {
+                diffJsonArray(patchBuilder, basePath + "/", (JsonArray) source, (JsonArray) target);
+            }
+        } else {
             patchBuilder.replace(basePath, target);
         }
     }
@@ -77,6 +106,176 @@ class JsonPatchDiff extends DiffBase {
 
     }
 
+    private void diffJsonArrayLcs(final JsonPatchBuilder patchBuilder, final String basePath,
+                                  final JsonArray source, final JsonArray target) {
+        // skip common prefix and suffix, cheap and very common (append, edition of a single element)
+        int start = 0;
+        int sourceEnd = source.size();
+        int targetEnd = target.size();
+        while (start < sourceEnd && start < targetEnd && isSame(source.get(start), target.get(start))) {
+            start++;
+        }
+        while (sourceEnd > start && targetEnd > start && isSame(source.get(sourceEnd - 1), target.get(targetEnd - 1))) {
+            sourceEnd--;
+            targetEnd--;
+        }
+
+        final List<JsonValue> from = source.subList(start, sourceEnd);
+        final List<JsonValue> to = target.subList(start, targetEnd);
+        if (from.size() > lcsThreshold || to.size() > lcsThreshold) {
+            diffByIndex(patchBuilder, basePath, start, from, to);
+        } else if (!from.isEmpty() || !to.isEmpty()) {
+            diffByLcs(patchBuilder, basePath, start, from, to);
+        }
+    }
+
+    private void diffByIndex(final JsonPatchBuilder patchBuilder, final String basePath, final int offset,
+                             final List<JsonValue> from, final List<JsonValue> to) {
+        final int common = Math.min(from.size(), to.size());
+        for (int i = 0; i < common; i++) {
+            diff(patchBuilder, basePath + (offset + i), from.get(i), to.get(i));
+        }
+        for (int i = from.size() - 1; i >= common; i--) {
+            patchBuilder.remove(basePath + (offset + i));
+        }
+        for (int i = common; i < to.size(); i++) {
+            patchBuilder.add(basePath + (offset + i), to.get(i));
+        }
+    }
+
+    private void diffByLcs(final JsonPatchBuilder patchBuilder, final String basePath, final int offset,
+                           final List<JsonValue> from, final List<JsonValue> to) {
+        final int n = from.size();
+        final int m = to.size();
+        final int[] fromHashes = hashes(from);
+        final int[] toHashes = hashes(to);
+
+        final int[][] lcs = new int[n + 1][m + 1];
+        for (int i = n - 1; i >= 0; i--) {
+            for (int j = m - 1; j >= 0; j--) {
+                lcs[i][j] = fromHashes[i] == toHashes[j] && from.get(i).equals(to.get(j)) ?
+                        lcs[i + 1][j + 1] + 1 : Math.max(lcs[i + 1][j], lcs[i][j + 1]);
+            }
+        }
+
+        // for each target element: the source element it comes from (or -1) and how
+        final int[] origin = new int[m];
+        final byte[] kind = new byte[m];
+        final boolean[] used = new boolean[n];
+        // elements which are not in the LCS, grouped by "run" (the elements between two kept elements)
+        final int[] removedRun = new int[n];
+        final int[] addedRun = new int[m];
+        final List<Integer> removed = new ArrayList<>();
+        final List<Integer> added = new ArrayList<>();
+        int run = 0;
+        int i = 0;
+        int j = 0;
+        while (i < n || j < m) {
+            if (i < n && j < m && fromHashes[i] == toHashes[j] && from.get(i).equals(to.get(j))) {
+                origin[j] = i;
+                kind[j] = KEEP;
+                used[i] = true;
+                run++;
+                i++;
+                j++;
+            } else if (j >= m || (i < n && lcs[i + 1][j] >= lcs[i][j + 1])) {
+                removedRun[i] = run;
+                removed.add(i++);
+            } else {
+                addedRun[j] = run;
+                origin[j] = -1;
+                kind[j] = NEW;
+                added.add(j++);
+            }
+        }
+
+        // an element removed somewhere and added elsewhere is a move
+        final Map<JsonValue, Deque<Integer>> removedValues = new HashMap<>();
+        for (final int index : removed) {
+            removedValues.computeIfAbsent(from.get(index), k -> new ArrayDeque<>()).add(index);
+        }
+        for (final int index : added) {
+            final Deque<Integer> candidates = removedValues.get(to.get(index));
+            if (candidates != null && !candidates.isEmpty()) {
+                final int sourceIndex = candidates.poll();
+                origin[index] = sourceIndex;
+                kind[index] = MOVE;
+                used[sourceIndex] = true;
+            }
+        }
+
+        // in the same run, pair remaining removed and added elements: it is a modification of the element
+        int removedIdx = 0;
+        for (final int index : added) {
+            if (kind[index] != NEW) {
+                continue;
+            }
+            while (removedIdx < removed.size() &&
+                    (used[removed.get(removedIdx)] || removedRun[removed.get(removedIdx)] < addedRun[index])) {
+                removedIdx++;
+            }
+            if (removedIdx < removed.size() && removedRun[removed.get(removedIdx)] == addedRun[index]) {
+                final int sourceIndex = removed.get(removedIdx++);
+                origin[index] = sourceIndex;
+                kind[index] = MODIFY;
+                used[sourceIndex] = true;
+            }
+        }
+
+        // now emit the operations simulating the array to know the actual indices,
+        // source elements are identified by their index, added ones by n + their target index
+        final List<Integer> current = new ArrayList<>(n);
+        for (int index = 0; index < n; index++) {
+            current.add(index);
+        }
+        for (int index = n - 1; index >= 0; index--) { // from the end so indices are stable
+            if (!used[index]) {
+                patchBuilder.remove(basePath + (offset + index));
+                current.remove(index);
+            }
+        }
+        for (int index = 0; index < m; index++) {
+            switch (kind[index]) {
+                case KEEP:
+                    break;
+                case MODIFY:
+                    diff(patchBuilder, basePath + (offset + current.indexOf(origin[index])),
+                            from.get(origin[index]), to.get(index));
+                    break;
+                case MOVE: {
+                    final int fromPosition = current.indexOf(origin[index]);
+                    current.remove(fromPosition);
+                    final int toPosition = index == 0 ? 0 : current.indexOf(id(origin, index - 1, n)) + 1;
+                    current.add(toPosition, origin[index]);
+                    if (fromPosition != toPosition) {
+                        patchBuilder.move(basePath + (offset + toPosition), basePath + (offset + fromPosition));
+                    }
+                    break;
+                }
+                case NEW: {
+                    final int toPosition = index == 0 ? 0 : current.indexOf(id(origin, index - 1, n)) + 1;
+                    current.add(toPosition, n + index);
+                    patchBuilder.add(basePath + (offset + toPosition), to.get(index));
+                    break;
+                }
+                default:
+                    throw new IllegalStateException("unknown kind: " + kind[index]);
+            }
+        }
+    }
+
+    private static int id(final int[] origin, final int targetIndex, final int sourceSize) {
+        return origin[targetIndex] >= 0 ? origin[targetIndex] : sourceSize + targetIndex;
+    }
+
+    private static int[] hashes(final List<JsonValue> values) {
+        final int[] hashes = new int[values.size()];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = values.get(i).hashCode();
+        }
+        return hashes;
+    }
+
     private void diffJsonObjects(JsonPatchBuilder patchBuilder, String basePath, JsonObject source, JsonObject target) {
         for (final Map.Entry<String, JsonValue> sourceEntry : source.entrySet()) {
             String attributeName = sourceEntry.getKey();
@@ -38,6 +38,7 @@ class JsonPatchImpl implements JsonPatch {
 
     private final JsonProvider provider;
     private final List<PatchValue> patches;
+    private final boolean workingCopy;
 
     private volatile JsonArray json;
 
@@ -52,11 +53,17 @@ class JsonPatchImpl implements JsonPatch {
         } else {
             this.patches = Collections.unmodifiableList(patches);
         }
+        this.workingCopy = this.patches.size() > 1 && this.patches.stream()
+                .allMatch(p -> p.pathPointer instanceof JsonPointerImpl
+                        && (p.fromPointer == null || p.fromPointer instanceof JsonPointerImpl));
     }
 
 
     @Override
     public <T extends JsonStructure> T apply(T target) {
+        if (workingCopy) {
+            return (T) applyOnWorkingCopy(target);
+        }
 
         //X TODO JsonPointer should use generics like JsonPatch
         JsonStructure patched = target;
@@ -71,8 +78,7 @@ class JsonPatchImpl implements JsonPatch {
                     patched = patch.pathPointer.remove(patched);
                     break;
                 case REPLACE:
-                    // first remove the existing element and then add the new value
-                    patched = patch.pathPointer.add(patch.pathPointer.remove(patched), patch.value);
+                    patched = patch.pathPointer.replace(patched, patch.value);
                     break;
                 case MOVE:
                     JsonValue valueToMove = patch.fromPointer.getValue(patched);
@@ -98,6 +104,53 @@ class JsonPatchImpl implements JsonPatch {
     }
 
 
+    /**
+     * Applies all the operations on a single mutable copy of the target which is frozen at the end,
+     * this avoids to copy the target for each operation when the patch has a lot of operations.
+     */
+    private JsonStructure applyOnWorkingCopy(final JsonStructure target) {
+        final JsonWorkingCopy copy = new JsonWorkingCopy(provider);
+        JsonStructure patched = target;
+
+        for (final PatchValue patch : patches) {
+            patched = (JsonStructure) copy.thaw(patched);
+
+            final JsonPointerImpl pathPointer = (JsonPointerImpl) patch.pathPointer;
+            switch (patch.operation) {
+                case ADD:
+                    patched = pathPointer.add(copy, patched, patch.value);
+                    break;
+                case REMOVE:
+                    patched = pathPointer.remove(copy, patched);
+                    break;
+                case REPLACE:
+                    patched = pathPointer.replace(copy, patched, patch.value);
+                    break;
+                case MOVE:
+                    final JsonPointerImpl fromPointer = (JsonPointerImpl) patch.fromPointer;
+                    final JsonValue valueToMove = fromPointer.getValue(patched);
+                    patched = pathPointer.add(copy, fromPointer.remove(copy, patched), valueToMove);
+                    break;
+                case COPY:
+                    // the copy must not see the next mutations of the source
+                    final JsonValue toCopy = copy.freeze(patch.fromPointer.getValue(patched));
+                    patched = pathPointer.add(copy, patched, toCopy);
+                    break;
+                case TEST:
+                    final JsonValue toTest = pathPointer.getValue(patched);
+                    if (!toTest.equals(patch.value)) {
+                        throw new JsonException("JsonPatch.Operation.TEST fails! Values are not equal");
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("unsupported operation: " + patch.operation);
+            }
+        }
+
+        return (JsonStructure) copy.freeze(patched);
+    }
+
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
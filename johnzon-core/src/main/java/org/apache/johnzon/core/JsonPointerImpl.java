@@ -28,19 +28,20 @@ import javax.json.JsonStructure;
 import javax.json.JsonValue;
 import javax.json.spi.JsonProvider;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Map;
-import java.util.Objects;
-import java.util.regex.Pattern;
 
 
 public class JsonPointerImpl implements JsonPointer {
+    private static final int MINUS_INDEX = -1;
+    private static final int INVALID_INDEX = -2;
 
     private final JsonProvider provider;
     private final String jsonPointer;
-    private final List<String> referenceTokens = new ArrayList<>();
-    private static final Pattern IS_NUMBER = Pattern.compile("\\d+");
+
+    // compiled form: decoded tokens and their array index (parsed once, not at each evaluation)
+    private final String[] referenceTokens;
+    private final int[] arrayIndices;
 
     /**
      * Constructs and initializes a JsonPointer.
@@ -60,10 +61,11 @@ public class JsonPointerImpl implements JsonPointer {
 
         this.provider = provider;
         this.jsonPointer = jsonPointer;
-        String[] encodedReferenceTokens = jsonPointer.split("/", -1);
-
-        for (String encodedReferenceToken : encodedReferenceTokens) {
-            referenceTokens.add(JsonPointerUtil.decode(encodedReferenceToken));
+        this.referenceTokens = jsonPointer.split("/", -1);
+        this.arrayIndices = new int[referenceTokens.length];
+        for (int i = 0; i < referenceTokens.length; i++) {
+            referenceTokens[i] = JsonPointerUtil.decode(referenceTokens[i]);
+            arrayIndices[i] = toArrayIndex(referenceTokens[i]);
         }
     }
 
@@ -115,8 +117,8 @@ public class JsonPointerImpl implements JsonPointer {
         }
 
         JsonValue jsonValue = target;
-        for (int i = 1; i < referenceTokens.size(); i++) {
-            jsonValue = getValue(jsonValue, referenceTokens.get(i), i, referenceTokens.size() - 1);
+        for (int i = 1; i < referenceTokens.length; i++) {
+            jsonValue = getValue(jsonValue, i);
         }
         return jsonValue;
     }
@@ -234,7 +236,9 @@ public class JsonPointerImpl implements JsonPointer {
      * @see #replace(JsonStructure, JsonValue)
      */
     public JsonObject replace(JsonObject target, JsonValue value) {
-        return add(remove(target), value);
+        validateRemove(target);
+
+        return update(target, 1, value, Mutation.REPLACE).asJsonObject();
     }
 
     /**
@@ -249,11 +253,15 @@ public class JsonPointerImpl implements JsonPointer {
      * @see #replace(JsonStructure, JsonValue)
      */
     public JsonArray replace(JsonArray target, JsonValue value) {
-        return add(remove(target), value);
+        validateRemove(target);
+
+        return update(target, 1, value, Mutation.REPLACE).asJsonArray();
     }
 
     /**
-     * Removes the value at the reference location in the specified {@code target}
+     * Removes the value at the reference location in the specified {@code target}.
+     * Array indices are resolved as by {@link #getValue(JsonStructure)}, so an index like {@code +1}
+     * removes the element (it used to leave the array unchanged) and a non numeric one is rejected.
      *
      * @param target the target referenced by this {@code JsonPointer}
      * @return the transformed {@code target} after the value is removed.
@@ -281,7 +289,7 @@ public class JsonPointerImpl implements JsonPointer {
     public JsonObject remove(JsonObject target) {
         validateRemove(target);
 
-        return remove(target, 1).asJsonObject();
+        return update(target, 1, null, Mutation.REMOVE).asJsonObject();
     }
 
     /**
@@ -297,27 +305,74 @@ public class JsonPointerImpl implements JsonPointer {
     public JsonArray remove(JsonArray target) {
         validateRemove(target);
 
-        return remove(target, 1).asJsonArray();
+        return update(target, 1, null, Mutation.REMOVE).asJsonArray();
+    }
+
+    /**
+     * Same as {@link #add(JsonStructure, JsonValue)} but mutates the working copy {@code target},
+     * thawing the structures on the referenced path.
+     *
+     * @param workingCopy the working copy the target belongs to
+     * @param target the thawed target
+     * @param value  the value to be added
+     * @return the root of the working copy after the value is added.
+     */
+    JsonStructure add(final JsonWorkingCopy workingCopy, final JsonStructure target, final JsonValue value) {
+        validateAdd(target);
+        if (isEmptyJsonPointer()) {
+            return (JsonStructure) value;
+        }
+
+        mutate(workingCopy, target, value, Mutation.ADD);
+        return target;
+    }
+
+    /**
+     * Same as {@link #replace(JsonStructure, JsonValue)} but mutates the working copy {@code target}.
+     *
+     * @see #add(JsonWorkingCopy, JsonStructure, JsonValue)
+     */
+    JsonStructure replace(final JsonWorkingCopy workingCopy, final JsonStructure target, final JsonValue value) {
+        validateRemove(target);
+
+        mutate(workingCopy, target, value, Mutation.REPLACE);
+        return target;
+    }
+
+    /**
+     * Same as {@link #remove(JsonStructure)} but mutates the working copy {@code target}.
+     *
+     * @see #add(JsonWorkingCopy, JsonStructure, JsonValue)
+     */
+    JsonStructure remove(final JsonWorkingCopy workingCopy, final JsonStructure target) {
+        validateRemove(target);
+
+        mutate(workingCopy, target, null, Mutation.REMOVE);
+        return target;
     }
 
     String getJsonPointer() {
         return jsonPointer;
     }
 
+    JsonProvider getProvider() {
+        return provider;
+    }
+
     @Override
     public String toString() {
         return "JsonPointerImpl{" +
                 "jsonPointer='" + jsonPointer + '\'' +
-                ", referenceTokens=" + referenceTokens +
+                ", referenceTokens=" + Arrays.toString(referenceTokens) +
                 '}';
     }
 
     private void validateAdd(JsonValue target) {
-        validateJsonPointer(target, referenceTokens.size() - 1);
+        validateJsonPointer(target, referenceTokens.length - 1);
     }
 
     private void validateRemove(JsonValue target) {
-        validateJsonPointer(target, referenceTokens.size());
+        validateJsonPointer(target, referenceTokens.length);
         if (isEmptyJsonPointer()) {
             throw new JsonException("The reference must not be the target");
         }
@@ -327,7 +382,8 @@ public class JsonPointerImpl implements JsonPointer {
         return jsonPointer.equals("");
     }
 
-    private JsonValue getValue(JsonValue jsonValue, String referenceToken, int currentPosition, int referencePosition) {
+    private JsonValue getValue(JsonValue jsonValue, final int currentPosition) {
+        final String referenceToken = referenceTokens[currentPosition];
         if (jsonValue instanceof JsonObject) {
             JsonObject jsonObject = (JsonObject) jsonValue;
             jsonValue = jsonObject.get(referenceToken);
@@ -337,159 +393,201 @@ public class JsonPointerImpl implements JsonPointer {
             }
             throw new JsonException("'" + jsonObject + "' contains no value for name '" + referenceToken + "'");
         } else if (jsonValue instanceof JsonArray) {
-            validateArrayIndex(referenceToken);
-
-            try {
-                JsonArray jsonArray = (JsonArray) jsonValue;
-                int arrayIndex = getArrayIndex(referenceToken, jsonArray, false);
-                return jsonArray.get(arrayIndex);
-            } catch (NumberFormatException e) {
-                throw new JsonException("'" + referenceToken + "' is no valid array index", e);
-            }
+            JsonArray jsonArray = (JsonArray) jsonValue;
+            return jsonArray.get(getArrayIndex(currentPosition, jsonArray, false));
         } else {
-            if (currentPosition != referencePosition) {
+            if (currentPosition != referenceTokens.length - 1) {
                 return jsonValue;
             }
             throw new JsonException("'" + jsonValue + "' contains no element for '" + referenceToken + "'");
         }
     }
 
-    private <T extends JsonStructure> T addInternal(T jsonValue, JsonValue newValue) {
-        List<String> currentPath = new ArrayList<>();
-        currentPath.add("");
-
-        return (T) addInternal(jsonValue, newValue, currentPath, true);
+    private <T extends JsonStructure> T addInternal(final T jsonValue, final JsonValue newValue) {
+        return (T) update(jsonValue, 1, newValue, Mutation.ADD);
     }
 
-    private JsonValue addInternal(JsonValue jsonValue, JsonValue newValue, List<String> currentPath,
-                                  boolean check) {
+    /**
+     * Walks the reference tokens and only recreates the structures on the referenced path,
+     * all other values (siblings) are shared with the original target since they are immutable.
+     * The path is expected to be validated before calling this method.
+     */
+    private JsonValue update(final JsonValue jsonValue, final int currentPosition,
+                             final JsonValue newValue, final Mutation mutation) {
+        final String token = referenceTokens[currentPosition];
+        final boolean last = currentPosition == referenceTokens.length - 1;
         if (jsonValue.getValueType() == JsonValue.ValueType.OBJECT) {
-            JsonObject jsonObject = jsonValue.asJsonObject();
-            if (!check) {
-                return provider.createObjectBuilder(jsonObject).build();
+            final JsonObject jsonObject = jsonValue.asJsonObject();
+            if (last && (mutation == Mutation.REPLACE || mutation == Mutation.ADD && !jsonObject.containsKey(token))) {
+                // keep the historical ordering (replace being a remove then an add):
+                // the member is inserted right after the first other one
+                final JsonObjectBuilder objectBuilder = provider.createObjectBuilder();
+                boolean added = false;
+                for (final Map.Entry<String, JsonValue> entry : jsonObject.entrySet()) {
+                    if (token.equals(entry.getKey())) {
+                        continue;
+                    }
+                    objectBuilder.add(entry.getKey(), entry.getValue());
+                    if (!added) {
+                        objectBuilder.add(token, newValue);
+                        added = true;
+                    }
+                }
+                if (!added) {
+                    objectBuilder.add(token, newValue);
+                }
+                return objectBuilder.build();
             }
 
-            JsonObjectBuilder objectBuilder = provider.createObjectBuilder();
-
-            if (jsonObject.isEmpty() && isPositionToAdd(currentPath)) {
-                objectBuilder.add(referenceTokens.get(referenceTokens.size() - 1), newValue);
+            final JsonObjectBuilder objectBuilder = provider.createObjectBuilder(jsonObject);
+            if (!last) {
+                final JsonValue child = jsonObject.get(token);
+                objectBuilder.add(token, update(child, currentPosition + 1, newValue, mutation));
+            } else if (mutation == Mutation.ADD) {
+                objectBuilder.add(token, newValue);
             } else {
-                for (Map.Entry<String, JsonValue> entry : jsonObject.entrySet()) {
-
-                    currentPath.add(entry.getKey());
-                    objectBuilder.add(entry.getKey(), addInternal(entry.getValue(), newValue, currentPath, canMatch(currentPath)));
-                    currentPath.remove(entry.getKey());
-
-                    if (isPositionToAdd(currentPath)) {
-                        objectBuilder.add(referenceTokens.get(referenceTokens.size() - 1), newValue);
-                    }
-                }
+                objectBuilder.remove(token);
             }
             return objectBuilder.build();
         } else if (jsonValue.getValueType() == JsonValue.ValueType.ARRAY) {
-            JsonArray jsonArray = jsonValue.asJsonArray();
-            if (!check) {
-                return provider.createArrayBuilder(jsonArray).build();
-            }
-            JsonArrayBuilder arrayBuilder = provider.createArrayBuilder();
-
-            int arrayIndex = -1;
-            if (isPositionToAdd(currentPath)) {
-                arrayIndex = getArrayIndex(referenceTokens.get(referenceTokens.size() - 1), jsonArray, canMatch(currentPath));
-            }
-
-            int jsonArraySize = jsonArray.size();
-            for (int i = 0; i <= jsonArraySize; i++) {
-                if (i == arrayIndex) {
-                    arrayBuilder.add(newValue);
-                }
-                if (i == jsonArraySize) {
-                    break;
+            final JsonArray jsonArray = jsonValue.asJsonArray();
+            final int arrayIndex = getArrayIndex(currentPosition, jsonArray, last && mutation == Mutation.ADD);
+            final JsonArrayBuilder arrayBuilder = provider.createArrayBuilder(jsonArray);
+            if (!last) {
+                arrayBuilder.set(arrayIndex, update(jsonArray.get(arrayIndex), currentPosition + 1, newValue, mutation));
+            } else {
+                switch (mutation) {
+                    case ADD:
+                        arrayBuilder.add(arrayIndex, newValue);
+                        break;
+                    case REPLACE:
+                        arrayBuilder.set(arrayIndex, newValue);
+                        break;
+                    case REMOVE:
+                        arrayBuilder.remove(arrayIndex);
+                        break;
+                    default:
+                        throw new IllegalStateException("unsupported mutation: " + mutation);
                 }
-
-                String path = String.valueOf(i);
-                currentPath.add(path);
-                arrayBuilder.add(addInternal(jsonArray.get(i), newValue, currentPath, canMatch(currentPath)));
-                currentPath.remove(path);
             }
             return arrayBuilder.build();
         }
         return jsonValue;
     }
 
-    private boolean isPositionToAdd(List<String> currentPath) {
-        return currentPath.size() == referenceTokens.size() - 1 &&
-                currentPath.get(currentPath.size() - 1).equals(referenceTokens.get(referenceTokens.size() - 2));
-    }
-
-    private boolean canMatch(final List<String> currentPath) {
-        return currentPath.size() <= referenceTokens.size() &&
-                Objects.equals(currentPath.get(currentPath.size() - 1), referenceTokens.get(currentPath.size() - 1));
-    }
-
-    private JsonValue remove(final JsonValue jsonValue, final int currentPosition) {
-        if (referenceTokens.size() <= currentPosition) { // unlikely
-            return jsonValue;
+    /**
+     * In place flavor of {@link #update(JsonValue, int, JsonValue, Mutation)}, it has the exact same semantic
+     * but the structures on the path are thawed instead of being copied.
+     */
+    private void mutate(final JsonWorkingCopy workingCopy, final JsonValue target,
+                        final JsonValue newValue, final Mutation mutation) {
+        JsonValue current = target;
+        for (int i = 1; i < referenceTokens.length - 1; i++) {
+            final String token = referenceTokens[i];
+            if (current.getValueType() == JsonValue.ValueType.OBJECT) {
+                final JsonObject jsonObject = current.asJsonObject();
+                final JsonValue child = workingCopy.thaw(jsonObject.get(token));
+                jsonObject.put(token, child);
+                current = child;
+            } else if (current.getValueType() == JsonValue.ValueType.ARRAY) {
+                final JsonArray jsonArray = current.asJsonArray();
+                final int arrayIndex = getArrayIndex(i, jsonArray, false);
+                final JsonValue child = workingCopy.thaw(jsonArray.get(arrayIndex));
+                jsonArray.set(arrayIndex, child);
+                current = child;
+            } else {
+                return;
+            }
         }
 
-        final String token = referenceTokens.get(currentPosition);
-        if (jsonValue.getValueType() == JsonValue.ValueType.OBJECT) {
-            final JsonObject jsonObject = jsonValue.asJsonObject();
-            final JsonObjectBuilder objectBuilder = provider.createObjectBuilder();
-            for (final Map.Entry<String, JsonValue> entry : jsonObject.entrySet()) {
-                final boolean matchesToken = token.equals(entry.getKey());
-                if (matchesToken && currentPosition == referenceTokens.size() - 1) {
-                    continue;
-                }
-                if (matchesToken) {
-                    objectBuilder.add(
-                            entry.getKey(),
-                            remove(entry.getValue(), currentPosition + 1));
-                } else {
-                    objectBuilder.add(entry.getKey(), entry.getValue());
-                }
-            }
-            return objectBuilder.build();
-        } else if (jsonValue.getValueType() == JsonValue.ValueType.ARRAY) {
-            final JsonArray jsonArray = jsonValue.asJsonArray();
-            if ("-".equals(token) || IS_NUMBER.matcher(token).matches()) {
-                final int arrayIndex = getArrayIndex(token, jsonArray, false);
-                final JsonArrayBuilder arrayBuilder = provider.createArrayBuilder();
-                final int jsonArraySize = jsonArray.size();
-                for (int i = 0; i < jsonArraySize; i++) {
-                    final boolean matchesIndex = i == arrayIndex;
-                    if (matchesIndex && currentPosition != referenceTokens.size() - 1) {
-                        arrayBuilder.add(remove(jsonArray.get(i), currentPosition + 1));
-                    } else if (!matchesIndex) {
-                        arrayBuilder.add(jsonArray.get(i));
+        final int lastPosition = referenceTokens.length - 1;
+        final String token = referenceTokens[lastPosition];
+        if (current.getValueType() == JsonValue.ValueType.OBJECT) {
+            final JsonWorkingCopy.MutableObject jsonObject = JsonWorkingCopy.MutableObject.class.cast(current);
+            switch (mutation) {
+                case ADD:
+                    if (!jsonObject.isEmpty() && !jsonObject.containsKey(token)) {
+                        jsonObject.insert(1, token, newValue);
+                    } else {
+                        jsonObject.put(token, newValue);
                     }
-                }
-                return arrayBuilder.build();
-            } // else?
-            return jsonArray;
+                    break;
+                case REPLACE:
+                    jsonObject.remove(token);
+                    if (!jsonObject.isEmpty()) {
+                        jsonObject.insert(1, token, newValue);
+                    } else {
+                        jsonObject.put(token, newValue);
+                    }
+                    break;
+                case REMOVE:
+                    jsonObject.remove(token);
+                    break;
+                default:
+                    throw new IllegalStateException("unsupported mutation: " + mutation);
+            }
+        } else if (current.getValueType() == JsonValue.ValueType.ARRAY) {
+            final JsonArray jsonArray = current.asJsonArray();
+            final int arrayIndex = getArrayIndex(lastPosition, jsonArray, mutation == Mutation.ADD);
+            switch (mutation) {
+                case ADD:
+                    jsonArray.add(arrayIndex, newValue);
+                    break;
+                case REPLACE:
+                    jsonArray.set(arrayIndex, newValue);
+                    break;
+                case REMOVE:
+                    jsonArray.remove(arrayIndex);
+                    break;
+                default:
+                    throw new IllegalStateException("unsupported mutation: " + mutation);
+            }
         }
-        return jsonValue;
     }
 
-    private int getArrayIndex(String referenceToken, JsonArray jsonArray, boolean addOperation) {
-        if (addOperation && referenceToken.equals("-")) {
-            return jsonArray.size();
+    private int getArrayIndex(final int position, final JsonArray jsonArray, final boolean addOperation) {
+        final String referenceToken = referenceTokens[position];
+        final int arrayIndex = arrayIndices[position];
+        if (arrayIndex == MINUS_INDEX) {
+            if (addOperation) {
+                return jsonArray.size();
+            }
+            final int lastIndex = jsonArray.size() - minusShift();
+            validateArraySize(referenceToken, jsonArray, lastIndex, jsonArray.size());
+            return lastIndex;
+        }
+        if (arrayIndex == INVALID_INDEX) {
+            throw invalidArrayIndex(referenceToken);
+        }
 
-        } else if (!addOperation && referenceToken.equals("-")) {
-            final int arrayIndex = jsonArray.size() - minusShift();
-            validateArraySize(referenceToken, jsonArray, arrayIndex, jsonArray.size());
-            return arrayIndex;
+        final int arraySize = addOperation ? jsonArray.size() + 1 : jsonArray.size();
+        validateArraySize(referenceToken, jsonArray, arrayIndex, arraySize);
+        return arrayIndex;
+    }
+
+    private static int toArrayIndex(final String referenceToken) {
+        if (referenceToken.equals("-")) {
+            return MINUS_INDEX;
+        }
+        // avoid the exception for the common case of a member name
+        if (referenceToken.isEmpty() || (referenceToken.charAt(0) != '+' && !Character.isDigit(referenceToken.charAt(0)))) {
+            return INVALID_INDEX;
         }
+        try {
+            validateArrayIndex(referenceToken);
+            return Integer.parseInt(referenceToken);
+        } catch (final JsonException | NumberFormatException e) {
+            return INVALID_INDEX;
+        }
+    }
 
+    private static JsonException invalidArrayIndex(final String referenceToken) {
         validateArrayIndex(referenceToken);
-
         try {
-            int arrayIndex = Integer.parseInt(referenceToken);
-            int arraySize = addOperation ? jsonArray.size() + 1 : jsonArray.size();
-            validateArraySize(referenceToken, jsonArray, arrayIndex, arraySize);
-            return arrayIndex;
+            Integer.parseInt(referenceToken);
+            throw new IllegalStateException("'" + referenceToken + "' is a valid array index");
         } catch (final NumberFormatException e) {
-            throw new JsonException("'" + referenceToken + "' is no valid array index", e);
+            return new JsonException("'" + referenceToken + "' is no valid array index", e);
         }
     }
 
@@ -510,11 +608,11 @@ public class JsonPointerImpl implements JsonPointer {
 
         JsonValue jsonValue = target;
         for (int i = 1; i < size; i++) {
-            jsonValue = getValue(jsonValue, referenceTokens.get(i), i, referenceTokens.size() - 1);
+            jsonValue = getValue(jsonValue, i);
         }
     }
 
-    private void validateArrayIndex(String referenceToken) throws JsonException {
+    private static void validateArrayIndex(String referenceToken) throws JsonException {
         if (referenceToken.startsWith("-") && referenceToken.length() > 1) {
             throw new JsonException("An array index must not start with '" + referenceToken.charAt(0) + "'");
         }
@@ -534,4 +632,7 @@ public class JsonPointerImpl implements JsonPointer {
         }
     }
 
+    private enum Mutation {
+        ADD, REPLACE, REMOVE
+    }
 }
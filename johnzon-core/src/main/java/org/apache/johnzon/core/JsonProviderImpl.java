@@ -70,6 +70,7 @@ public class JsonProviderImpl extends JsonProvider implements Serializable {
     private final Supplier<JsonBuilderFactory> builderFactory = new Cached<>(() ->
             new JsonBuilderFactoryImpl(null, bufferProvider.get()));
     private final JsonPointerFactory jsonPointerFactory;
+    private final int patchDiffLcsThreshold = Integer.getInteger("org.apache.johnzon.patch-diff.lcs-threshold", 0);
 
     public JsonProviderImpl() {
         jsonPointerFactory = StreamSupport.stream(ServiceLoader.load(JsonPointerFactory.class).spliterator(), false)
@@ -226,7 +227,7 @@ public class JsonProviderImpl extends JsonProvider implements Serializable {
 
     @Override
     public JsonPatch createDiff(JsonStructure source, JsonStructure target) {
-        return new JsonPatchDiff(this, source, target).calculateDiff();
+        return new JsonPatchDiff(this, source, target, patchDiffLcsThreshold).calculateDiff();
     }
 
     @Override
@@ -18,6 +18,8 @@
  */
 package org.apache.johnzon.core;
 
+import org.apache.johnzon.core.util.Base64Chars;
+
 import javax.json.JsonException;
 import javax.json.stream.JsonLocation;
 import javax.json.stream.JsonParsingException;
@@ -27,11 +29,18 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.math.BigDecimal;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
 import java.util.NoSuchElementException;
 
 //This class represents either the Json tokenizer and the Json parser.
 public class JsonStreamParserImpl extends JohnzonJsonParserImpl implements JsonChars {
+    // exactly represented as doubles, used by getDouble()
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
     private final boolean autoAdjust;
 
     //the main buffer where the stream will be buffered
@@ -897,6 +906,17 @@ public class JsonStreamParserImpl extends JohnzonJsonParserImpl implements JsonC
         }
     }
 
+    @Override
+    public byte[] getBase64Bytes(final boolean url) {
+        if (previousEvent != VALUE_STRING) {
+            throw new IllegalStateException(EVT_MAP[previousEvent] + " doesn't support getBase64Bytes()");
+        }
+        //view on the (unescaped) string value, no copy
+        final CharSequence chars = fallBackCopyBufferLength > 0 ? CharBuffer.wrap(fallBackCopyBuffer, 0, fallBackCopyBufferLength) :
+                CharBuffer.wrap(buffer, startOfValueInBuffer, endOfValueInBuffer - startOfValueInBuffer);
+        return Base64Chars.decode(chars, url);
+    }
+
     @Override
     public boolean isIntegralNumber() {
 
@@ -965,6 +985,19 @@ public class JsonStreamParserImpl extends JohnzonJsonParserImpl implements JsonC
         return fallBackCopyBufferLength <= 0 && len > 0 && len <= 18;
     }
 
+    @Override
+    public double getDouble() {
+        if (previousEvent != VALUE_NUMBER) {
+            throw new IllegalStateException(EVT_MAP[previousEvent] + " doesn't support getDouble()");
+        } else if (isCurrentNumberIntegral && currentIntegralNumber != Integer.MIN_VALUE) {
+            return currentIntegralNumber;
+        }
+        //if there a content in the value buffer read from them, if not use main buffer
+        final double value = fallBackCopyBufferLength > 0 ? parseDoubleFromChars(fallBackCopyBuffer, 0, fallBackCopyBufferLength)
+                : parseDoubleFromChars(buffer, startOfValueInBuffer, endOfValueInBuffer);
+        return Double.isNaN(value) ? getBigDecimal().doubleValue() : value;
+    }
+
     @Override
     public BigDecimal getBigDecimal() {
         if (previousEvent != VALUE_NUMBER) {
@@ -1023,6 +1056,60 @@ public class JsonStreamParserImpl extends JohnzonJsonParserImpl implements JsonC
         return negative ? -retVal : retVal;
     }
 
+    //parse a char[] to double when the result is exact: at most 15 significant digits and a power of ten up to 22
+    //(both are exactly represented as doubles so a single multiplication or division is correctly rounded)
+    //if not return NaN, the number is a valid JSON number there
+    private static double parseDoubleFromChars(final char[] chars, final int start, final int end) {
+        final boolean negative = chars[start] == MINUS;
+        long significand = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean fraction = false;
+        int i = negative ? start + 1 : start;
+        for (; i < end; i++) {
+            final char c = chars[i];
+            if (c == DOT) {
+                fraction = true;
+                continue;
+            }
+            if (c == EXP_LOWERCASE || c == EXP_UPPERCASE) {
+                break;
+            }
+            if (significand != 0 || c != ZERO) {
+                if (++digits > 15) {
+                    return Double.NaN;
+                }
+                significand = significand * 10 + (c - ZERO);
+            }
+            if (fraction) {
+                exponent--;
+            }
+        }
+        if (i < end) { // exponent part
+            i++;
+            final boolean negativeExponent = chars[i] == MINUS;
+            if (negativeExponent || chars[i] == PLUS) {
+                i++;
+            }
+            if (end - i > 3) {
+                return Double.NaN;
+            }
+            int value = 0;
+            for (; i < end; i++) {
+                value = value * 10 + (chars[i] - ZERO);
+            }
+            exponent += negativeExponent ? -value : value;
+        }
+        if (significand == 0) {
+            return negative ? -0. : 0.;
+        }
+        if (exponent < -22 || exponent > 22) {
+            return Double.NaN;
+        }
+        final double value = exponent < 0 ? significand / POWERS_OF_TEN[-exponent] : significand * POWERS_OF_TEN[exponent];
+        return negative ? -value : value;
+    }
+
     //parse a char[] to int while checking overflow
     //if overflowed return null
     //no additional checks since we are sure here that there are no non digits in the array
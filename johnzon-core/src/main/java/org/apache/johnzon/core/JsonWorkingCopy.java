@@ -0,0 +1,376 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.core;
+
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import javax.json.spi.JsonProvider;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Mutable view of a JSON structure used to apply a whole {@link javax.json.JsonPatch} without copying
+ * the target for each operation.
+ * Only the structures on a mutated path are thawed (shallow copied into mutable nodes),
+ * untouched values stay shared with the original target and {@link #freeze(JsonValue)} converts
+ * the mutable nodes back to immutable values in a single pass.
+ * Instances never escape the patch application.
+ */
+final class JsonWorkingCopy {
+    private final JsonProvider provider;
+
+    JsonWorkingCopy(final JsonProvider provider) {
+        this.provider = provider;
+    }
+
+    /**
+     * @param value a value of the working copy.
+     * @return the mutable version of the value if it is a structure, the value itself otherwise.
+     */
+    JsonValue thaw(final JsonValue value) {
+        if (value == null || value instanceof MutableObject || value instanceof MutableArray) {
+            return value;
+        }
+        switch (value.getValueType()) {
+            case OBJECT:
+                return new MutableObject(value.asJsonObject());
+            case ARRAY:
+                return new MutableArray(value.asJsonArray());
+            default:
+                return value;
+        }
+    }
+
+    JsonValue freeze(final JsonValue value) {
+        if (value instanceof MutableObject) {
+            final MutableObject object = MutableObject.class.cast(value);
+            final JsonObjectBuilder builder = provider.createObjectBuilder();
+            for (final String key : object.keys) {
+                builder.add(key, freeze(object.values.get(key)));
+            }
+            return builder.build();
+        }
+        if (value instanceof MutableArray) {
+            final JsonArrayBuilder builder = provider.createArrayBuilder();
+            for (final JsonValue item : MutableArray.class.cast(value).values) {
+                builder.add(freeze(item));
+            }
+            return builder.build();
+        }
+        return value;
+    }
+
+    /**
+     * Keeps the member order in a list (to be able to insert a member anywhere)
+     * and the values in a hash map for the lookups.
+     */
+    final class MutableObject extends AbstractMap<String, JsonValue> implements JsonObject {
+        private final List<String> keys;
+        private final Map<String, JsonValue> values;
+
+        private MutableObject(final JsonObject object) {
+            keys = new ArrayList<>(object.keySet());
+            values = new HashMap<>(object);
+        }
+
+        void insert(final int index, final String name, final JsonValue value) {
+            keys.add(index, name);
+            values.put(name, value);
+        }
+
+        @Override
+        public JsonValue put(final String name, final JsonValue value) {
+            final JsonValue old = values.put(name, value);
+            if (old == null) {
+                keys.add(name);
+            }
+            return old;
+        }
+
+        @Override
+        public JsonValue remove(final Object key) {
+            final JsonValue old = values.remove(key);
+            if (old != null) {
+                keys.remove(key);
+            }
+            return old;
+        }
+
+        @Override
+        public JsonValue get(final Object key) {
+            return values.get(key);
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return values.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return keys.size();
+        }
+
+        @Override
+        public Set<Entry<String, JsonValue>> entrySet() {
+            return new AbstractSet<Entry<String, JsonValue>>() {
+                @Override
+                public Iterator<Entry<String, JsonValue>> iterator() {
+                    final Iterator<String> delegate = keys.iterator();
+                    return new Iterator<Entry<String, JsonValue>>() {
+                        @Override
+                        public boolean hasNext() {
+                            return delegate.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, JsonValue> next() {
+                            final String key = delegate.next();
+                            return new SimpleImmutableEntry<>(key, values.get(key));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return keys.size();
+                }
+            };
+        }
+
+        @Override
+        public JsonArray getJsonArray(final String name) {
+            return JsonArray.class.cast(values.get(name));
+        }
+
+        @Override
+        public JsonObject getJsonObject(final String name) {
+            return JsonObject.class.cast(values.get(name));
+        }
+
+        @Override
+        public JsonNumber getJsonNumber(final String name) {
+            return JsonNumber.class.cast(values.get(name));
+        }
+
+        @Override
+        public JsonString getJsonString(final String name) {
+            return JsonString.class.cast(values.get(name));
+        }
+
+        @Override
+        public String getString(final String name) {
+            return getJsonString(name).getString();
+        }
+
+        @Override
+        public String getString(final String name, final String defaultValue) {
+            final JsonValue value = values.get(name);
+            return value instanceof JsonString ? JsonString.class.cast(value).getString() : defaultValue;
+        }
+
+        @Override
+        public int getInt(final String name) {
+            return getJsonNumber(name).intValue();
+        }
+
+        @Override
+        public int getInt(final String name, final int defaultValue) {
+            final JsonValue value = values.get(name);
+            return value instanceof JsonNumber ? JsonNumber.class.cast(value).intValue() : defaultValue;
+        }
+
+        @Override
+        public boolean getBoolean(final String name) {
+            final JsonValue value = values.get(name);
+            if (value == null) {
+                throw new NullPointerException("no mapping for " + name);
+            }
+            if (JsonValue.TRUE.equals(value)) {
+                return true;
+            }
+            if (JsonValue.FALSE.equals(value)) {
+                return false;
+            }
+            throw new ClassCastException("Wrong value for a boolean: " + value);
+        }
+
+        @Override
+        public boolean getBoolean(final String name, final boolean defaultValue) {
+            final JsonValue value = values.get(name);
+            if (value == null) {
+                return defaultValue;
+            }
+            return JsonValue.TRUE.equals(value) || !JsonValue.FALSE.equals(value) && defaultValue;
+        }
+
+        @Override
+        public boolean isNull(final String name) {
+            final JsonValue value = values.get(name);
+            if (value == null) {
+                throw new NullPointerException("no mapping for " + name);
+            }
+            return JsonValue.NULL.equals(value);
+        }
+
+        @Override
+        public ValueType getValueType() {
+            return ValueType.OBJECT;
+        }
+
+        @Override
+        public String toString() {
+            return freeze(this).toString();
+        }
+    }
+
+    final class MutableArray extends AbstractList<JsonValue> implements JsonArray {
+        private final List<JsonValue> values;
+
+        private MutableArray(final JsonArray array) {
+            values = new ArrayList<>(array);
+        }
+
+        @Override
+        public JsonValue get(final int index) {
+            return values.get(index);
+        }
+
+        @Override
+        public JsonValue set(final int index, final JsonValue element) {
+            return values.set(index, element);
+        }
+
+        @Override
+        public void add(final int index, final JsonValue element) {
+            values.add(index, element);
+        }
+
+        @Override
+        public JsonValue remove(final int index) {
+            return values.remove(index);
+        }
+
+        @Override
+        public int size() {
+            return values.size();
+        }
+
+        @Override
+        public JsonObject getJsonObject(final int index) {
+            return JsonObject.class.cast(values.get(index));
+        }
+
+        @Override
+        public JsonArray getJsonArray(final int index) {
+            return JsonArray.class.cast(values.get(index));
+        }
+
+        @Override
+        public JsonNumber getJsonNumber(final int index) {
+            return JsonNumber.class.cast(values.get(index));
+        }
+
+        @Override
+        public JsonString getJsonString(final int index) {
+            return JsonString.class.cast(values.get(index));
+        }
+
+        @Override
+        public <T extends JsonValue> List<T> getValuesAs(final Class<T> clazz) {
+            return (List<T>) values;
+        }
+
+        @Override
+        public String getString(final int index) {
+            return getJsonString(index).getString();
+        }
+
+        @Override
+        public String getString(final int index, final String defaultValue) {
+            if (index < 0 || index >= values.size()) {
+                return defaultValue;
+            }
+            final JsonValue value = values.get(index);
+            return value instanceof JsonString ? JsonString.class.cast(value).getString() : defaultValue;
+        }
+
+        @Override
+        public int getInt(final int index) {
+            return getJsonNumber(index).intValue();
+        }
+
+        @Override
+        public int getInt(final int index, final int defaultValue) {
+            if (index < 0 || index >= values.size()) {
+                return defaultValue;
+            }
+            final JsonValue value = values.get(index);
+            return value instanceof JsonNumber ? JsonNumber.class.cast(value).intValue() : defaultValue;
+        }
+
+        @Override
+        public boolean getBoolean(final int index) {
+            final ValueType valueType = values.get(index).getValueType();
+            if (ValueType.TRUE == valueType) {
+                return true;
+            }
+            if (ValueType.FALSE == valueType) {
+                return false;
+            }
+            throw new ClassCastException();
+        }
+
+        @Override
+        public boolean getBoolean(final int index, final boolean defaultValue) {
+            if (index < 0 || index >= values.size()) {
+                return defaultValue;
+            }
+            final ValueType valueType = values.get(index).getValueType();
+            return ValueType.TRUE == valueType || ValueType.FALSE != valueType && defaultValue;
+        }
+
+        @Override
+        public boolean isNull(final int index) {
+            return ValueType.NULL == values.get(index).getValueType();
+        }
+
+        @Override
+        public ValueType getValueType() {
+            return ValueType.ARRAY;
+        }
+
+        @Override
+        public String toString() {
+            return freeze(this).toString();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.johnzon.core.util;
+
+import java.util.Arrays;
+
+/**
+ * Base64 (RFC 4648, basic and URL alphabets, padded) working on chars,
+ * used to encode directly in a char buffer and to decode a JSON string without an intermediate byte copy.
+ * Decoding follows {@link java.util.Base64.Decoder}: padding is optional and any other character is rejected
+ * with an {@link IllegalArgumentException}.
+ */
+public final class Base64Chars {
+    private static final char[] BASIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+    private static final char[] URL = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
+    private static final byte[] BASIC_VALUES = values(BASIC);
+    private static final byte[] URL_VALUES = values(URL);
+
+    private Base64Chars() {
+        // no-op
+    }
+
+    /**
+     * Encodes {@code src[from, to)} in {@code dst} starting at {@code dstOffset},
+     * the last group is padded if {@code to - from} is not a multiple of 3.
+     *
+     * @return the number of written chars ({@code 4 * ceil((to - from) / 3)}).
+     */
+    public static int encode(final byte[] src, final int from, final int to, final char[] dst, final int dstOffset, final boolean url) {
+        final char[] alphabet = url ? URL : BASIC;
+        int out = dstOffset;
+        int i = from;
+        for (final int fullEnd = to - (to - from) % 3; i < fullEnd; i += 3) {
+            final int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8 | (src[i + 2] & 0xff);
+            dst[out++] = alphabet[bits >>> 18];
+            dst[out++] = alphabet[(bits >>> 12) & 0x3f];
+            dst[out++] = alphabet[(bits >>> 6) & 0x3f];
+            dst[out++] = alphabet[bits & 0x3f];
+        }
+        if (i < to) {
+            final int b0 = src[i] & 0xff;
+            dst[out++] = alphabet[b0 >> 2];
+            if (i + 1 < to) {
+                final int b1 = src[i + 1] & 0xff;
+                dst[out++] = alphabet[(b0 << 4) & 0x3f | (b1 >> 4)];
+                dst[out++] = alphabet[(b1 << 2) & 0x3f];
+            } else {
+                dst[out++] = alphabet[(b0 << 4) & 0x3f];
+                dst[out++] = '=';
+            }
+            dst[out++] = '=';
+        }
+        return out - dstOffset;
+    }
+
+    public static byte[] decode(final CharSequence chars, final boolean url) {
+        final int end = dataEnd(chars);
+        final byte[] out = new byte[decodedLength(end)];
+        decode(chars, 0, end, url ? URL_VALUES : BASIC_VALUES, out, 0);
+        return out;
+    }
+
+    // validates the padding and returns the length of the data without it
+    private static int dataEnd(final CharSequence chars) {
+        final int length = chars.length();
+        int end = length;
+        while (end > 0 && length - end < 2 && chars.charAt(end - 1) == '=') {
+            end--;
+        }
+        if ((end != length && length % 4 != 0) || end % 4 == 1) {
+            throw new IllegalArgumentException("Invalid base64 length: " + length);
+        }
+        return end;
+    }
+
+    private static int decodedLength(final int dataLength) {
+        return dataLength / 4 * 3 + Math.max(0, dataLength % 4 - 1);
+    }
+
+    private static int decode(final CharSequence chars, final int from, final int to, final byte[] values,
+                              final byte[] out, final int outOffset) {
+        int o = outOffset;
+        int i = from;
+        for (final int fullEnd = to - (to - from) % 4; i < fullEnd; i += 4) {
+            final int bits = value(chars, i, values) << 18 | value(chars, i + 1, values) << 12
+                    | value(chars, i + 2, values) << 6 | value(chars, i + 3, values);
+            out[o++] = (byte) (bits >> 16);
+            out[o++] = (byte) (bits >> 8);
+            out[o++] = (byte) bits;
+        }
+        final int remaining = to - i;
+        if (remaining > 1) {
+            final int bits = value(chars, i, values) << 18 | value(chars, i + 1, values) << 12
+                    | (remaining > 2 ? value(chars, i + 2, values) << 6 : 0);
+            out[o++] = (byte) (bits >> 16);
+            if (remaining > 2) {
+                out[o++] = (byte) (bits >> 8);
+            }
+        }
+        return o - outOffset;
+    }
+
+    private static int value(final CharSequence chars, final int index, final byte[] values) {
+        final char c = chars.charAt(index);
+        final int value = c < values.length ? values[c] : -1;
+        if (value < 0) {
+            throw new IllegalArgumentException("Illegal base64 character " + Integer.toHexString(c));
+        }
+        return value;
+    }
+
+    private static byte[] values(final char[] alphabet) {
+        final byte[] values = new byte[128];
+        Arrays.fill(values, (byte) -1);
+        for (int i = 0; i < alphabet.length; i++) {
+            values[alphabet[i]] = (byte) i;
+        }
+        return values;
+    }
+}
@@ -25,6 +25,7 @@ import static org.junit.Assert.assertTrue;
 import javax.json.Json;
 import javax.json.JsonArray;
 import javax.json.JsonArrayBuilder;
+import java.util.ArrayList;
 
 import org.junit.Test;
 
@@ -66,4 +67,23 @@ public class JsonArrayImplTest {
         assertFalse(Json.createArrayBuilder().add(1).build().equals(Json.createArrayBuilder().add(2).build()));
         assertFalse(Json.createArrayBuilder().add(1).build().equals(Json.createArrayBuilder().build()));
     }
+
+    @Test
+    public void equalsNested() {
+        final JsonArray array = Json.createArrayBuilder()
+                .add(Json.createObjectBuilder().add("a", Json.createArrayBuilder().add(1).add(2.5)))
+                .build();
+        final JsonArray same = Json.createArrayBuilder()
+                .add(Json.createObjectBuilder().add("a", Json.createArrayBuilder().add(1L).add(2.5)))
+                .build();
+        final JsonArray different = Json.createArrayBuilder()
+                .add(Json.createObjectBuilder().add("a", Json.createArrayBuilder().add(1).add(3)))
+                .build();
+        assertTrue(array.equals(same));
+        assertTrue(same.equals(array));
+        assertEquals(array.hashCode(), same.hashCode());
+        assertFalse(array.equals(different));
+        assertTrue(array.equals(new ArrayList<>(same)));
+        assertTrue(new ArrayList<>(array).equals(same));
+    }
 }
@@ -27,8 +27,10 @@ import java.io.StringWriter;
 import java.lang.reflect.Field;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.Queue;
+import java.util.Random;
 
 import javax.json.Json;
 import javax.json.JsonReader;
@@ -492,4 +494,41 @@ public class JsonGeneratorImplTest {
         Json.createGenerator(writer).write(true).close();
         assertEquals("true", writer.toString());
     }
+
+    @Test
+    public void writeBase64() {
+        final Random random = new Random(42);
+        for (final int length : new int[]{0, 1, 2, 3, 4, 100, 10_000}) {
+            final byte[] bytes = new byte[length];
+            random.nextBytes(bytes);
+            for (final boolean url : new boolean[]{false, true}) {
+                final String encoded = (url ? Base64.getUrlEncoder() : Base64.getEncoder()).encodeToString(bytes);
+                for (final int bufferLength : new int[]{2, 7, 64, 64 * 1024}) { // force the buffer flushes
+                    final StringWriter writer = new StringWriter();
+                    final JohnzonJsonGenerator generator = JohnzonJsonGenerator.class.cast(Json.createGeneratorFactory(
+                            singletonMap(JsonGeneratorFactoryImpl.GENERATOR_BUFFER_LENGTH, bufferLength)).createGenerator(writer));
+                    generator.writeStartObject();
+                    generator.writeBase64("b", bytes, url).writeStartArray("a");
+                    generator.writeBase64(bytes, url).writeEnd().writeEnd().close();
+                    assertEquals("{\"b\":\"" + encoded + "\",\"a\":[\"" + encoded + "\"]}", writer.toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void writeFloat() {
+        final StringWriter writer = new StringWriter();
+        final JohnzonJsonGenerator generator = JohnzonJsonGenerator.class.cast(Json.createGenerator(writer));
+        generator.writeStartArray();
+        generator.writeFloat(0.1f).writeFloat(-1.5e7f).writeFloat(3.4028235e38f).writeEnd().close();
+        assertEquals("[0.1,-1.5E7,3.4028235E38]", writer.toString());
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void writeFloatNaN() {
+        final JohnzonJsonGenerator generator = JohnzonJsonGenerator.class.cast(Json.createGenerator(new StringWriter()));
+        generator.writeStartArray();
+        generator.writeFloat(Float.NaN);
+    }
 }
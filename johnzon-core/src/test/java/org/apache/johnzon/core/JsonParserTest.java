@@ -18,9 +18,11 @@
  */
 package org.apache.johnzon.core;
 
+import static java.util.stream.Collectors.joining;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -39,6 +41,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.NoSuchElementException;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 import javax.json.Json;
 import javax.json.JsonArray;
@@ -71,6 +74,47 @@ public class JsonParserTest {
         }
     }
 
+    @Test
+    public void base64Bytes() {
+        final byte[] bytes = new byte[5000];
+        new java.util.Random(1).nextBytes(bytes);
+        final String encoded = java.util.Base64.getEncoder().encodeToString(bytes);
+        // escaped slashes force the unescaped copy buffer, small buffer forces the value to span several reads
+        final String json = "[\"" + encoded.replace("/", "\\/") + "\",\"" + java.util.Base64.getUrlEncoder().encodeToString(bytes) + "\"]";
+        final JohnzonJsonParser parser = JohnzonJsonParser.class.cast(Json.createParserFactory(
+                Collections.singletonMap(JsonParserFactoryImpl.BUFFER_LENGTH, 64)).createParser(new StringReader(json)));
+        assertEquals(Event.START_ARRAY, parser.next());
+        assertEquals(Event.VALUE_STRING, parser.next());
+        Assert.assertArrayEquals(bytes, parser.getBase64Bytes(false));
+        assertEquals(Event.VALUE_STRING, parser.next());
+        Assert.assertArrayEquals(bytes, parser.getBase64Bytes(true));
+        parser.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void base64InvalidChar() {
+        final JohnzonJsonParser parser = JohnzonJsonParser.class.cast(Json.createParser(new StringReader("[\"ab-_\"]")));
+        parser.next();
+        parser.next();
+        parser.getBase64Bytes(false);
+    }
+
+    @Test
+    public void doubleFromBuffer() {
+        final String[] numbers = {
+            "0", "-0.0", "7", "0.1", "-1.5e3", "123.456", "1e-5", "2.5E+10", "0.000001234", "1e22", "1e23",
+            "3.141592653589793", "12345678901234567890.5", "4.9e-324", "1.7976931348623157e308"
+        };
+        final JohnzonJsonParser parser = JohnzonJsonParser.class.cast(Json.createParser(new StringReader(
+                Stream.of(numbers).collect(joining(",", "[", "]")))));
+        assertEquals(Event.START_ARRAY, parser.next());
+        for (final String number : numbers) {
+            assertEquals(Event.VALUE_NUMBER, parser.next());
+            assertEquals(number, Double.doubleToLongBits(Double.parseDouble(number)), Double.doubleToLongBits(parser.getDouble()));
+        }
+        parser.close();
+    }
+
     @Test
     public void bigInteger() {
         final BigInteger integer = new BigInteger("123456789012345678901234567890");
@@ -371,6 +415,32 @@ public class JsonParserTest {
         assertSimple(parser);
     }
 
+    @Test
+    public void inMemoryValuesAreNotCopied() {
+        final JsonObject nested = Json.createObjectBuilder().add("x", 1).add("y", Json.createArrayBuilder().add(2)).build();
+        final JsonArray array = Json.createArrayBuilder().add(nested).add("s").build();
+        final JsonObject root = Json.createObjectBuilder().add("a", array).add("b", true).build();
+
+        final JsonParser parser = Json.createParserFactory(Collections.emptyMap()).createParser(root);
+        assertEquals(JsonParser.Event.START_OBJECT, parser.next());
+        assertEquals(JsonParser.Event.KEY_NAME, parser.next());
+        assertEquals(JsonParser.Event.START_ARRAY, parser.next());
+        assertEquals(JsonParser.Event.START_OBJECT, parser.next());
+        assertSame(nested, parser.getObject());
+        assertEquals(JsonParser.Event.VALUE_STRING, parser.next());
+        assertSame(array.get(1), parser.getValue());
+        assertEquals(JsonParser.Event.END_ARRAY, parser.next());
+        assertEquals(JsonParser.Event.KEY_NAME, parser.next());
+        assertEquals(JsonParser.Event.VALUE_TRUE, parser.next());
+        assertEquals(JsonParser.Event.END_OBJECT, parser.next());
+        assertFalse(parser.hasNext());
+
+        final JsonParser rootParser = Json.createParserFactory(Collections.emptyMap()).createParser(root);
+        assertEquals(JsonParser.Event.START_OBJECT, rootParser.next());
+        assertSame(root, rootParser.getValue());
+        assertFalse(rootParser.hasNext());
+    }
+
     @Test
     public void simple() {
         final JsonParser parser = Json.createParser(Thread.currentThread().getContextClassLoader().getResourceAsStream("json/simple.json"));
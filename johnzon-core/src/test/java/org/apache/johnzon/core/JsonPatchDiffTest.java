@@ -30,6 +30,7 @@ import javax.json.JsonPatch;
 import javax.json.JsonReader;
 import javax.json.JsonValue;
 import javax.json.JsonWriter;
+import javax.json.spi.JsonProvider;
 import javax.json.stream.JsonGenerator;
 
 import org.junit.Assert;
@@ -457,6 +458,50 @@ public class JsonPatchDiffTest {
         containsOperation(patchOperations, JsonPatch.Operation.ADD, "/f", Json.createValue("xe"));
     }
 
+    @Test
+    public void lcsInsertAtStart() {
+        final JsonArray source = Json.createArrayBuilder().add("b").add("c").add("d").build();
+        final JsonArray target = Json.createArrayBuilder().add("a").add("b").add("c").add("d").build();
+
+        final JsonArray operations = new JsonPatchDiff(JsonProvider.provider(), source, target, 10)
+                .calculateDiff().toJsonArray();
+        assertEquals(1, operations.size());
+        containsOperation(operations, JsonPatch.Operation.ADD, "/0", Json.createValue("a"));
+    }
+
+    @Test
+    public void lcsMoveAndModify() {
+        final JsonArray source = Json.createArrayBuilder()
+                .add("a")
+                .add(Json.createObjectBuilder().add("id", 1).add("name", "one"))
+                .add("b")
+                .add("c")
+                .build();
+        final JsonArray target = Json.createArrayBuilder()
+                .add("c")
+                .add("a")
+                .add(Json.createObjectBuilder().add("id", 1).add("name", "uno"))
+                .add("b")
+                .build();
+
+        final JsonPatch patch = new JsonPatchDiff(JsonProvider.provider(), source, target, 10).calculateDiff();
+        final JsonArray operations = patch.toJsonArray();
+        assertEquals(2, operations.size());
+        containsOperation(operations, JsonPatch.Operation.MOVE, "/0");
+        containsOperation(operations, JsonPatch.Operation.REPLACE, "/2/name", Json.createValue("uno"));
+        assertEquals(target, patch.apply(source));
+    }
+
+    @Test
+    public void lcsThresholdFallsBackOnIndexComparison() {
+        final JsonArray source = Json.createArrayBuilder().add(1).add(2).add(3).add(4).build();
+        final JsonArray target = Json.createArrayBuilder().add(0).add(1).add(2).add(3).add(5).build();
+
+        final JsonPatch patch = new JsonPatchDiff(JsonProvider.provider(), source, target, 2).calculateDiff();
+        assertEquals(5, patch.toJsonArray().size());
+        assertEquals(target, patch.apply(source));
+    }
+
     private void containsOperation(JsonArray patchOperations,
                                    JsonPatch.Operation patchOperation,
                                    String jsonPointer) {
@@ -1047,6 +1047,35 @@ public class JsonPatchTest {
     }
 
 
+    @Test
+    public void testManyOperationsMatchOneByOneApplication() {
+        final JsonObject object = Json.createObjectBuilder()
+            .add("a", Json.createObjectBuilder().add("b", Json.createArrayBuilder().add(1).add(2)))
+            .add("c", "d")
+            .build();
+        final JsonPatchImpl.PatchValue[] operations = {
+            new JsonPatchImpl.PatchValue(PROVIDER, JsonPatch.Operation.ADD, "/a/b/0", null, Json.createValue(0)),
+            new JsonPatchImpl.PatchValue(PROVIDER, JsonPatch.Operation.COPY, "/e", "/a", null),
+            new JsonPatchImpl.PatchValue(PROVIDER, JsonPatch.Operation.REMOVE, "/a/b/1", null, null),
+            new JsonPatchImpl.PatchValue(PROVIDER, JsonPatch.Operation.REPLACE, "/c", null, Json.createValue("f")),
+            new JsonPatchImpl.PatchValue(PROVIDER, JsonPatch.Operation.MOVE, "/a/g", "/a/b", null),
+            new JsonPatchImpl.PatchValue(PROVIDER, JsonPatch.Operation.ADD, "/a/g/-", null, Json.createValue(3)),
+            new JsonPatchImpl.PatchValue(PROVIDER, JsonPatch.Operation.TEST, "/e/b", null,
+                    Json.createArrayBuilder().add(0).add(1).add(2).build())
+        };
+
+        JsonObject expected = object;
+        for (final JsonPatchImpl.PatchValue operation : operations) {
+            expected = new JsonPatchImpl(PROVIDER, operation).apply(expected);
+        }
+
+        final JsonObject patched = new JsonPatchImpl(PROVIDER, operations).apply(object);
+        assertEquals(expected, patched);
+        assertEquals(toJsonString(expected), toJsonString(patched));
+        assertEquals("{\"a\":{\"g\":[0,2,3]},\"c\":\"f\",\"e\":{\"b\":[0,1,2]}}", toJsonString(patched));
+        assertEquals("{\"a\":{\"b\":[1,2]},\"c\":\"d\"}", toJsonString(object));
+    }
+
     private static String toJsonString(final JsonStructure value) {
         return value.toString();
     }
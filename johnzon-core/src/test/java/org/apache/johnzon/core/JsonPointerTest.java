@@ -36,6 +36,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class JsonPointerTest {
@@ -406,6 +407,19 @@ public class JsonPointerTest {
         jsonPointer.remove(target);
     }
 
+    @Test
+    public void testRemoveArrayElementWithSignedIndex() {
+        JsonPointerImpl jsonPointer = new JsonPointerImpl(JsonProvider.provider(), "/foo/+1");
+        JsonStructure target = Json.createObjectBuilder()
+                .add("foo", Json.createArrayBuilder()
+                        .add("bar")
+                        .add("qux")
+                        .add("baz")).build(); // {"foo":["bar","qux","baz"]}
+
+        assertEquals(Json.createValue("qux"), jsonPointer.getValue(target));
+        assertEquals("{\"foo\":[\"bar\",\"baz\"]}", jsonPointer.remove(target).toString());
+    }
+
     @Test(expected = JsonException.class)
     public void testRemoveArrayElementWithIndexOutOfRange() {
         JsonPointerImpl jsonPointer = new JsonPointerImpl(JsonProvider.provider(), "/foo/3");
@@ -702,6 +716,22 @@ public class JsonPointerTest {
         assertEquals("{\"foo\":\"bar\",\"baz\":\"boo\"}", result.toString()); // {"foo":"bar","baz":"boo"}
     }
 
+    @Test
+    public void testReplaceObjectMemberOrdering() {
+        JsonStructure target = Json.createObjectBuilder()
+                .add("a", 1)
+                .add("b", 2)
+                .add("c", 3).build(); // {"a":1,"b":2,"c":3}
+
+        // a replace is a remove then an add, which inserts the member after the first one
+        assertEquals("{\"a\":1,\"c\":0,\"b\":2}",
+                new JsonPointerImpl(JsonProvider.provider(), "/c").replace(target, Json.createValue(0)).toString());
+        assertEquals("{\"b\":2,\"a\":0,\"c\":3}",
+                new JsonPointerImpl(JsonProvider.provider(), "/a").replace(target, Json.createValue(0)).toString());
+        assertEquals("{\"a\":0}", new JsonPointerImpl(JsonProvider.provider(), "/a")
+                .replace(Json.createObjectBuilder().add("a", 1).build(), Json.createValue(0)).toString());
+    }
+
     @Test(expected = JsonException.class)
     public void testReplaceObjectMemberWithNonexistentTarget1() {
         JsonPointerImpl jsonPointer = new JsonPointerImpl(JsonProvider.provider(), "/baz/a");
@@ -786,6 +816,84 @@ public class JsonPointerTest {
     }
 
 
+    @Test
+    public void testMutationsShareUntouchedValues() {
+        final JsonObject family = Json.createObjectBuilder()
+                .add("father", Json.createObjectBuilder().add("name", "Anakin Skywalker"))
+                .add("children", Json.createArrayBuilder()
+                        .add(Json.createObjectBuilder().add("name", "Luke Skywalker"))
+                        .add(Json.createObjectBuilder().add("name", "Leia Skywalker")))
+                .build();
+
+        final JsonObject added = new JsonPointerImpl(JsonProvider.provider(), "/children/-")
+                .add(family, Json.createObjectBuilder().add("name", "Ben Solo").build());
+        assertSame(family.get("father"), added.get("father"));
+        assertSame(family.getJsonArray("children").get(1), added.getJsonArray("children").get(1));
+        assertEquals(3, added.getJsonArray("children").size());
+
+        final JsonObject replaced = new JsonPointerImpl(JsonProvider.provider(), "/children/0/name")
+                .replace(family, Json.createValue("Luke"));
+        assertSame(family.get("father"), replaced.get("father"));
+        assertSame(family.getJsonArray("children").get(1), replaced.getJsonArray("children").get(1));
+        assertEquals("Luke", replaced.getJsonArray("children").getJsonObject(0).getString("name"));
+
+        final JsonObject removed = new JsonPointerImpl(JsonProvider.provider(), "/children/0")
+                .remove(family);
+        assertSame(family.get("father"), removed.get("father"));
+        assertSame(family.getJsonArray("children").get(1), removed.getJsonArray("children").get(0));
+    }
+
+    @Test
+    public void testCreatedPointersAreCached() {
+        final JsonProvider provider = JsonProvider.provider();
+        final JsonPointer pointer = provider.createPointer("/children/1/name");
+        assertSame(pointer, provider.createPointer("/children/1/name"));
+
+        final JsonObject family = Json.createObjectBuilder()
+                .add("children", Json.createArrayBuilder()
+                        .add(Json.createObjectBuilder().add("name", "Luke Skywalker"))
+                        .add(Json.createObjectBuilder().add("name", "Leia Skywalker")))
+                .build();
+        assertEquals("Leia Skywalker", JsonString.class.cast(pointer.getValue(family)).getString());
+        assertEquals("Leia Skywalker", JsonString.class.cast(pointer.getValue(family)).getString());
+    }
+
+    @Test
+    public void testPointerCacheIsBounded() {
+        final DefaultJsonPointerFactory factory;
+        System.setProperty("org.apache.johnzon.pointer-cache.size", "1");
+        try {
+            factory = new DefaultJsonPointerFactory();
+        } finally {
+            System.clearProperty("org.apache.johnzon.pointer-cache.size");
+        }
+        final JsonProvider provider = JsonProvider.provider();
+        final JsonPointer first = factory.createPointer(provider, "/a");
+        assertSame(first, factory.createPointer(provider, "/a"));
+        factory.createPointer(provider, "/b"); // evicts /a
+        assertNotSame(first, factory.createPointer(provider, "/a"));
+    }
+
+    @Test
+    public void testPointerCacheKeepsHotPointers() {
+        final DefaultJsonPointerFactory factory;
+        System.setProperty("org.apache.johnzon.pointer-cache.size", "4");
+        try {
+            factory = new DefaultJsonPointerFactory();
+        } finally {
+            System.clearProperty("org.apache.johnzon.pointer-cache.size");
+        }
+        final JsonProvider provider = JsonProvider.provider();
+        final JsonPointer hot = factory.createPointer(provider, "/hot");
+        final JsonPointer cold = factory.createPointer(provider, "/cold");
+        for (int i = 0; i < 1000; i++) { // scan of pointers used once
+            factory.createPointer(provider, "/scan/" + i);
+            assertSame(hot, factory.createPointer(provider, "/hot"));
+        }
+        assertNotSame(cold, factory.createPointer(provider, "/cold"));
+    }
+
+
     private JsonStructure getJsonDocument() {
         JsonReader reader = Json.createReaderFactory(Collections.emptyMap()).createReader(
                 Thread.currentThread().getContextClassLoader().getResourceAsStream("json/jsonPointerTest.json"));
@@ -30,6 +30,7 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -107,6 +108,28 @@ public class SerializationTest {
         assertEquals(JsonValue.TRUE, iterator.next());
     }
 
+    @Test
+    public void jsonArrayFromPreviousRelease() throws IOException, ClassNotFoundException {
+        // ["test",1,["nested"]] serialized (with its hash cached) before JsonArrayImpl declared a serialVersionUID
+        final byte[] bytes = Base64.getDecoder().decode(
+                "rO0ABXNyAClvcmcuYXBhY2hlLmpvaG56b24uY29yZS5TZXJpYWxpemFibGVWYWx1ZbU4AHH72oqWAgABTAAFdmFsdWV0ABJMamF2YS9sYW5nL1N0cmluZzt4cHQAFVsidGVzdCIsMSxbIm5lc3RlZCJdXQ==");
+        final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes));
+        final JsonArray array;
+        try {
+            array = JsonArray.class.cast(in.readObject());
+        } finally {
+            in.close();
+        }
+        final JsonArray expected = JsonProviderImpl.provider().createArrayBuilder()
+                .add("test")
+                .add(1)
+                .add(JsonProviderImpl.provider().createArrayBuilder().add("nested"))
+                .build();
+        assertEquals(expected, array);
+        assertEquals(expected.hashCode(), array.hashCode());
+        assertEquals(array, serialDeser(array));
+    }
+
     @Test
     public void primitiveInObject() throws IOException, ClassNotFoundException {
         assertTrue(serialDeser(JsonProviderImpl.provider().createObjectBuilder()
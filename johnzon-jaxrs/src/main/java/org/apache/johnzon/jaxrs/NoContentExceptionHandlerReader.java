@@ -58,6 +58,12 @@ public class NoContentExceptionHandlerReader<T> implements MessageBodyReader<T>
                 throw new NoContentException(ise);
             }
             throw ise;
+        } catch (final RuntimeException re) {
+            if (re.getClass().getName()
+                    .equals("org.apache.johnzon.mapper.EmptyDocumentException")) { // same when bound from the parser
+                throw new NoContentException(re);
+            }
+            throw re;
         }
     }
 }
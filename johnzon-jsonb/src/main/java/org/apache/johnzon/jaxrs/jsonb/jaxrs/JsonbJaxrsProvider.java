@@ -335,6 +335,12 @@ public class JsonbJaxrsProvider<T> implements MessageBodyWriter<T>, MessageBodyR
                 throw new NoContentException(ise);
             }
             throw ise;
+        } catch (final RuntimeException re) {
+            if (re.getCause() != null && re.getCause().getClass().getName()
+                    .equals("org.apache.johnzon.mapper.EmptyDocumentException")) { // same when bound from the parser
+                throw new NoContentException(re.getCause());
+            }
+            throw re;
         }
     }
 
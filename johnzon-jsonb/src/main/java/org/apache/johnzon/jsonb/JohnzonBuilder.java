@@ -102,6 +102,7 @@ public class JohnzonBuilder implements JsonbBuilder {
         if (jsonp != null) {
             builder.setGeneratorFactory(jsonp.createGeneratorFactory(generatorConfig()));
             builder.setReaderFactory(jsonp.createReaderFactory(readerConfig()));
+            builder.setParserFactory(jsonp.createParserFactory(readerConfig()));
         } else {
             jsonp = JsonProvider.provider();
         }
@@ -115,8 +116,7 @@ public class JohnzonBuilder implements JsonbBuilder {
         final boolean skipCdi = shouldSkipCdi();
 
         // todo: global spec toggle to disable all these ones at once?
-        builder.setUseBigDecimalForObjectNumbers(
-                config.getProperty("johnzon.use-big-decimal-for-object").map(this::toBool).orElse(true));
+        configureReadValues();
         builder.setSupportEnumContainerDeserialization( // https://github.com/eclipse-ee4j/jakartaee-tck/issues/103
                 toBool(System.getProperty("johnzon.support-enum-container-deserialization", config.getProperty("johnzon.support-enum-container-deserialization")
                         .map(String::valueOf).orElse("true"))));
@@ -212,6 +212,13 @@ public class JohnzonBuilder implements JsonbBuilder {
                 .map(v -> Boolean.parseBoolean(String.valueOf(v)))
                 .ifPresent(builder::setSkipAccessModeWrapper);
 
+        final boolean supportsPrivateAccess = config.getProperty("johnzon.supportsPrivateAccess")
+                .map(this::toBool)
+                .orElse(false);
+        final boolean defaultStrategies = namingStrategyValue.map(IDENTITY::equals).orElse(true)
+                && !config.getProperty(JsonbConfig.PROPERTY_ORDER_STRATEGY).isPresent()
+                && !config.getProperty(JsonbConfig.PROPERTY_VISIBILITY_STRATEGY).isPresent()
+                && !config.getProperty("johnzon.accessModeDelegate").isPresent();
         final AccessMode accessMode = config.getProperty("johnzon.accessMode")
                 .map(this::toAccessMode)
                 .orElseGet(() -> new JsonbAccessMode(
@@ -226,9 +233,8 @@ public class JohnzonBuilder implements JsonbBuilder {
                                 .map(this::toBool)
                                 .orElse(true) /*spec 1.0 requirement*/,
                         isNillable,
-                        config.getProperty("johnzon.supportsPrivateAccess")
-                                .map(this::toBool)
-                                .orElse(false)));
+                        supportsPrivateAccess,
+                        defaultStrategies));
         builder.setAccessMode(accessMode);
 
         // user adapters
@@ -339,6 +345,17 @@ public class JohnzonBuilder implements JsonbBuilder {
         return doCreateJsonb(skipCdi, ijson, builder.build());
     }
 
+    private void configureReadValues() {
+        builder.setUseBigDecimalForObjectNumbers(
+                config.getProperty("johnzon.use-big-decimal-for-object").map(this::toBool).orElse(true));
+        builder.setCompactUntypedObjects(
+                config.getProperty("johnzon.compact-untyped-objects").map(this::toBool).orElse(false));
+        builder.setDeduplicateStrings(
+                config.getProperty("johnzon.deduplicate-strings").map(this::toBool).orElse(false));
+        builder.setStreamingObjects(
+                config.getProperty("johnzon.streaming-objects").map(this::toBool).orElse(false));
+    }
+
     private <T extends Enum<T>> MapperConfig.CustomEnumConverter<T> newEnumConverter(final Class<T> enumType) {
         return new JsonbEnumAdapter<>(enumType);
     }
@@ -18,9 +18,8 @@
  */
 package org.apache.johnzon.jsonb;
 
-import org.apache.johnzon.mapper.util.ArrayUtil;
 import org.apache.johnzon.jsonb.api.experimental.JsonbExtension;
-import org.apache.johnzon.mapper.JsonObjectGenerator;
+import org.apache.johnzon.mapper.JsonArrayIterator;
 import org.apache.johnzon.mapper.Mapper;
 import org.apache.johnzon.mapper.MapperException;
 import org.apache.johnzon.mapper.reflection.JohnzonParameterizedType;
@@ -52,10 +51,13 @@ import java.util.OptionalInt;
 import java.util.OptionalLong;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class JohnzonJsonb implements Jsonb, AutoCloseable, JsonbExtension {
     private final Mapper delegate;
@@ -262,7 +264,7 @@ public class JohnzonJsonb implements Jsonb, AutoCloseable, JsonbExtension {
                 return "null";
             }
             if (isArray(object.getClass())) {
-                return delegate.writeArrayAsString(toArray(object));
+                return delegate.writeArrayAsString(object);
             } else if (Collection.class.isInstance(object)) {
                 return delegate.writeArrayAsString(Collection.class.cast(object));
             } else if (ijson && isNotObjectOrArray(object)) {
@@ -275,68 +277,11 @@ public class JohnzonJsonb implements Jsonb, AutoCloseable, JsonbExtension {
         }
     }
 
-    private Object[] toArray(final Object object) {
-        final Class<?> componentType = object.getClass().getComponentType();
-        Object[] array;
-        if (int.class == componentType) {
-            final int length = ArrayUtil.getArrayLength(object);
-            array = new Integer[length];
-            for (int i = 0; i < length; i++) {
-                array[i] = ((int[])object)[i];
-            }
-        } else if (double.class == componentType) {
-            final int length = ArrayUtil.getArrayLength(object);
-            array = new Double[length];
-            for (int i = 0; i < length; i++) {
-                array[i] = ((double[])object)[i];
-            }
-        } else if (byte.class == componentType) {
-            final int length = ArrayUtil.getArrayLength(object);
-            array = new Byte[length];
-            for (int i = 0; i < length; i++) {
-                array[i] = ((byte[])object)[i];
-            }
-        } else if (char.class == componentType) {
-            final int length = ArrayUtil.getArrayLength(object);
-            array = new Character[length];
-            for (int i = 0; i < length; i++) {
-                array[i] = ((char[])object)[i];
-            }
-        } else if (float.class == componentType) {
-            final int length = ArrayUtil.getArrayLength(object);
-            array = new Float[length];
-            for (int i = 0; i < length; i++) {
-                array[i] = ((float[])object)[i];
-            }
-        } else if (long.class == componentType) {
-            final int length = ArrayUtil.getArrayLength(object);
-            array = new Long[length];
-            for (int i = 0; i < length; i++) {
-                array[i] = ((long[])object)[i];
-            }
-        } else if (short.class == componentType) {
-            final int length = ArrayUtil.getArrayLength(object);
-            array = new Short[length];
-            for (int i = 0; i < length; i++) {
-                array[i] = ((short[])object)[i];
-            }
-        } else if (boolean.class == componentType) {
-            final int length = ArrayUtil.getArrayLength(object);
-            array = new Boolean[length];
-            for (int i = 0; i < length; i++) {
-                array[i] = ((boolean[])object)[i];
-            }
-        } else {
-            array = (Object[]) object;
-        }
-        return array;
-    }
-
     @Override
     public String toJson(final Object inObject, final Type runtimeType) throws JsonbException {
         final Object object = unwrapOptional(inObject);
         if (object != null && isArray(runtimeType)) {
-            return delegate.writeArrayAsString(toArray(object));
+            return delegate.writeArrayAsString(object);
         } else if (isCollection(runtimeType)) {
             return delegate.writeArrayAsString(Collection.class.cast(object));
         } else if (ijson && isNotObjectOrArray(object)) {
@@ -354,7 +299,7 @@ public class JohnzonJsonb implements Jsonb, AutoCloseable, JsonbExtension {
 
         final Object object = unwrapOptional(inObject);
         if (object != null && isArray(object.getClass())) {
-            delegate.writeArray((Object[]) object, writer);
+            delegate.writeArray(object, writer);
         } else if (Collection.class.isInstance(object)) {
             delegate.writeArray(Collection.class.cast(object), writer);
         } else if (ijson && isNotObjectOrArray(object)) {
@@ -373,7 +318,7 @@ public class JohnzonJsonb implements Jsonb, AutoCloseable, JsonbExtension {
 
         final Object object = unwrapOptional(inObject);
         if (object != null && isArray(runtimeType)) {
-            delegate.writeArray((Object[]) object, writer);
+            delegate.writeArray(object, writer);
         } else if (isCollection(runtimeType)) {
             delegate.writeArray(Collection.class.cast(object), writer);
         } else if (ijson && isNotObjectOrArray(object)) {
@@ -387,7 +332,7 @@ public class JohnzonJsonb implements Jsonb, AutoCloseable, JsonbExtension {
     public void toJson(final Object inObject, final OutputStream stream) throws JsonbException {
         final Object object = unwrapOptional(inObject);
         if (object != null && isArray(object.getClass())) {
-            delegate.writeArray(toArray(object), stream);
+            delegate.writeArray(object, stream);
         } else if (Collection.class.isInstance(object)) {
             delegate.writeArray(Collection.class.cast(object), stream);
         } else if (ijson && isNotObjectOrArray(object)) {
@@ -401,7 +346,7 @@ public class JohnzonJsonb implements Jsonb, AutoCloseable, JsonbExtension {
     public void toJson(final Object inObject, final Type runtimeType, final OutputStream stream) throws JsonbException {
         final Object object = unwrapOptional(inObject);
         if (object != null && isArray(runtimeType)) {
-            delegate.writeArray((Object[]) object, stream);
+            delegate.writeArray(object, stream);
         } else if (isCollection(runtimeType)) {
             delegate.writeArray(Collection.class.cast(object), stream);
         } else if (ijson && isNotObjectOrArray(object)) {
@@ -539,11 +484,7 @@ public class JohnzonJsonb implements Jsonb, AutoCloseable, JsonbExtension {
         if (JsonValue.class.isInstance(rawObject)) {
             return JsonValue.class.cast(rawObject);
         }
-        try (final JsonObjectGenerator jsonObjectGenerator = new JsonObjectGenerator(delegate.getBuilderFactory())) {
-            delegate.writeObjectWithGenerator(unwrapOptional(rawObject), jsonObjectGenerator);
-            jsonObjectGenerator.flush();
-            return jsonObjectGenerator.getResult();
-        }
+        return delegate.toStructure(unwrapOptional(rawObject));
     }
 
     @Override
@@ -573,6 +514,65 @@ public class JohnzonJsonb implements Jsonb, AutoCloseable, JsonbExtension {
         }
     }
 
+    /**
+     * Lazily binds the items of a JSON array, see {@link Mapper#readStream(InputStream, Type)}.
+     * The returned stream must be closed if it is not fully consumed.
+     *
+     * @param stream the JSON array input.
+     * @param elementType the item type.
+     * @param <T> the item type.
+     * @return a sequential stream of the items.
+     */
+    public <T> Stream<T> fromJsonStream(final InputStream stream, final Type elementType) {
+        return toJsonbStream(delegate.readIterator(stream, elementType));
+    }
+
+    public <T> Stream<T> fromJsonStream(final Reader reader, final Type elementType) {
+        return toJsonbStream(delegate.readIterator(reader, elementType));
+    }
+
+    public <T> Stream<T> fromJsonStream(final JsonParser parser, final Type elementType) {
+        return toJsonbStream(delegate.readIterator(parser, elementType));
+    }
+
+    /**
+     * Eagerly creates the mappings of the types (and the types they reference), see {@link Mapper#warmup(boolean, Type...)}.
+     *
+     * @param parallel should the types be prepared in parallel.
+     * @param types the types to prepare.
+     * @return this instance.
+     */
+    public JohnzonJsonb warmup(final boolean parallel, final Type... types) {
+        delegate.warmup(parallel, types);
+        return this;
+    }
+
+    /**
+     * @return the classes this instance (de)serialized or prepared with a class mapping, see {@link Mapper#getMappedClasses()}.
+     */
+    public Collection<Class<?>> getMappedClasses() {
+        return delegate.getMappedClasses();
+    }
+
+    private <T> Stream<T> toJsonbStream(final JsonArrayIterator<T> iterator) {
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED) {
+            @Override
+            public boolean tryAdvance(final Consumer<? super T> action) {
+                final T next;
+                try {
+                    if (!iterator.hasNext()) {
+                        return false;
+                    }
+                    next = iterator.next();
+                } catch (final MapperException me) {
+                    throw new JsonbException(me.getMessage(), me);
+                }
+                action.accept(next);
+                return true;
+            }
+        }, false).onClose(iterator::close);
+    }
+
     @Override
     public void toJson(final Object object, final JsonGenerator jsonGenerator) {
         delegate.writeObjectWithGenerator(unwrapOptional(object), jsonGenerator);
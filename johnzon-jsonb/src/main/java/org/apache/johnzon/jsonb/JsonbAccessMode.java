@@ -27,6 +27,9 @@ import static org.apache.johnzon.mapper.reflection.Converters.matches;
 import java.io.Closeable;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
@@ -103,6 +106,7 @@ import org.apache.johnzon.jsonb.serializer.JohnzonSerializationContext;
 import org.apache.johnzon.jsonb.spi.JohnzonAdapterFactory;
 import org.apache.johnzon.mapper.Adapter;
 import org.apache.johnzon.mapper.Converter;
+import org.apache.johnzon.mapper.GeneratedCodec;
 import org.apache.johnzon.mapper.JohnzonAny;
 import org.apache.johnzon.mapper.JohnzonConverter;
 import org.apache.johnzon.mapper.MapperConverter;
@@ -148,6 +152,7 @@ public class JsonbAccessMode implements AccessMode, Closeable {
     private final Types types = new Types();
     private final boolean globalIsNillable;
     private final boolean supportsPrivateAccess;
+    private final boolean defaultStrategies;
 
     // CHECKSTYLE:OFF
     public JsonbAccessMode(final PropertyNamingStrategy propertyNamingStrategy, final String orderValue,
@@ -159,7 +164,27 @@ public class JsonbAccessMode implements AccessMode, Closeable {
                            final boolean failOnMissingCreatorValues,
                            final boolean globalIsNillable,
                            final boolean supportsPrivateAccess) {
+        this(propertyNamingStrategy, orderValue, visibilityStrategy, caseSensitive, defaultConverters, factory,
+                jsonProvider, builderFactory, parserFactory, delegate, failOnMissingCreatorValues, globalIsNillable,
+                supportsPrivateAccess, false);
+    }
+
+    /**
+     * @param defaultStrategies true when the naming, order and visibility strategies and the delegate access mode
+     *                          are the default ones, it enables the generated codecs (see {@link #acceptsGeneratedCodec(GeneratedCodec)}).
+     */
+    public JsonbAccessMode(final PropertyNamingStrategy propertyNamingStrategy, final String orderValue,
+                           final PropertyVisibilityStrategy visibilityStrategy, final boolean caseSensitive,
+                           final Map<AdapterKey, Adapter<?, ?>> defaultConverters, final JohnzonAdapterFactory factory,
+                           final JsonProvider jsonProvider, final Supplier<JsonBuilderFactory> builderFactory,
+                           final Supplier<JsonParserFactory> parserFactory,
+                           final AccessMode delegate,
+                           final boolean failOnMissingCreatorValues,
+                           final boolean globalIsNillable,
+                           final boolean supportsPrivateAccess,
+                           final boolean defaultStrategies) {
         // CHECKSTYLE:ON
+        this.defaultStrategies = defaultStrategies;
         this.globalIsNillable = globalIsNillable;
         this.naming = propertyNamingStrategy;
         this.order = orderValue;
@@ -175,6 +200,17 @@ public class JsonbAccessMode implements AccessMode, Closeable {
         this.supportsPrivateAccess = supportsPrivateAccess;
     }
 
+    /**
+     * Codecs bind the public properties sorted by name and skip null values,
+     * it is the default JSON-B mapping of a class without parent (the default order sorts the properties per class).
+     */
+    @Override
+    public boolean acceptsGeneratedCodec(final GeneratedCodec<?> codec) {
+        return defaultStrategies && !globalIsNillable && !supportsPrivateAccess
+                && codec.boundAnnotations() != GeneratedCodec.Annotations.JOHNZON
+                && codec.type().getSuperclass() == Object.class;
+    }
+
     @Override
     public Comparator<String> fieldComparator(final Class<?> clazz) {
         final Comparator<String> orderComparator = orderComparator(clazz);
@@ -360,6 +396,18 @@ public class JsonbAccessMode implements AccessMode, Closeable {
         };
     }
 
+    // pre-bound once, takes the creator arguments as an array
+    private static MethodHandle toSpreadHandle(final Constructor<?> constructor) {
+        final int count = constructor.getParameterCount();
+        try {
+            return MethodHandles.lookup().unreflectConstructor(constructor).asFixedArity()
+                    .asType(MethodType.genericMethodType(count))
+                    .asSpreader(Object[].class, count);
+        } catch (final IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private Object tryToCreateInstance(final Class<?> declaringClass) {
         try {
             final Constructor<?> declaredConstructor = declaringClass.getDeclaredConstructor();
@@ -375,16 +423,17 @@ public class JsonbAccessMode implements AccessMode, Closeable {
     private Factory constructorFactory(final Constructor<?> finalConstructor, final Consumer<Object[]> factoryValidator,
                                        final Type[] types, final String[] params, final Adapter<?, ?>[] converters,
                                        final Adapter<?, ?>[] itemConverters, final ObjectConverter.Codec<?>[] objectConverters) {
+        final MethodHandle handle = finalConstructor == null ? null : toSpreadHandle(finalConstructor);
         return new Factory() {
             @Override
             public Object create(final Object[] params) {
                 factoryValidator.accept(params);
                 try {
-                    return finalConstructor.newInstance(params);
-                } catch (final InstantiationException | IllegalAccessException e) {
+                    return (Object) handle.invokeExact(params);
+                } catch (final RuntimeException | Error e) {
+                    throw e;
+                } catch (final Throwable e) { // checked exception of the constructor
                     throw new IllegalStateException(e);
-                } catch (final InvocationTargetException e) {
-                    throw new IllegalStateException(e.getCause());
                 }
             }
 
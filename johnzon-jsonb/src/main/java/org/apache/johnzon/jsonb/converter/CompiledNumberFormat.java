@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.jsonb.converter;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Immutable (so thread safe) equivalent of a {@link DecimalFormat} using only digits, grouping and a decimal separator
+ * (patterns like {@code #,##0.00}, no prefix/suffix, exponent, multiplier or custom rounding).
+ * Values it does not handle (NaN, infinity, not strictly formatted text) return {@code null} to let the caller
+ * use the {@link DecimalFormat}.
+ */
+final class CompiledNumberFormat {
+    // DecimalFormat limits for doubles
+    private static final int DOUBLE_INTEGER_DIGITS = 309;
+    private static final int DOUBLE_FRACTION_DIGITS = 340;
+
+    private final int minIntegerDigits;
+    private final int minFractionDigits;
+    private final int maxFractionDigits;
+    private final int groupingSize;
+    private final char zero;
+    private final char decimalSeparator;
+    private final char groupingSeparator;
+    private final char minus;
+
+    private CompiledNumberFormat(final DecimalFormat format) {
+        final DecimalFormatSymbols symbols = format.getDecimalFormatSymbols();
+        this.minIntegerDigits = format.getMinimumIntegerDigits();
+        this.minFractionDigits = format.getMinimumFractionDigits();
+        this.maxFractionDigits = format.getMaximumFractionDigits();
+        this.groupingSize = format.isGroupingUsed() ? format.getGroupingSize() : 0;
+        this.zero = symbols.getZeroDigit();
+        this.decimalSeparator = symbols.getDecimalSeparator();
+        this.groupingSeparator = symbols.getGroupingSeparator();
+        this.minus = symbols.getMinusSign();
+    }
+
+    /**
+     * @param format the format to compile.
+     * @return the compiled format or {@code null} if the format uses features not handled there.
+     */
+    static CompiledNumberFormat compile(final NumberFormat format) {
+        if (!DecimalFormat.class.isInstance(format)) {
+            return null;
+        }
+        final DecimalFormat decimalFormat = DecimalFormat.class.cast(format);
+        final DecimalFormatSymbols symbols = decimalFormat.getDecimalFormatSymbols();
+        if (!decimalFormat.getPositivePrefix().isEmpty() || !decimalFormat.getPositiveSuffix().isEmpty()
+                || !String.valueOf(symbols.getMinusSign()).equals(decimalFormat.getNegativePrefix())
+                || !decimalFormat.getNegativeSuffix().isEmpty()
+                || decimalFormat.getMultiplier() != 1 || decimalFormat.getRoundingMode() != RoundingMode.HALF_EVEN
+                || decimalFormat.isDecimalSeparatorAlwaysShown() || decimalFormat.isParseBigDecimal() || decimalFormat.isParseIntegerOnly()
+                || decimalFormat.toPattern().indexOf('E') >= 0
+                || decimalFormat.getMaximumIntegerDigits() != Integer.MAX_VALUE
+                || decimalFormat.getMinimumIntegerDigits() > DOUBLE_INTEGER_DIGITS
+                || decimalFormat.getMaximumFractionDigits() > DOUBLE_FRACTION_DIGITS
+                || symbols.getDecimalSeparator() == symbols.getGroupingSeparator()
+                || Character.digit(symbols.getMinusSign(), 10) >= 0) {
+            return null;
+        }
+        return new CompiledNumberFormat(decimalFormat);
+    }
+
+    String format(final Number number) {
+        final boolean negative;
+        final BigDecimal value;
+        if (number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte
+                || number instanceof AtomicInteger || number instanceof AtomicLong
+                || (number instanceof BigInteger && BigInteger.class.cast(number).bitLength() < 64)) {
+            final long longValue = number.longValue();
+            negative = longValue < 0;
+            value = BigDecimal.valueOf(longValue).abs();
+        } else if (number instanceof BigDecimal) {
+            final BigDecimal bigDecimal = BigDecimal.class.cast(number);
+            negative = bigDecimal.signum() < 0;
+            value = bigDecimal.scale() > maxFractionDigits ?
+                    bigDecimal.abs().setScale(maxFractionDigits, RoundingMode.HALF_EVEN) : bigDecimal.abs();
+        } else if (number instanceof BigInteger) {
+            final BigInteger bigInteger = BigInteger.class.cast(number);
+            negative = bigInteger.signum() < 0;
+            value = new BigDecimal(bigInteger.abs());
+        } else {
+            final double doubleValue = number.doubleValue();
+            if (Double.isNaN(doubleValue) || Double.isInfinite(doubleValue)) {
+                return null;
+            }
+            negative = doubleValue < 0 || (doubleValue == 0 && 1 / doubleValue < 0);
+            final double abs = Math.abs(doubleValue);
+            // like DecimalFormat: shortest representation digits, rounded with the exact binary value if needed
+            final BigDecimal shortest = new BigDecimal(Double.toString(abs));
+            value = shortest.scale() <= maxFractionDigits ?
+                    shortest : new BigDecimal(abs).setScale(maxFractionDigits, RoundingMode.HALF_EVEN);
+        }
+        return write(negative, value);
+    }
+
+    /**
+     * @param text the text to parse.
+     * @return a {@link Long} if the value is an integer fitting a long, a {@link Double} otherwise
+     * (as {@link DecimalFormat#parse(String)}) or {@code null} if the text is not strictly formatted.
+     */
+    Number parse(final String text) {
+        final int length = text.length();
+        int i = 0;
+        final boolean negative = length > 0 && text.charAt(0) == minus;
+        if (negative) {
+            i++;
+        }
+        final char[] ascii = new char[length + 1];
+        int asciiLength = 0;
+        if (negative) {
+            ascii[asciiLength++] = '-';
+        }
+        boolean digits = false;
+        boolean fraction = false;
+        boolean nonZeroFraction = false;
+        for (; i < length; i++) {
+            final char c = text.charAt(i);
+            final int digit = c - zero;
+            if (digit >= 0 && digit <= 9) {
+                ascii[asciiLength++] = (char) ('0' + digit);
+                digits = true;
+                nonZeroFraction |= fraction && digit != 0;
+            } else if (c == decimalSeparator && !fraction) {
+                ascii[asciiLength++] = '.';
+                fraction = true;
+            } else if (c == groupingSeparator && groupingSize > 0 && !fraction && isDigit(text, i - 1) && isDigit(text, i + 1)) {
+                // skip
+            } else {
+                return null;
+            }
+        }
+        if (!digits) {
+            return null;
+        }
+        if (!nonZeroFraction) {
+            long value = 0;
+            boolean fits = true;
+            for (int j = negative ? 1 : 0; j < asciiLength && ascii[j] != '.'; j++) {
+                final int digit = ascii[j] - '0';
+                if (value < (Long.MIN_VALUE + digit) / 10) {
+                    fits = false;
+                    break;
+                }
+                value = value * 10 - digit; // accumulate negatively to support Long.MIN_VALUE
+            }
+            if (fits && (!negative || value != 0) && (negative || value != Long.MIN_VALUE)) {
+                return negative ? value : -value;
+            }
+        }
+        return Double.parseDouble(new String(ascii, 0, asciiLength));
+    }
+
+    private boolean isDigit(final String text, final int index) {
+        if (index < 0 || index >= text.length()) {
+            return false;
+        }
+        final int digit = text.charAt(index) - zero;
+        return digit >= 0 && digit <= 9;
+    }
+
+    private String write(final boolean negative, final BigDecimal value) {
+        final String plain = value.signum() == 0 ? "0" : value.stripTrailingZeros().toPlainString();
+        final int dot = plain.indexOf('.');
+        final int integerLength = dot < 0 ? plain.length() : dot;
+        final int significantIntegerDigits = integerLength == 1 && plain.charAt(0) == '0' ? 0 : integerLength;
+        final int fractionLength = dot < 0 ? 0 : plain.length() - dot - 1;
+        final int integerCount = Math.max(minIntegerDigits, significantIntegerDigits);
+        final int fractionCount = Math.max(minFractionDigits, fractionLength);
+
+        final StringBuilder builder = new StringBuilder(integerCount + integerCount / 3 + fractionCount + 2);
+        if (negative) {
+            builder.append(minus);
+        }
+        if (integerCount == 0 && fractionCount == 0) {
+            builder.append(zero);
+        }
+        for (int i = 0; i < integerCount; i++) {
+            final int digitIndex = i - (integerCount - significantIntegerDigits);
+            builder.append(digitIndex < 0 ? zero : (char) (zero + plain.charAt(digitIndex) - '0'));
+            final int remaining = integerCount - i - 1;
+            if (groupingSize > 0 && remaining > 0 && remaining % groupingSize == 0) {
+                builder.append(groupingSeparator);
+            }
+        }
+        if (fractionCount > 0) {
+            builder.append(decimalSeparator);
+            for (int i = 0; i < fractionCount; i++) {
+                builder.append(i < fractionLength ? (char) (zero + plain.charAt(dot + 1 + i) - '0') : zero);
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -18,6 +18,8 @@
  */
 package org.apache.johnzon.jsonb.converter;
 
+import org.apache.johnzon.mapper.converter.IsoDates;
+
 import java.time.DateTimeException;
 import java.time.Instant;
 import java.time.LocalDateTime;
@@ -82,6 +84,10 @@ public class JsonbDateConverter extends JsonbDateConverterBase<Date> {
     }
 
     private Date fromIso(final String text) {
+        final long time = IsoDates.parseIsoZoned(text);
+        if (time != IsoDates.INVALID) {
+            return new Date(time);
+        }
         return Date.from(ZonedDateTime.parse(text, DateTimeFormatter.ISO_ZONED_DATE_TIME).toInstant());
     }
 
@@ -112,6 +118,10 @@ public class JsonbDateConverter extends JsonbDateConverterBase<Date> {
     }
 
     private String toIsoString(final Instant instant) {
+        final String formatted = IsoDates.formatIsoUtc(instant.toEpochMilli());
+        if (formatted != null) {
+            return formatted;
+        }
         return DateTimeFormatter.ISO_ZONED_DATE_TIME.format(ZonedDateTime.ofInstant(instant, UTC));
     }
 
@@ -31,6 +31,7 @@ import java.util.function.Supplier;
 public class JsonbNumberConverter extends JsonbLocaleParserConverterBase<Number> {
     private final Supplier<NumberFormat> delegateFactory; // NumberFormat is not thread safe
     private final Queue<NumberFormat> pool = new ArrayBlockingQueue<>(30); // configurable?
+    private final CompiledNumberFormat compiled; // lock free path for the simple patterns, null otherwise
 
     public JsonbNumberConverter(final JsonbNumberFormat numberFormat) {
         final String locale = numberFormat.locale();
@@ -45,15 +46,28 @@ public class JsonbNumberConverter extends JsonbLocaleParserConverterBase<Number>
         } else {
             delegateFactory = () -> new DecimalFormat(format);
         }
+        compiled = CompiledNumberFormat.compile(delegateFactory.get());
     }
 
     @Override
     public String toString(final Number instance) {
+        if (compiled != null) {
+            final String formatted = compiled.format(instance);
+            if (formatted != null) {
+                return formatted;
+            }
+        }
         return execute(f -> f.format(instance));
     }
 
     @Override
     public Number fromString(final String text) {
+        if (compiled != null) {
+            final Number parsed = compiled.parse(text);
+            if (parsed != null) {
+                return parsed;
+            }
+        }
         return execute(f -> {
             try {
                 return f.parse(text);
@@ -71,7 +85,7 @@ public class JsonbNumberConverter extends JsonbLocaleParserConverterBase<Number>
         try {
             return function.apply(format);
         } finally {
-            pool.add(format);
+            pool.offer(format);
         }
     }
 }
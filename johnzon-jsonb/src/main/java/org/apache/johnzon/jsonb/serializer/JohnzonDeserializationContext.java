@@ -20,7 +20,6 @@ package org.apache.johnzon.jsonb.serializer;
 
 import java.lang.reflect.Type;
 
-import javax.json.JsonArrayBuilder;
 import javax.json.JsonBuilderFactory;
 import javax.json.JsonObjectBuilder;
 import javax.json.JsonValue;
@@ -58,19 +57,14 @@ public class JohnzonDeserializationContext implements DeserializationContext {
         final JsonParser.Event next = /*RewindableJsonParser.class.isInstance(parser) ?
                 RewindableJsonParser.class.cast(parser).getLast() : */ parser.next();
         switch (next) {
-            case START_OBJECT: {
-                final JsonObjectBuilder objectBuilder = builderFactory.createObjectBuilder();
-                parseObject(null, parser, objectBuilder);
-                return objectBuilder.build();
-            }
+            case START_OBJECT:
+            case START_ARRAY:
+                // in memory parsers (the deserializers ones) return the structure they iterate, no copy
+                return parser.getValue();
             case END_OBJECT:
                 return JsonValue.EMPTY_JSON_OBJECT;
             case END_ARRAY:
                 return JsonValue.EMPTY_JSON_ARRAY;
-            case START_ARRAY:
-                final JsonArrayBuilder arrayBuilder = builderFactory.createArrayBuilder();
-                parseArray(parser, arrayBuilder);
-                return arrayBuilder.build();
             case KEY_NAME: { // object
                 final JsonObjectBuilder objectBuilder = builderFactory.createObjectBuilder();
                 parseObject(parser.getString(), parser, objectBuilder);
@@ -105,15 +99,8 @@ public class JohnzonDeserializationContext implements DeserializationContext {
                     break;
 
                 case START_OBJECT:
-                    final JsonObjectBuilder subObject = builderFactory.createObjectBuilder();
-                    parseObject(null, parser, subObject);
-                    builder.add(key, subObject);
-                    break;
-
                 case START_ARRAY:
-                    final JsonArrayBuilder subArray = builderFactory.createArrayBuilder();
-                    parseArray(parser, subArray);
-                    builder.add(key, subArray);
+                    builder.add(key, parser.getValue());
                     break;
 
                 case VALUE_NUMBER:
@@ -147,59 +134,4 @@ public class JohnzonDeserializationContext implements DeserializationContext {
             }
         }
     }
-
-    private void parseArray(final JsonParser parser, final JsonArrayBuilder builder) {
-        while (parser.hasNext()) {
-            final JsonParser.Event next = parser.next();
-            switch (next) {
-                case VALUE_STRING:
-                    builder.add(jsonp.createValue(parser.getString()));
-                    break;
-
-                case VALUE_NUMBER:
-                    if (parser.isIntegralNumber()) {
-                        builder.add(jsonp.createValue(parser.getLong()));
-                    } else {
-                        builder.add(jsonp.createValue(parser.getBigDecimal()));
-                    }
-                    break;
-
-                case START_OBJECT:
-                    final JsonObjectBuilder subObject = builderFactory.createObjectBuilder();
-                    parseObject(null, parser, subObject);
-                    builder.add(subObject);
-                    break;
-
-                case START_ARRAY:
-                    final JsonArrayBuilder subArray = builderFactory.createArrayBuilder();
-                    parseArray(parser, subArray);
-                    builder.add(subArray);
-                    break;
-
-                case END_ARRAY:
-                    return;
-
-                case VALUE_NULL:
-                    builder.addNull();
-                    break;
-
-                case VALUE_TRUE:
-                    builder.add(true);
-                    break;
-
-                case VALUE_FALSE:
-                    builder.add(false);
-                    break;
-
-                case KEY_NAME:
-                    throw new JsonParsingException("array doesn't have keys", parser.getLocation());
-
-                case END_OBJECT:
-                    throw new JsonParsingException("'}', shouldn't occur", parser.getLocation());
-
-                default:
-                    throw new JsonParsingException(next.name() + ", shouldn't occur", parser.getLocation());
-            }
-        }
-    }
 }
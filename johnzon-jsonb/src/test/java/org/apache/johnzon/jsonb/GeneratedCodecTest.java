@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.jsonb;
+
+import org.apache.johnzon.mapper.GeneratedCodec;
+import org.apache.johnzon.mapper.MappingGenerator;
+import org.apache.johnzon.mapper.MappingParser;
+import org.apache.johnzon.mapper.processor.GeneratedCodecProcessor;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.json.JsonValue;
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
+import javax.json.bind.JsonbConfig;
+import javax.json.bind.config.PropertyNamingStrategy;
+import javax.json.bind.config.PropertyOrderStrategy;
+import javax.json.stream.JsonGenerator;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.StringWriter;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.ServiceLoader;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeNotNull;
+
+public class GeneratedCodecTest {
+    private static final String JSON = "{\"addresses\":[{\"city\":\"Paris\"}],\"age\":42,\"mail\":\"jo@johnzon.org\"," +
+            "\"name\":\"Jo\",\"partner\":{\"age\":40,\"name\":\"Al\"}}";
+
+    @Rule
+    public final TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void jsonbAnnotations() throws Exception {
+        final File output = compile(source("Address", "public class Address {\n    public String city;\n}\n"), source("Person",
+                "@org.apache.johnzon.mapper.JohnzonGenerateCodec\n" +
+                "public class Person {\n" +
+                "    public String name;\n" +
+                "    @javax.json.bind.annotation.JsonbProperty(\"mail\")\n" +
+                "    public String email;\n" +
+                "    @javax.json.bind.annotation.JsonbTransient\n" +
+                "    public String secret = \"hidden\";\n" +
+                "    private int age;\n" +
+                "    private java.util.List<Address> addresses;\n" +
+                "    private Person partner;\n" +
+                "    public int getAge() { return age; }\n" +
+                "    public void setAge(final int age) { this.age = age; }\n" +
+                "    public java.util.List<Address> getAddresses() { return addresses; }\n" +
+                "    public void setAddresses(final java.util.List<Address> addresses) { this.addresses = addresses; }\n" +
+                "    public Person getPartner() { return partner; }\n" +
+                "    public void setPartner(final Person partner) { this.partner = partner; }\n" +
+                "}\n"));
+        assumeNotNull(output);
+
+        final Thread thread = Thread.currentThread();
+        final ClassLoader oldLoader = thread.getContextClassLoader();
+        try (final URLClassLoader loader = new URLClassLoader(new URL[]{output.toURI().toURL()}, GeneratedCodecTest.class.getClassLoader())) {
+            thread.setContextClassLoader(loader);
+            final Class<?> person = loader.loadClass("test.codec.Person");
+            final GeneratedCodec<?> codec = ServiceLoader.load(GeneratedCodec.class, loader).iterator().next();
+            assertEquals(person, codec.type());
+            assertEquals(GeneratedCodec.Annotations.JSONB, codec.boundAnnotations());
+
+            try (final Jsonb generated = JsonbBuilder.create();
+                 final Jsonb reflection = JsonbBuilder.create(new JsonbConfig()
+                         .withPropertyOrderStrategy(PropertyOrderStrategy.LEXICOGRAPHICAL))) {
+                final Object fromCodec = generated.fromJson(JSON, person);
+                final Object fromReflection = reflection.fromJson(JSON, person);
+                assertEquals(JSON, generated.toJson(fromCodec));
+                assertEquals(JSON, generated.toJson(fromReflection));
+                assertEquals(JSON, reflection.toJson(fromCodec));
+                assertEquals(JSON, reflection.toJson(fromReflection));
+            }
+        } finally {
+            thread.setContextClassLoader(oldLoader);
+        }
+    }
+
+    @Test
+    public void mixedAnnotations() throws Exception {
+        final File output = compile(source("Mixed",
+                "@org.apache.johnzon.mapper.JohnzonGenerateCodec\n" +
+                "public class Mixed {\n" +
+                "    @org.apache.johnzon.mapper.JohnzonProperty(\"first\")\n" +
+                "    public String a;\n" +
+                "    @javax.json.bind.annotation.JsonbProperty(\"second\")\n" +
+                "    public String b;\n" +
+                "}\n"));
+        assumeNotNull(output);
+        assertFalse(new File(output, "test/codec/JohnzonCodecMixed.java").exists());
+    }
+
+    @Test
+    public void codecsNeedTheDefaultStrategies() throws Exception {
+        final File services = new File(temp.newFolder("services"), "META-INF/services/" + GeneratedCodec.class.getName());
+        assertTrue(services.getParentFile().mkdirs());
+        Files.write(services.toPath(), asList(JsonbCodec.class.getName(), JohnzonCodec.class.getName()), UTF_8);
+
+        final Thread thread = Thread.currentThread();
+        final ClassLoader oldLoader = thread.getContextClassLoader();
+        try (final URLClassLoader loader = new URLClassLoader(
+                new URL[]{services.getParentFile().getParentFile().getParentFile().toURI().toURL()}, GeneratedCodecTest.class.getClassLoader())) {
+            thread.setContextClassLoader(loader);
+            assertEquals("{\"codec\":true}", toJson(new JsonbConfig(), new JsonbModel()));
+            assertEquals("{\"codec\":true}", toJson(new JsonbConfig().withPropertyNamingStrategy(PropertyNamingStrategy.IDENTITY), new JsonbModel()));
+            assertEquals("{\"value\":\"reflection\"}", toJson(new JsonbConfig()
+                    .withPropertyNamingStrategy(PropertyNamingStrategy.LOWER_CASE_WITH_UNDERSCORES), new JsonbModel()));
+            assertEquals("{\"value\":\"reflection\"}", toJson(new JsonbConfig()
+                    .withPropertyOrderStrategy(PropertyOrderStrategy.LEXICOGRAPHICAL), new JsonbModel()));
+            assertEquals("{\"value\":\"reflection\"}", toJson(new JsonbConfig().withNullValues(true), new JsonbModel()));
+            assertEquals("{\"value\":\"reflection\"}", toJson(new JsonbConfig(), new JohnzonModel())); // mapper rules
+        } finally {
+            thread.setContextClassLoader(oldLoader);
+        }
+    }
+
+    private static String toJson(final JsonbConfig config, final Object value) throws Exception {
+        try (final Jsonb jsonb = JsonbBuilder.create(config)) {
+            return jsonb.toJson(value);
+        }
+    }
+
+    private File compile(final JavaFileObject... sources) throws Exception {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            return null;
+        }
+        final File output = temp.newFolder("classes");
+        try (final StandardJavaFileManager files = compiler.getStandardFileManager(null, null, null)) {
+            assertTrue(compiler.getTask(new StringWriter(), files, null,
+                    asList("-classpath", System.getProperty("java.class.path"), "-d", output.getAbsolutePath(), "-s", output.getAbsolutePath(),
+                            "-processor", GeneratedCodecProcessor.class.getName()),
+                    null, asList(sources)).call());
+        }
+        return output;
+    }
+
+    private static JavaFileObject source(final String name, final String content) {
+        return new SimpleJavaFileObject(URI.create("string:///test/codec/" + name + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+                return "package test.codec;\n\n" + content;
+            }
+        };
+    }
+
+    public static class JsonbModel {
+        public String value = "reflection";
+    }
+
+    public static class JohnzonModel {
+        public String value = "reflection";
+    }
+
+    public abstract static class MarkerCodec<T> implements GeneratedCodec<T> {
+        @Override
+        public void writeProperties(final T instance, final JsonGenerator generator, final MappingGenerator mappingGenerator) {
+            generator.write("codec", true);
+        }
+
+        @Override
+        public T fromJson(final JsonValue jsonValue, final Type targetType, final MappingParser parser) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    public static class JsonbCodec extends MarkerCodec<JsonbModel> {
+        @Override
+        public Class<JsonbModel> type() {
+            return JsonbModel.class;
+        }
+
+        @Override
+        public Annotations boundAnnotations() {
+            return Annotations.JSONB;
+        }
+    }
+
+    public static class JohnzonCodec extends MarkerCodec<JohnzonModel> {
+        @Override
+        public Class<JohnzonModel> type() {
+            return JohnzonModel.class;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.jsonb.converter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.text.ParseException;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class CompiledNumberFormatTest {
+    @Test
+    public void sameOutputAsDecimalFormat() throws ParseException {
+        final Random random = new Random(1234);
+        for (final Locale locale : new Locale[]{Locale.US, Locale.FRANCE, Locale.GERMANY}) {
+            for (final String pattern : new String[]{"#,##0.00", "0.###", "#.##", "#,##0", "00000.0000", "#,####.0"}) {
+                final DecimalFormat format = new DecimalFormat(pattern, DecimalFormatSymbols.getInstance(locale));
+                final CompiledNumberFormat compiled = CompiledNumberFormat.compile(format);
+                assertNotNull(pattern, compiled);
+                for (int i = 0; i < 2000; i++) {
+                    final Number number;
+                    switch (random.nextInt(5)) {
+                        case 0:
+                            number = random.nextLong();
+                            break;
+                        case 1:
+                            number = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(20) - 6);
+                            break;
+                        case 2:
+                            number = (random.nextInt(2000) - 1000) / 8.; // ties
+                            break;
+                        case 3:
+                            number = new BigDecimal(BigInteger.valueOf(random.nextLong()), random.nextInt(10));
+                            break;
+                        default:
+                            number = new BigInteger(80, random).negate();
+                    }
+                    final String expected = format.format(number);
+                    assertEquals(pattern + " " + number, expected, compiled.format(number));
+                    assertEquals(pattern + " " + expected, format.parse(expected), compiled.parse(expected));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void parseTypes() {
+        final CompiledNumberFormat compiled = CompiledNumberFormat.compile(new DecimalFormat("#,##0.##", DecimalFormatSymbols.getInstance(Locale.US)));
+        assertEquals(1234L, compiled.parse("1,234.00"));
+        assertEquals(1234.5, compiled.parse("1,234.5"));
+        assertEquals(Long.MIN_VALUE, compiled.parse("-9223372036854775808"));
+        assertEquals(9223372036854775808., compiled.parse("9223372036854775808"));
+        assertEquals(-0., compiled.parse("-0"));
+        assertNull(compiled.parse("12abc")); // let DecimalFormat handle the lenient cases
+        assertNull(compiled.parse(",12"));
+    }
+
+    @Test
+    public void unsupportedPatterns() {
+        assertNull(CompiledNumberFormat.compile(new DecimalFormat("#,##0.00%")));
+        assertNull(CompiledNumberFormat.compile(new DecimalFormat("0.###E0")));
+        assertNull(CompiledNumberFormat.compile(new DecimalFormat("$#,##0.00")));
+        assertNotNull(CompiledNumberFormat.compile(NumberFormat.getInstance(Locale.US)));
+    }
+}
@@ -18,20 +18,19 @@
  */
 package org.apache.johnzon.jsonp.strict;
 
+import org.apache.johnzon.core.DefaultJsonPointerFactory;
 import org.apache.johnzon.core.JsonPointerImpl;
-import org.apache.johnzon.core.spi.JsonPointerFactory;
 
-import javax.json.JsonPointer;
 import javax.json.spi.JsonProvider;
 
 /**
  * This aims at replacing the {@link org.apache.johnzon.core.DefaultJsonPointerFactory} in order to force Johnzon
  * to comply with the specification and pass the TCK.
  */
-public class StrictJsonPointerFactory implements JsonPointerFactory {
+public class StrictJsonPointerFactory extends DefaultJsonPointerFactory {
 
     @Override
-    public JsonPointer createPointer(final JsonProvider provider, final String path) {
+    protected JsonPointerImpl newPointer(final JsonProvider provider, final String path) {
         return new StrictJsonPointerImpl(provider, path);
     }
 
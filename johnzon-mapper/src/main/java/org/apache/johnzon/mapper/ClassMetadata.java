@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.mapper;
+
+/**
+ * What {@link MapperConfig} resolved for a class, stored per config
+ * to have a single map lookup for the common case of a {@link Class} key.
+ * A {@code null} field means not resolved yet and {@link #NONE} that nothing matched,
+ * races only lead to resolve the same (stable) value twice.
+ */
+final class ClassMetadata {
+    static final Object NONE = new Object();
+
+    volatile Object generatorAdapter;
+    volatile Object parserAdapter;
+    volatile Object objectConverterWriter;
+    volatile Object objectConverterReader;
+    volatile Object valueOf;
+
+    static <T> T unwrap(final Object value) {
+        return value == NONE ? null : (T) value;
+    }
+
+    static Object wrap(final Object value) {
+        return value == null ? NONE : value;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.mapper;
+
+import javax.json.stream.JsonGenerator;
+
+/**
+ * A codec generated at build time for a {@link JohnzonGenerateCodec} class.
+ * Implementations are registered in {@code META-INF/services/org.apache.johnzon.mapper.GeneratedCodec}
+ * and loaded by {@link MapperBuilder} with a {@link java.util.ServiceLoader}.
+ *
+ * @param <T> the mapped type.
+ */
+public interface GeneratedCodec<T> extends ObjectConverter.Codec<T> {
+    /**
+     * The mapping annotations a codec binds, it defines which mapping rules it implements.
+     */
+    enum Annotations {
+        /**
+         * No mapping annotation, the class is bound the same way by the mapper and JSON-B.
+         */
+        NONE,
+
+        /**
+         * {@code @JohnzonProperty} and {@code @JohnzonIgnore}, the codec follows the mapper rules.
+         */
+        JOHNZON,
+
+        /**
+         * {@code @JsonbProperty} and {@code @JsonbTransient}, the codec follows the JSON-B rules.
+         */
+        JSONB
+    }
+
+    /**
+     * @return the class this codec (de)serializes.
+     */
+    Class<T> type();
+
+    /**
+     * @return the mapping annotations bound by this codec.
+     */
+    default Annotations boundAnnotations() {
+        return Annotations.JOHNZON;
+    }
+
+    /**
+     * Writes the properties of the instance in the current JSON object.
+     *
+     * @param instance the instance to serialize.
+     * @param generator the generator positioned in the object of the instance.
+     * @param mappingGenerator the mapping generator used for nested values.
+     */
+    void writeProperties(T instance, JsonGenerator generator, MappingGenerator mappingGenerator);
+
+    @Override
+    default void writeJson(final T instance, final MappingGenerator mappingGenerator) {
+        writeProperties(instance, mappingGenerator.getJsonGenerator(), mappingGenerator);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.mapper;
+
+import javax.json.JsonValue;
+import javax.json.stream.JsonParser;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over the items of a top level JSON array, only the current item is read (as a {@link JsonValue})
+ * and mapped so the memory does not depend on the array size.
+ * The parser is closed once the array is fully read, if the mapping fails or when {@link #close()} is called.
+ *
+ * @param <T> the item type.
+ */
+public class JsonArrayIterator<T> implements Iterator<T>, AutoCloseable {
+    private final JsonParser parser;
+    private final Function<JsonValue, T> mapper;
+    private boolean started;
+    private boolean closed;
+    private JsonParser.Event current;
+
+    public JsonArrayIterator(final JsonParser parser, final Function<JsonValue, T> mapper) {
+        this.parser = parser;
+        this.mapper = mapper;
+    }
+
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+                .onClose(this::close);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        if (current == null) {
+            try {
+                if (!started) {
+                    started = true;
+                    if (!parser.hasNext() || parser.next() != JsonParser.Event.START_ARRAY) {
+                        throw new MapperException("Expected a JSON array");
+                    }
+                }
+                current = parser.hasNext() ? parser.next() : JsonParser.Event.END_ARRAY;
+            } catch (final RuntimeException re) {
+                close();
+                throw re;
+            }
+            if (current == JsonParser.Event.END_ARRAY) {
+                close();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        current = null;
+        try {
+            return mapper.apply(parser.getValue());
+        } catch (final RuntimeException re) {
+            close();
+            throw re;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            parser.close();
+        }
+    }
+}
@@ -36,6 +36,8 @@ public class JsonObjectGenerator implements JsonGenerator {
 
     private JsonObjectBuilder objectBuilder;
     private JsonArrayBuilder arrayBuilder;
+    private String key; // pending writeKey()
+    private JsonValue scalar; // root value when it is not a structure
 
     public JsonObjectGenerator(final JsonBuilderFactory factory) {
         this.factory = factory;
@@ -43,6 +45,9 @@ public class JsonObjectGenerator implements JsonGenerator {
 
     @Override
     public JsonGenerator writeStartObject() {
+        if (key != null) {
+            return writeStartObject(takeKey());
+        }
         objectBuilder = factory.createObjectBuilder();
         builders.add(objectBuilder);
         arrayBuilder = null;
@@ -59,6 +64,9 @@ public class JsonObjectGenerator implements JsonGenerator {
 
     @Override
     public JsonGenerator writeStartArray() {
+        if (key != null) {
+            return writeStartArray(takeKey());
+        }
         arrayBuilder = factory.createArrayBuilder();
         builders.add(arrayBuilder);
         objectBuilder = null;
@@ -75,7 +83,8 @@ public class JsonObjectGenerator implements JsonGenerator {
 
     @Override
     public JsonGenerator writeKey(final String name) {
-        throw new UnsupportedOperationException();
+        key = name;
+        return this;
     }
 
     @Override
@@ -134,54 +143,108 @@ public class JsonObjectGenerator implements JsonGenerator {
 
     @Override
     public JsonGenerator write(final JsonValue value) {
+        if (key != null) {
+            return write(takeKey(), value);
+        }
+        if (arrayBuilder == null) {
+            return writeScalar(value);
+        }
         arrayBuilder.add(value);
         return this;
     }
 
     @Override
     public JsonGenerator write(final String value) {
+        if (key != null) {
+            return write(takeKey(), value);
+        }
+        if (arrayBuilder == null) {
+            return writeScalar(factory.createArrayBuilder().add(value).build().get(0));
+        }
         arrayBuilder.add(value);
         return this;
     }
 
     @Override
     public JsonGenerator write(final BigDecimal value) {
+        if (key != null) {
+            return write(takeKey(), value);
+        }
+        if (arrayBuilder == null) {
+            return writeScalar(factory.createArrayBuilder().add(value).build().get(0));
+        }
         arrayBuilder.add(value);
         return this;
     }
 
     @Override
     public JsonGenerator write(final BigInteger value) {
+        if (key != null) {
+            return write(takeKey(), value);
+        }
+        if (arrayBuilder == null) {
+            return writeScalar(factory.createArrayBuilder().add(value).build().get(0));
+        }
         arrayBuilder.add(value);
         return this;
     }
 
     @Override
     public JsonGenerator write(final int value) {
+        if (key != null) {
+            return write(takeKey(), value);
+        }
+        if (arrayBuilder == null) {
+            return writeScalar(factory.createArrayBuilder().add(value).build().get(0));
+        }
         arrayBuilder.add(value);
         return this;
     }
 
     @Override
     public JsonGenerator write(final long value) {
+        if (key != null) {
+            return write(takeKey(), value);
+        }
+        if (arrayBuilder == null) {
+            return writeScalar(factory.createArrayBuilder().add(value).build().get(0));
+        }
         arrayBuilder.add(value);
         return this;
     }
 
     @Override
     public JsonGenerator write(final double value) {
+        if (key != null) {
+            return write(takeKey(), value);
+        }
+        if (arrayBuilder == null) {
+            return writeScalar(factory.createArrayBuilder().add(value).build().get(0));
+        }
         arrayBuilder.add(value);
         return this;
     }
 
     @Override
     public JsonGenerator write(final boolean value) {
+        if (key != null) {
+            return write(takeKey(), value);
+        }
+        if (arrayBuilder == null) {
+            return writeScalar(factory.createArrayBuilder().add(value).build().get(0));
+        }
         arrayBuilder.add(value);
         return this;
     }
 
     @Override
     public JsonGenerator writeNull() {
+        if (key != null) {
+            return writeNull(takeKey());
+        }
+        if (arrayBuilder == null) {
+            return writeScalar(JsonValue.NULL);
+        }
         arrayBuilder.addNull();
         return this;
     }
@@ -269,6 +332,12 @@ public class JsonObjectGenerator implements JsonGenerator {
     }
 
     public JsonValue getResult() {
+        if (builders.isEmpty()) {
+            if (scalar == null) {
+                throw new IllegalArgumentException("Nothing prepared or wrongly prepared");
+            }
+            return scalar;
+        }
         final Object last = builders.getLast();
         if (JsonArrayBuilder.class.isInstance(last)) {
             return JsonArrayBuilder.class.cast(last).build();
@@ -279,6 +348,20 @@ public class JsonObjectGenerator implements JsonGenerator {
         throw new IllegalArgumentException("Nothing prepared or wrongly prepared");
     }
 
+    private String takeKey() {
+        final String name = key;
+        key = null;
+        return name;
+    }
+
+    private JsonGenerator writeScalar(final JsonValue value) {
+        if (!builders.isEmpty()) { // a value in an object needs a name
+            throw new IllegalStateException("No key for " + value);
+        }
+        scalar = value;
+        return this;
+    }
+
     private static class NamedBuilder<T> {
         private final T builder;
         private final String name;
@@ -34,6 +34,7 @@ import javax.json.spi.JsonProvider;
 import javax.json.stream.JsonGenerator;
 import javax.json.stream.JsonGeneratorFactory;
 import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParserFactory;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
@@ -52,7 +53,10 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
+import static java.util.Objects.requireNonNull;
 import static org.apache.johnzon.mapper.internal.Streams.noClose;
 
 public class Mapper implements Closeable {
@@ -60,16 +64,20 @@ public class Mapper implements Closeable {
     protected final MapperConfig config;
     protected final Mappings mappings;
     protected final JsonReaderFactory readerFactory;
+    protected final JsonParserFactory parserFactory;
     protected final JsonGeneratorFactory generatorFactory;
     protected final JsonBuilderFactory builderFactory;
     protected final JsonProvider provider;
     protected final Collection<Closeable> closeables;
     protected final Charset charset;
+    private final StructureBuilder structureBuilder;
 
-    Mapper(final JsonReaderFactory readerFactory, final JsonGeneratorFactory generatorFactory,
+    Mapper(final JsonReaderFactory readerFactory, final JsonParserFactory parserFactory,
+           final JsonGeneratorFactory generatorFactory,
            final JsonBuilderFactory builderFactory, final JsonProvider provider,
            final MapperConfig config, final Collection<Closeable> closeables) {
         this.readerFactory = readerFactory;
+        this.parserFactory = parserFactory;
         this.generatorFactory = generatorFactory;
         this.builderFactory = builderFactory;
         this.provider = provider;
@@ -77,29 +85,60 @@ public class Mapper implements Closeable {
         this.mappings = new Mappings(config);
         this.closeables = closeables;
         this.charset = config.getEncoding();
+        this.structureBuilder = new StructureBuilder(config, mappings, provider, builderFactory);
     }
 
     public <T> void writeArray(final Object object, final OutputStream stream) {
+        if (isUnboxedArray(object)) {
+            writeArray(object, new OutputStreamWriter(stream, charset == null ? StandardCharsets.UTF_8 : charset));
+        } else {
+            writeObject(asList(object), stream);
+        }
+    }
+
+    /**
+     * Writes an array, {@code int[]}, {@code long[]}, {@code double[]}, {@code float[]}, {@code short[]}
+     * and {@code boolean[]} are written without boxing their items.
+     *
+     * @param object the array (or collection) to write.
+     * @param stream the output.
+     */
+    public void writeArray(final Object object, final Writer stream) {
+        if (isUnboxedArray(object)) {
+            try (final JsonGenerator generator = generatorFactory.createGenerator(stream(stream))) {
+                new MappingGeneratorImpl(config, generator, mappings, false).writePrimitiveArray(object);
+            }
+        } else if (Collection.class.isInstance(object)) {
+            writeArray(Collection.class.cast(object), stream);
+        } else {
+            writeObject(asList(object), stream);
+        }
+    }
+
+    private static boolean isUnboxedArray(final Object object) {
+        // empty arrays keep the collection flavor which handles the skipEmptyArray configuration
+        return object != null && PrimitiveArrayReader.isSupported(object.getClass()) && ArrayUtil.getArrayLength(object) > 0;
+    }
+
+    private static List<?> asList(final Object object) {
         if (object instanceof short[]) {
-            writeObject(ArrayUtil.asList((short[]) object), stream);
+            return ArrayUtil.asList((short[]) object);
         } else if (object instanceof int[]) {
-            writeObject(ArrayUtil.asList((int[]) object), stream);
+            return ArrayUtil.asList((int[]) object);
         } else if (object instanceof long[]) {
-            writeObject(ArrayUtil.asList((long[]) object), stream);
+            return ArrayUtil.asList((long[]) object);
         } else if (object instanceof byte[]) {
-            writeObject(ArrayUtil.asList((byte[]) object), stream);
+            return ArrayUtil.asList((byte[]) object);
         } else if (object instanceof char[]) {
-            writeObject(ArrayUtil.asList((char[]) object), stream);
+            return ArrayUtil.asList((char[]) object);
         } else if (object instanceof float[]) {
-            writeObject(ArrayUtil.asList((float[]) object), stream);
+            return ArrayUtil.asList((float[]) object);
         } else if (object instanceof double[]) {
-            writeObject(ArrayUtil.asList((double[]) object), stream);
-        } else {
-            writeObject(Arrays.asList((T[]) object), stream);
+            return ArrayUtil.asList((double[]) object);
         }
+        return Arrays.asList((Object[]) object);
     }
 
-
     public <T> void writeArray(final T[] object, final OutputStream stream) {
         writeObject(Arrays.asList(object), stream);
     }
@@ -161,9 +200,11 @@ public class Mapper implements Closeable {
         if (BigInteger.class.isInstance(object)) {
             return provider.createValue(BigInteger.class.cast(object));
         }
+        if (!isDeduplicateObjects(object.getClass())) {
+            return structureBuilder.build(object);
+        }
         final JsonObjectGenerator objectGenerator = new JsonObjectGenerator(builderFactory);
-        writeObject(object, objectGenerator, null,
-                isDeduplicateObjects(object.getClass()) ? new JsonPointerTracker(null, "/") : null);
+        writeObject(object, objectGenerator, null, new JsonPointerTracker(null, "/"));
         return objectGenerator.getResult();
     }
 
@@ -234,6 +275,12 @@ public class Mapper implements Closeable {
         return writer.toString();
     }
 
+    public String writeArrayAsString(final Object instance) {
+        final StringWriter writer = new StringWriter(2048);
+        writeArray(instance, writer);
+        return writer.toString();
+    }
+
     public String writeObjectAsString(final Object instance) {
         final StringWriter writer = new StringWriter(2048);
         writeObject(instance, writer);
@@ -283,24 +330,87 @@ public class Mapper implements Closeable {
     }
 
     public <T> T readObject(final Reader stream, final Type clazz) {
+        if (isStreamable(clazz)) {
+            try (final JsonParser parser = parserFactory.createParser(stream(stream))) {
+                return (T) readStreaming(parser, clazz, true);
+            }
+        }
         try (final JsonReader reader = readerFactory.createReader(stream(stream))) {
             return mapObject(clazz, reader);
         }
     }
 
     public <T> T readObject(final JsonParser stream, final Type clazz) {
+        if (isStreamable(clazz)) {
+            try (final JsonParser parser = stream) {
+                return (T) readStreaming(parser, clazz, false);
+            }
+        }
         try (final JsonReader reader = JohnzonCores.map(stream, readerFactory)) {
             return mapObject(clazz, reader);
         }
     }
 
     public <T> T readObject(final InputStream stream, final Type clazz) {
+        if (isStreamable(clazz)) {
+            try (final JsonParser parser = charset == null ?
+                    parserFactory.createParser(stream(stream)) : parserFactory.createParser(stream(stream), charset)) {
+                return (T) readStreaming(parser, clazz, true);
+            }
+        }
         try (final JsonReader reader = charset == null ? readerFactory.createReader(stream(stream)) : readerFactory.createReader(
                 stream(stream), charset)) {
             return mapObject(clazz, reader);
         }
     }
 
+    /**
+     * Reads an object into an existing instance instead of creating a new one, nested objects and
+     * collections already set on it are refilled too. Useful to reuse (pool) instances in hot loops.
+     * Attributes missing from the JSON keep their current value.
+     * The instance is bound from the parser events, without reading the object model first,
+     * unless unknown properties must fail or objects are deduplicated.
+     *
+     * @param stream the JSON to read.
+     * @param target the instance to fill.
+     * @param <T> the instance type.
+     * @return the target instance.
+     */
+    public <T> T readInto(final Reader stream, final T target) {
+        if (isStreamableInto(target)) {
+            try (final JsonParser parser = parserFactory.createParser(stream(stream))) {
+                return readIntoStreaming(parser, target, true);
+            }
+        }
+        try (final JsonReader reader = readerFactory.createReader(stream(stream))) {
+            return mapInto(target, reader);
+        }
+    }
+
+    public <T> T readInto(final InputStream stream, final T target) {
+        if (isStreamableInto(target)) {
+            try (final JsonParser parser = charset == null ?
+                    parserFactory.createParser(stream(stream)) : parserFactory.createParser(stream(stream), charset)) {
+                return readIntoStreaming(parser, target, true);
+            }
+        }
+        try (final JsonReader reader = charset == null ? readerFactory.createReader(stream(stream)) : readerFactory.createReader(
+                stream(stream), charset)) {
+            return mapInto(target, reader);
+        }
+    }
+
+    public <T> T readInto(final JsonParser stream, final T target) {
+        if (isStreamableInto(target)) {
+            try (final JsonParser parser = stream) {
+                return readIntoStreaming(parser, target, false);
+            }
+        }
+        try (final JsonReader reader = JohnzonCores.map(stream, readerFactory)) {
+            return mapInto(target, reader);
+        }
+    }
+
     public <T> Collection<T> readCollection(final InputStream stream, final ParameterizedType genericType) {
         try (final JsonReader reader = charset == null ? readerFactory.createReader(stream(stream)): readerFactory.createReader(stream(stream), charset)) {
             return mapObject(genericType, reader);
@@ -334,23 +444,75 @@ public class Mapper implements Closeable {
     }
 
     public <T> T readTypedArray(final InputStream stream, final Class<?> elementType, final Class<T> arrayType) {
+        if (PrimitiveArrayReader.isSupported(arrayType)) {
+            return readObject(stream, arrayType);
+        }
         try (final JsonReader reader = charset == null ? readerFactory.createReader(stream(stream)): readerFactory.createReader(stream(stream), charset)) {
             return arrayType.cast(mapArray(elementType, reader));
         }
     }
 
     public <T> T readTypedArray(final Reader stream, final Class<?> elementType, final Class<T> arrayType) {
+        if (PrimitiveArrayReader.isSupported(arrayType)) {
+            return readObject(stream, arrayType);
+        }
         try (final JsonReader reader = readerFactory.createReader(stream(stream))) {
             return arrayType.cast(mapArray(elementType, reader));
         }
     }
 
     public <T> T readTypedArray(final JsonParser parser, final Class<?> elementType, final Class<T> arrayType) {
+        if (PrimitiveArrayReader.isSupported(arrayType)) {
+            return readObject(parser, arrayType);
+        }
         try (final JsonReader reader = JohnzonCores.map(parser, readerFactory)) {
             return arrayType.cast(mapArray(elementType, reader));
         }
     }
 
+    /**
+     * Lazily maps the items of a JSON array, only the current item is kept in memory.
+     * The stream must be closed (it closes the underlying parser) if it is not fully consumed.
+     *
+     * @param stream the JSON array input.
+     * @param elementType the item type.
+     * @param <T> the item type.
+     * @return a sequential stream of the mapped items.
+     */
+    public <T> Stream<T> readStream(final InputStream stream, final Type elementType) {
+        return this.<T>readIterator(stream, elementType).stream();
+    }
+
+    public <T> Stream<T> readStream(final Reader stream, final Type elementType) {
+        return this.<T>readIterator(stream, elementType).stream();
+    }
+
+    public <T> Stream<T> readStream(final JsonParser parser, final Type elementType) {
+        return this.<T>readIterator(parser, elementType).stream();
+    }
+
+    /**
+     * Iterator flavor of {@link #readStream(InputStream, Type)}, the parser is closed once the last item is read
+     * or when the iterator is closed.
+     *
+     * @param stream the JSON array input.
+     * @param elementType the item type.
+     * @param <T> the item type.
+     * @return an iterator over the mapped items.
+     */
+    public <T> JsonArrayIterator<T> readIterator(final InputStream stream, final Type elementType) {
+        return readIterator(charset == null ?
+                parserFactory.createParser(stream(stream)) : parserFactory.createParser(stream(stream), charset), elementType);
+    }
+
+    public <T> JsonArrayIterator<T> readIterator(final Reader stream, final Type elementType) {
+        return readIterator(parserFactory.createParser(stream(stream)), elementType);
+    }
+
+    public <T> JsonArrayIterator<T> readIterator(final JsonParser parser, final Type elementType) {
+        return new JsonArrayIterator<>(parser, value -> readObject(value, elementType));
+    }
+
     public JsonArray readJsonArray(final Reader stream) {
         try (final JsonReader reader = readerFactory.createReader(stream(stream))) {
             return reader.readArray();
@@ -375,6 +537,23 @@ public class Mapper implements Closeable {
         }
     }
 
+    /**
+     * @param clazz the type to read.
+     * @return true if the type is bound directly from the parser events (primitive arrays and plain classes).
+     */
+    private boolean isStreamable(final Type clazz) {
+        return PrimitiveArrayReader.isSupported(clazz)
+                || (!isDedup(clazz) && MappingParserImpl.isStreamable(config, mappings, clazz));
+    }
+
+    private Object readStreaming(final JsonParser parser, final Type clazz, final boolean checkEnd) {
+        if (PrimitiveArrayReader.isSupported(clazz)) {
+            final Class<?> arrayType = Class.class.cast(clazz);
+            return new PrimitiveArrayReader(parser, builderFactory, value -> readObject(value, arrayType), checkEnd).read(arrayType);
+        }
+        return new MappingParserImpl(config, mappings, null, false).readStreamingObject(parser, clazz, builderFactory, checkEnd);
+    }
+
     private Object mapArray(final Class<?> clazz, final JsonReader reader) {
 
         return mapObject(ArrayUtil.getArrayTypeFor(clazz), reader);
@@ -385,6 +564,19 @@ public class Mapper implements Closeable {
         return new MappingParserImpl(config, mappings, reader, isDedup(clazz)).readObject(clazz);
     }
 
+    // unknown properties and object references are checked on the object model
+    private boolean isStreamableInto(final Object target) {
+        return !config.isFailOnUnknown() && !isDedup(requireNonNull(target, "target").getClass());
+    }
+
+    private <T> T readIntoStreaming(final JsonParser parser, final T target, final boolean checkEnd) {
+        return new MappingParserImpl(config, mappings, null, false).readInto(parser, target, builderFactory, checkEnd);
+    }
+
+    private <T> T mapInto(final T target, final JsonReader reader) {
+        return new MappingParserImpl(config, mappings, reader, isDedup(requireNonNull(target, "target").getClass())).readInto(target);
+    }
+
     private boolean isDedup(final Type clazz) {
         if (clazz instanceof Class &&
                 JsonValue.class != clazz && JsonStructure.class != clazz &&
@@ -426,6 +618,35 @@ public class Mapper implements Closeable {
         }
     }
 
+    /**
+     * Eagerly creates the mappings of the types (and the types they reference) to avoid to pay it on the first calls.
+     *
+     * @param types the types to prepare.
+     * @return this mapper.
+     */
+    public Mapper warmup(final Type... types) {
+        return warmup(false, types);
+    }
+
+    /**
+     * @param parallel should the types be prepared in parallel (on the common fork join pool).
+     * @param types the types to prepare.
+     * @return this mapper.
+     * @see #warmup(Type...)
+     */
+    public Mapper warmup(final boolean parallel, final Type... types) {
+        final Stream<Type> stream = Stream.of(types);
+        (parallel ? stream.parallel() : stream).forEach(mappings::warmup);
+        return this;
+    }
+
+    /**
+     * @return the classes the mapper (de)serialized or prepared (see {@link #warmup(Type...)}) with a class mapping.
+     */
+    public Collection<Class<?>> getMappedClasses() {
+        return mappings.getMappedClasses();
+    }
+
     public JsonBuilderFactory getBuilderFactory() {
         return builderFactory;
     }
@@ -21,6 +21,7 @@ package org.apache.johnzon.mapper;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyMap;
 import static java.util.Locale.ROOT;
+import static java.util.Optional.ofNullable;
 
 // import org.apache.johnzon.core.JsonParserFactoryImpl; // don't depend on core in mapper
 import org.apache.johnzon.mapper.access.AccessMode;
@@ -41,6 +42,7 @@ import org.apache.johnzon.mapper.converter.LongConverter;
 import org.apache.johnzon.mapper.converter.ShortConverter;
 import org.apache.johnzon.mapper.internal.AdapterKey;
 import org.apache.johnzon.mapper.internal.ConverterAdapter;
+import org.apache.johnzon.mapper.internal.StringCache;
 import org.apache.johnzon.mapper.map.LazyConverterMap;
 
 import javax.json.JsonBuilderFactory;
@@ -48,6 +50,7 @@ import javax.json.JsonReaderFactory;
 import javax.json.spi.JsonProvider;
 import javax.json.stream.JsonGenerator;
 import javax.json.stream.JsonGeneratorFactory;
+import javax.json.stream.JsonParserFactory;
 import java.io.Closeable;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -58,6 +61,7 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.ServiceLoader;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -66,6 +70,7 @@ import java.util.function.Predicate;
 // to build the runtime
 public class MapperBuilder {
     private JsonReaderFactory readerFactory;
+    private JsonParserFactory parserFactory;
     private JsonGeneratorFactory generatorFactory;
     private JsonProvider provider;
     private JsonBuilderFactory builderFactory;
@@ -106,6 +111,14 @@ public class MapperBuilder {
     private boolean supportEnumContainerDeserialization = true;
     private Function<Class<?>, MapperConfig.CustomEnumConverter<?>> enumConverterFactory = type -> new EnumConverter(type);
     private boolean skipAccessModeWrapper;
+    private int parallelSerializationThreshold;
+    private boolean useGeneratedCodecs = true;
+    private int converterCacheMaxSize = -1;
+    private boolean compactUntypedObjects;
+    private boolean deduplicateStrings;
+    private int stringDeduplicationCacheSize = 1024;
+    private int stringDeduplicationMaxLength = 32;
+    private boolean streamingObjects;
 
     // @experimental polymorphic api
     private Function<String, Class<?>> typeLoader;
@@ -115,6 +128,8 @@ public class MapperBuilder {
     private String discriminator;
 
     public Mapper build() {
+        final boolean defaultMapping = hasDefaultMapping(); // before the access mode and adapters get initialized
+        final AccessMode configuredAccessMode = accessMode;
         if (readerFactory == null || generatorFactory == null) {
             final JsonProvider provider;
             if (this.provider != null) {
@@ -153,10 +168,16 @@ public class MapperBuilder {
                     config.put("org.apache.johnzon.encoding", encoding.name());
                 }
                 readerFactory = provider.createReaderFactory(config);
+                if (parserFactory == null) {
+                    parserFactory = provider.createParserFactory(config);
+                }
             }
         } else if (this.provider == null) {
             this.provider = JsonProvider.provider();
         }
+        if (parserFactory == null) {
+            parserFactory = provider.createParserFactory(emptyMap());
+        }
         if (builderFactory == null) {
             builderFactory = provider.createBuilderFactory(emptyMap());
         }
@@ -204,6 +225,22 @@ public class MapperBuilder {
             accessMode = new KnownNotOpenedJavaTypesAccessMode(accessMode);
         }
 
+        if (converterCacheMaxSize > 0) { // only the registered converters at that stage, built-in ones are lazy or added after
+            for (final Map.Entry<AdapterKey, Adapter<?, ?>> entry : new ArrayList<>(adapters.entrySet())) {
+                final Converter<?> converter;
+                if (ConverterAdapter.class.isInstance(entry.getValue())) {
+                    converter = ConverterAdapter.class.cast(entry.getValue()).getConverter();
+                } else if (String.class == entry.getKey().getTo()) {
+                    converter = new StringAdapterConverter<>(Adapter.class.cast(entry.getValue()));
+                } else {
+                    continue;
+                }
+                if (!CachedDelegateConverter.class.isInstance(converter)) {
+                    adapters.put(entry.getKey(), new ConverterAdapter(
+                            new CachedDelegateConverter<>(converter, converterCacheMaxSize), entry.getKey().getFrom()));
+                }
+            }
+        }
         if (primitiveConverters) {
             adapters.put(new AdapterKey(Byte.class, String.class), new ConverterAdapter<>(new CachedDelegateConverter<>(new ByteConverter()), Byte.class));
             adapters.put(new AdapterKey(Character.class, String.class), new ConverterAdapter<>(new CharacterConverter(), Character.class));
@@ -224,7 +261,7 @@ public class MapperBuilder {
         }
 
         return new Mapper(
-                readerFactory, generatorFactory, builderFactory, provider,
+                readerFactory, parserFactory, generatorFactory, builderFactory, provider,
                 new MapperConfig(
                         adapters, objectConverterWriters, objectConverterReaders,
                         version, close,
@@ -236,10 +273,39 @@ public class MapperBuilder {
                         supportEnumContainerDeserialization,
                         typeLoader, discriminatorMapper, discriminator,
                         deserializationPredicate, serializationPredicate,
-                        enumConverterFactory),
+                        enumConverterFactory, parallelSerializationThreshold, loadGeneratedCodecs(defaultMapping, configuredAccessMode),
+                        compactUntypedObjects, deduplicateStrings,
+                        stringDeduplicationCacheSize > 0 ? new StringCache(stringDeduplicationCacheSize, stringDeduplicationMaxLength) : null,
+                        streamingObjects),
                 closeables);
     }
 
+    // an explicit access mode selects the codecs it binds the same way, the default one takes the non JSON-B ones
+    private Map<Class<?>, GeneratedCodec<?>> loadGeneratedCodecs(final boolean defaultMapping, final AccessMode configuredAccessMode) {
+        if (!useGeneratedCodecs || !defaultMapping) {
+            return emptyMap();
+        }
+        final ClassLoader loader = ofNullable(Thread.currentThread().getContextClassLoader())
+                .orElseGet(MapperBuilder.class::getClassLoader);
+        final Map<Class<?>, GeneratedCodec<?>> codecs = new HashMap<>();
+        for (final GeneratedCodec<?> codec : ServiceLoader.load(GeneratedCodec.class, loader)) {
+            if (configuredAccessMode != null ?
+                    configuredAccessMode.acceptsGeneratedCodec(codec) : codec.boundAnnotations() != GeneratedCodec.Annotations.JSONB) {
+                codecs.putIfAbsent(codec.type(), codec);
+            }
+        }
+        return codecs;
+    }
+
+    // generated codecs bind the default access mode names and order, skip null values and don't track the object references
+    private boolean hasDefaultMapping() {
+        return skipNull && !skipEmptyArray && !failOnUnknownProperties && !Boolean.TRUE.equals(deduplicateObjects)
+                && !readAttributeBeforeWrite && version < 0 && attributeOrder == null && serializeValueFilter == null
+                && (accessMode != null || accessModeName == null || "both".equalsIgnoreCase(accessModeName))
+                && fieldFilteringStrategy == null && ignoredForFields.isEmpty() && !useGetterForCollections
+                && !primitiveConverters && adapters.entrySet().isEmpty() && objectConverterReaders.isEmpty() && objectConverterWriters.isEmpty();
+    }
+
     public void setEnumConverterFactory(final Function<Class<?>, MapperConfig.CustomEnumConverter<?>> enumConverterFactory) {
         this.enumConverterFactory = enumConverterFactory;
     }
@@ -358,6 +424,11 @@ public class MapperBuilder {
         return this;
     }
 
+    public MapperBuilder setParserFactory(final JsonParserFactory parserFactory) {
+        this.parserFactory = parserFactory;
+        return this;
+    }
+
     public MapperBuilder setGeneratorFactory(final JsonGeneratorFactory generatorFactory) {
         this.generatorFactory = generatorFactory;
         return this;
@@ -513,6 +584,49 @@ public class MapperBuilder {
         return this;
     }
 
+    /**
+     * Enables to serialize the items of big lists in parallel (on the common fork join pool), the output stays ordered.
+     * It is only used when objects are not deduplicated and requires thread safe converters/adapters.
+     *
+     * @param parallelSerializationThreshold minimum size of a ({@link java.util.RandomAccess}) list to be serialized in parallel,
+     *                                       0 (the default) disables the parallel serialization.
+     * @return this builder.
+     */
+    public MapperBuilder setParallelSerializationThreshold(final int parallelSerializationThreshold) {
+        this.parallelSerializationThreshold = parallelSerializationThreshold;
+        return this;
+    }
+
+    /**
+     * Enables to use the codecs generated at build time for {@link JohnzonGenerateCodec} classes
+     * instead of introspecting these classes at runtime.
+     * They are only used with the default mapping settings: they are ignored when an access mode name, attribute order,
+     * version, value filter, adapter or object converter is configured, when null values are serialized, empty arrays skipped,
+     * attributes read before being written, unknown properties fail the deserialization or objects are deduplicated.
+     * An explicit access mode only uses the codecs it accepts (see {@link AccessMode#acceptsGeneratedCodec(GeneratedCodec)}),
+     * the default one the codecs which don't bind JSON-B annotations.
+     *
+     * @param useGeneratedCodecs should the generated codecs be used, true by default.
+     * @return this builder.
+     */
+    public MapperBuilder setUseGeneratedCodecs(final boolean useGeneratedCodecs) {
+        this.useGeneratedCodecs = useGeneratedCodecs;
+        return this;
+    }
+
+    /**
+     * Caches the conversions of the registered converters and adapters to {@link String}
+     * in a bounded {@link CachedDelegateConverter}, only use it when the converted values are immutable
+     * since a cached instance is shared by all the conversions of the same string.
+     *
+     * @param converterCacheMaxSize maximum number of entries per converter and direction, a negative value (default) disables the caching.
+     * @return this builder.
+     */
+    public MapperBuilder setConverterCacheMaxSize(final int converterCacheMaxSize) {
+        this.converterCacheMaxSize = converterCacheMaxSize;
+        return this;
+    }
+
     public MapperBuilder setUseJsRange(boolean value) {
         this.useJsRange = value;
         return this;
@@ -523,6 +637,67 @@ public class MapperBuilder {
         return this;
     }
 
+    /**
+     * Reads untyped objects (Object or Map&lt;String, Object&gt; targets) in a compact array based map
+     * ({@link org.apache.johnzon.mapper.map.CompactMap}) instead of a {@link java.util.LinkedHashMap}
+     * and keeps their numbers as {@link org.apache.johnzon.mapper.number.LazyNumber}, converted only when used.
+     * Untyped documents are then read from the parser events.
+     *
+     * @param compactUntypedObjects true to use compact maps and lazy numbers for untyped objects, false by default.
+     * @return this builder.
+     */
+    public MapperBuilder setCompactUntypedObjects(final boolean compactUntypedObjects) {
+        this.compactUntypedObjects = compactUntypedObjects;
+        return this;
+    }
+
+    /**
+     * Shares the instances of the short string values read for all the properties (and untyped objects),
+     * it reduces the retained memory when the same values are repeated (codes, statuses, ...).
+     * Without it, only the properties decorated with {@link JohnzonDeduplicateStrings} are deduplicated.
+     *
+     * @param deduplicateStrings true to deduplicate all the string values, false by default.
+     * @return this builder.
+     */
+    public MapperBuilder setDeduplicateStrings(final boolean deduplicateStrings) {
+        this.deduplicateStrings = deduplicateStrings;
+        return this;
+    }
+
+    /**
+     * Binds the instantiable application classes (setter or creator based, polymorphic ones included)
+     * directly from the parser events instead of reading a {@link javax.json.JsonObject} first.
+     * Duplicated keys keep the last value as with the object model but some errors can be reported differently:
+     * an empty document raises an {@link EmptyDocumentException} and a failure in a nested object is a {@link MapperException}.
+     * Types needing the object model (object converters, any setters, unknown property checks...) are not impacted.
+     *
+     * @param streamingObjects true to bind objects from the parser events, false by default.
+     * @return this builder.
+     */
+    public MapperBuilder setStreamingObjects(final boolean streamingObjects) {
+        this.streamingObjects = streamingObjects;
+        return this;
+    }
+
+    /**
+     * @param stringDeduplicationCacheSize number of slots of the string deduplication cache (rounded to a power of 2),
+     *                                     1024 by default, 0 disables the deduplication even for annotated properties.
+     * @return this builder.
+     */
+    public MapperBuilder setStringDeduplicationCacheSize(final int stringDeduplicationCacheSize) {
+        this.stringDeduplicationCacheSize = stringDeduplicationCacheSize;
+        return this;
+    }
+
+    /**
+     * @param stringDeduplicationMaxLength longer string values are never deduplicated, 32 by default.
+     * @return this builder.
+     */
+    public MapperBuilder setStringDeduplicationMaxLength(final int stringDeduplicationMaxLength) {
+        this.stringDeduplicationMaxLength = stringDeduplicationMaxLength;
+        return this;
+    }
+
     public MapperBuilder setSupportEnumContainerDeserialization(final boolean supportEnumContainerDeserialization) {
         this.supportEnumContainerDeserialization = supportEnumContainerDeserialization;
         return this;
@@ -557,4 +732,23 @@ public class MapperBuilder {
         this.skipAccessModeWrapper = skipAccessModeWrapper;
         return this;
     }
+
+    // lets the adapters to String (see addAdapter) be cached as converters
+    private static final class StringAdapterConverter<T> implements Converter<T> {
+        private final Adapter<T, String> adapter;
+
+        private StringAdapterConverter(final Adapter<T, String> adapter) {
+            this.adapter = adapter;
+        }
+
+        @Override
+        public String toString(final T instance) {
+            return adapter.from(instance);
+        }
+
+        @Override
+        public T fromString(final String text) {
+            return adapter.to(text);
+        }
+    }
 }
@@ -21,9 +21,9 @@ package org.apache.johnzon.mapper;
 import org.apache.johnzon.mapper.access.AccessMode;
 import org.apache.johnzon.mapper.internal.AdapterKey;
 import org.apache.johnzon.mapper.internal.ConverterAdapter;
+import org.apache.johnzon.mapper.internal.StringCache;
 import org.apache.johnzon.mapper.map.LazyConverterMap;
 
-import javax.json.JsonValue;
 import java.lang.reflect.Type;
 import java.nio.charset.Charset;
 import java.util.Collection;
@@ -36,6 +36,7 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
+import static java.util.Collections.emptyMap;
 import static java.util.stream.Collectors.toList;
 
 /**
@@ -44,18 +45,6 @@ import static java.util.stream.Collectors.toList;
  */
 public /* DON'T MAKE IT HIDDEN */ class MapperConfig implements Cloneable {
 
-    private static final ObjectConverter.Codec NO_CONVERTER = new ObjectConverter.Codec() {
-        @Override
-        public void writeJson(Object instance, MappingGenerator jsonbGenerator) {
-            // just a dummy
-        }
-
-        @Override
-        public Object fromJson(JsonValue jsonObject, Type targetType, MappingParser parser) {
-            return null;
-        }
-    };
-
     private final int version;
     private final boolean useJsRange;
     private final boolean close;
@@ -86,14 +75,21 @@ public /* DON'T MAKE IT HIDDEN */ class MapperConfig implements Cloneable {
     private final Predicate<Class<?>> deserializationPredicate;
     private final String discriminator;
 
-    private final Map<Class<?>, ObjectConverter.Writer<?>> objectConverterWriterCache;
-    private final Map<Class<?>, ObjectConverter.Reader<?>> objectConverterReaderCache;
+    // owned by this config (not a ClassValue) to not pin the config and its adapters from the classes
+    private final ConcurrentMap<Class<?>, ClassMetadata> classMetadata = new ConcurrentHashMap<>();
 
     private final Collection<Type> noParserAdapterTypes = new ConcurrentHashMap<Type, Boolean>().keySet(true);
     private final Collection<Type> noGeneratorAdapterTypes = new ConcurrentHashMap<Type, Boolean>().keySet(true);
 
     private final Function<Class<?>, CustomEnumConverter<?>> enumConverterFactory;
 
+    private final int parallelSerializationThreshold;
+    private final Map<Class<?>, GeneratedCodec<?>> generatedCodecs;
+    private final boolean compactUntypedObjects;
+    private final boolean deduplicateStrings;
+    private final StringCache stringCache;
+    private final boolean streamingObjects;
+
     //disable checkstyle for 10+ parameters
     //CHECKSTYLE:OFF
     public MapperConfig(final LazyConverterMap adapters,
@@ -119,6 +115,47 @@ public /* DON'T MAKE IT HIDDEN */ class MapperConfig implements Cloneable {
                         final Predicate<Class<?>> deserializationPredicate,
                         final Predicate<Class<?>> serializationPredicate,
                         final Function<Class<?>, CustomEnumConverter<?>> enumConverterFactory) {
+        //CHECKSTYLE:ON
+        this(adapters, objectConverterWriters, objectConverterReaders,
+                version, close, skipNull, skipEmptyArray,
+                treatByteArrayAsBase64, treatByteArrayAsBase64URL, readAttributeBeforeWrite,
+                accessMode, encoding, attributeOrder, failOnUnknown,
+                serializeValueFilter, useBigDecimalForFloats, deduplicateObjects,
+                interfaceImplementationMapping, useJsRange, useBigDecimalForObjectNumbers,
+                supportEnumMapDeserialization, typeLoader, discriminatorMapper, discriminator,
+                deserializationPredicate, serializationPredicate, enumConverterFactory, 0, emptyMap(), false, false, null, false);
+    }
+
+    //CHECKSTYLE:OFF
+    public MapperConfig(final LazyConverterMap adapters,
+                        final Map<Class<?>, ObjectConverter.Writer<?>> objectConverterWriters,
+                        final Map<Class<?>, ObjectConverter.Reader<?>> objectConverterReaders,
+                        final int version, final boolean close,
+                        final boolean skipNull, final boolean skipEmptyArray,
+                        final boolean treatByteArrayAsBase64, final boolean treatByteArrayAsBase64URL,
+                        final boolean readAttributeBeforeWrite,
+                        final AccessMode accessMode, final Charset encoding,
+                        final Comparator<String> attributeOrder,
+                        final boolean failOnUnknown,
+                        final SerializeValueFilter serializeValueFilter,
+                        final boolean useBigDecimalForFloats,
+                        final Boolean deduplicateObjects,
+                        final Map<Class<?>, Class<?>> interfaceImplementationMapping,
+                        final boolean useJsRange,
+                        final boolean useBigDecimalForObjectNumbers,
+                        final boolean supportEnumMapDeserialization,
+                        final Function<String, Class<?>> typeLoader,
+                        final Function<Class<?>, String> discriminatorMapper,
+                        final String discriminator,
+                        final Predicate<Class<?>> deserializationPredicate,
+                        final Predicate<Class<?>> serializationPredicate,
+                        final Function<Class<?>, CustomEnumConverter<?>> enumConverterFactory,
+                        final int parallelSerializationThreshold,
+                        final Map<Class<?>, GeneratedCodec<?>> generatedCodecs,
+                        final boolean compactUntypedObjects,
+                        final boolean deduplicateStrings,
+                        final StringCache stringCache,
+                        final boolean streamingObjects) {
     //CHECKSTYLE:ON
         this.objectConverterWriters = objectConverterWriters;
         this.objectConverterReaders = objectConverterReaders;
@@ -140,6 +177,12 @@ public /* DON'T MAKE IT HIDDEN */ class MapperConfig implements Cloneable {
         this.deserializationPredicate = deserializationPredicate;
         this.discriminator = discriminator;
         this.enumConverterFactory = enumConverterFactory;
+        this.parallelSerializationThreshold = parallelSerializationThreshold;
+        this.generatedCodecs = generatedCodecs;
+        this.compactUntypedObjects = compactUntypedObjects;
+        this.deduplicateStrings = deduplicateStrings && stringCache != null;
+        this.stringCache = stringCache;
+        this.streamingObjects = streamingObjects;
 
         // handle Adapters
         this.adapters = adapters;
@@ -152,12 +195,40 @@ public /* DON'T MAKE IT HIDDEN */ class MapperConfig implements Cloneable {
         this.serializeValueFilter = serializeValueFilter == null ? (name, value) -> false : serializeValueFilter;
         this.interfaceImplementationMapping = interfaceImplementationMapping;
 
-        this.objectConverterWriterCache = new HashMap<>(objectConverterWriters.size());
-        this.objectConverterReaderCache = new HashMap<>(objectConverterReaders.size());
         this.useBigDecimalForFloats = useBigDecimalForFloats;
         this.deduplicateObjects = deduplicateObjects;
     }
 
+    public GeneratedCodec<?> findGeneratedCodec(final Class<?> clazz) {
+        return generatedCodecs.get(clazz);
+    }
+
+    public boolean isDeduplicateStrings() {
+        return deduplicateStrings;
+    }
+
+    /**
+     * @return the cache to deduplicate string values or null if disabled.
+     */
+    public StringCache getStringCache() {
+        return stringCache;
+    }
+
+    /**
+     * @return true if plain classes are bound from the parser events instead of a {@link javax.json.JsonObject}.
+     */
+    public boolean isStreamingObjects() {
+        return streamingObjects;
+    }
+
+    public boolean isCompactUntypedObjects() {
+        return compactUntypedObjects;
+    }
+
+    public int getParallelSerializationThreshold() {
+        return parallelSerializationThreshold;
+    }
+
     public Function<Class<?>, CustomEnumConverter<?>> getEnumConverterFactory() {
         return enumConverterFactory;
     }
@@ -206,7 +277,25 @@ public /* DON'T MAKE IT HIDDEN */ class MapperConfig implements Cloneable {
         return serializeValueFilter;
     }
 
+    ClassMetadata getClassMetadata(final Class<?> clazz) {
+        final ClassMetadata existing = classMetadata.get(clazz);
+        return existing != null ? existing : classMetadata.computeIfAbsent(clazz, k -> new ClassMetadata());
+    }
+
     public Adapter findAdapter(final Type aClass) {
+        if (Class.class.isInstance(aClass)) {
+            final ClassMetadata metadata = getClassMetadata(Class.class.cast(aClass));
+            Object adapter = metadata.generatorAdapter;
+            if (adapter == null) {
+                adapter = ClassMetadata.wrap(doFindAdapter(aClass));
+                metadata.generatorAdapter = adapter;
+            }
+            return ClassMetadata.unwrap(adapter);
+        }
+        return doFindAdapter(aClass);
+    }
+
+    private Adapter doFindAdapter(final Type aClass) {
         if (getNoGeneratorAdapterTypes().contains(aClass)) { // avoid to create a key for nothing
             return null;
         }
@@ -260,32 +349,34 @@ public /* DON'T MAKE IT HIDDEN */ class MapperConfig implements Cloneable {
      * @throws IllegalArgumentException if {@code clazz} is {@code null}
      */
     public ObjectConverter.Reader findObjectConverterReader(Class clazz) {
-        return findObjectConverter(clazz, objectConverterReaders, objectConverterReaderCache);
+        final ClassMetadata metadata = getMetadata(clazz);
+        Object converter = metadata.objectConverterReader;
+        if (converter == null) {
+            converter = ClassMetadata.wrap(findObjectConverter(clazz, objectConverterReaders));
+            metadata.objectConverterReader = converter;
+        }
+        return ClassMetadata.unwrap(converter);
     }
     public ObjectConverter.Writer findObjectConverterWriter(Class clazz) {
-        return findObjectConverter(clazz, objectConverterWriters, objectConverterWriterCache);
+        final ClassMetadata metadata = getMetadata(clazz);
+        Object converter = metadata.objectConverterWriter;
+        if (converter == null) {
+            converter = ClassMetadata.wrap(findObjectConverter(clazz, objectConverterWriters));
+            metadata.objectConverterWriter = converter;
+        }
+        return ClassMetadata.unwrap(converter);
     }
 
-    private <T> T findObjectConverter(final Class clazz,
-                                                final Map<Class<?>, T> from,
-                                                final Map<Class<?>, T> cache) {
+    private ClassMetadata getMetadata(final Class clazz) {
         if (clazz == null) {
             throw new IllegalArgumentException("clazz must not be null");
         }
+        return getClassMetadata(clazz);
+    }
 
-        // first lets look in our cache
-        T converter = cache.get(clazz);
-        if (converter != null && converter != NO_CONVERTER) {
-            return converter;
-        }
-
-        // if we have found a dummy, we return null
-        if (converter == NO_CONVERTER) {
-            return null;
-        }
-
-        // we get called the first time for this class
-        // lets search...
+    // called the first time for a class, the result is cached in its ClassMetadata
+    private <T> T findObjectConverter(final Class clazz, final Map<Class<?>, T> from) {
+        T converter = null;
 
         Map<Class<?>, T> matchingConverters = new HashMap<Class<?>, T>();
 
@@ -301,16 +392,10 @@ public /* DON'T MAKE IT HIDDEN */ class MapperConfig implements Cloneable {
             }
         }
 
-        if (converter != null) {
-            cache.put(clazz, converter);
+        if (converter != null || matchingConverters.isEmpty()) {
             return converter;
         }
 
-        if (matchingConverters.isEmpty()) {
-            cache.put(clazz, (T) NO_CONVERTER);
-            return null;
-        }
-
         // search the most significant
         Class toProcess = clazz;
         while (toProcess != null && converter == null) {
@@ -339,12 +424,6 @@ public /* DON'T MAKE IT HIDDEN */ class MapperConfig implements Cloneable {
             toProcess = toProcess.getSuperclass();
         }
 
-        if (converter == null) {
-            cache.put(clazz, (T) NO_CONVERTER);
-        } else {
-            cache.put(clazz, converter);
-        }
-
         return converter;
     }
 
@@ -21,7 +21,10 @@ package org.apache.johnzon.mapper;
 import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
 
+import org.apache.johnzon.core.JohnzonJsonGenerator;
 import org.apache.johnzon.mapper.internal.JsonPointerTracker;
+import org.apache.johnzon.mapper.internal.RecordingJsonGenerator;
+import org.apache.johnzon.mapper.number.LazyNumber;
 import org.apache.johnzon.mapper.util.ArrayUtil;
 
 import javax.json.JsonValue;
@@ -29,15 +32,21 @@ import javax.json.stream.JsonGenerator;
 import java.lang.reflect.InvocationTargetException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.ArrayDeque;
 import java.util.Base64;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.RandomAccess;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiConsumer;
 import java.util.stream.BaseStream;
 import java.util.stream.StreamSupport;
 
@@ -47,7 +56,7 @@ public class MappingGeneratorImpl implements MappingGenerator {
     private final Mappings mappings;
 
     private final Boolean isDeduplicateObjects;
-    private Map<Object, String> jsonPointers;
+    private Map<Object, JsonPointerTracker> jsonPointers;
 
 
     MappingGeneratorImpl(MapperConfig config, JsonGenerator jsonGenerator, final Mappings mappings, Boolean isDeduplicateObjects) {
@@ -57,7 +66,7 @@ public class MappingGeneratorImpl implements MappingGenerator {
 
         this.isDeduplicateObjects = isDeduplicateObjects;
 
-        this.jsonPointers = isDeduplicateObjects ?  new HashMap<>() : Collections.emptyMap();
+        this.jsonPointers = isDeduplicateObjects ? new IdentityHashMap<>() : Collections.emptyMap();
     }
 
     @Override
@@ -269,6 +278,8 @@ public class MappingGeneratorImpl implements MappingGenerator {
         } else if (type == char.class || type == Character.class) {
             generator.write(Character.class.cast(value).toString());
             handled = true;
+        } else if (type == LazyNumber.class) {
+            return writePrimitives(LazyNumber.class.cast(value).numberValue());
         }
         return handled;
     }
@@ -317,6 +328,9 @@ public class MappingGeneratorImpl implements MappingGenerator {
         } else if (type == char.class || type == Character.class) {
             generator.write(key, Character.class.cast(value).toString());
             handled = true;
+        } else if (type == LazyNumber.class) {
+            final Number number = LazyNumber.class.cast(value).numberValue();
+            return writePrimitives(key, number.getClass(), number, generator);
         }
         return handled;
     }
@@ -339,7 +353,7 @@ public class MappingGeneratorImpl implements MappingGenerator {
             throws IllegalAccessException, InvocationTargetException {
 
         if (jsonPointer != null) {
-            jsonPointers.put(object, jsonPointer.toString());
+            jsonPointers.put(object, jsonPointer);
         }
 
         final Class<?> objectClass = object.getClass();
@@ -348,6 +362,10 @@ public class MappingGeneratorImpl implements MappingGenerator {
             throw new MapperException("No mapping for " + objectClass.getName());
         }
 
+        if (GeneratedCodec.class.isInstance(classMapping.writer)) { // writes the properties, the caller handles the object
+            GeneratedCodec.class.cast(classMapping.writer).writeProperties(object, generator, this);
+            return true;
+        }
         if (classMapping.writer != null) {
             final DynamicMappingGenerator gen = new DynamicMappingGenerator.SkipEnclosingWriteEnd(this, null, generator);
             classMapping.writer.writeJson(object, gen);
@@ -385,10 +403,10 @@ public class MappingGeneratorImpl implements MappingGenerator {
 
             final Object val = getter.converter == null ? value : getter.converter.from(value);
 
-            String valJsonPointer = jsonPointers.get(val);
+            final JsonPointerTracker valJsonPointer = jsonPointers.get(val);
             if (valJsonPointer != null) {
                 // write the JsonPointer instead
-                generator.write(getterEntry.getKey(), valJsonPointer);
+                generator.write(getterEntry.getKey(), valJsonPointer.toString());
             } else {
                 writeValue(val.getClass(),
                         getter.dynamic,
@@ -419,15 +437,15 @@ public class MappingGeneratorImpl implements MappingGenerator {
     }
 
     //CHECKSTYLE:OFF
-    private void writeValue(final Class<?> type, final boolean dynamic,
-                            final boolean primitive, final boolean array,
-                            final boolean collection, final boolean map,
-                            final Adapter itemConverter,
-                            final String key, final Object value,
-                            final ObjectConverter.Writer objectConverter,
-                            final Collection<String> ignoredProperties,
-                            final JsonPointerTracker jsonPointer,
-                            final JsonGenerator generator)
+    void writeValue(final Class<?> type, final boolean dynamic,
+                    final boolean primitive, final boolean array,
+                    final boolean collection, final boolean map,
+                    final Adapter itemConverter,
+                    final String key, final Object value,
+                    final ObjectConverter.Writer objectConverter,
+                    final Collection<String> ignoredProperties,
+                    final JsonPointerTracker jsonPointer,
+                    final JsonGenerator generator)
             throws InvocationTargetException, IllegalAccessException {
         //CHECKSTYLE:ON
         if (config.getSerializeValueFilter().shouldIgnore(key, value)) {
@@ -515,33 +533,86 @@ public class MappingGeneratorImpl implements MappingGenerator {
             return;
         }
 
-        int i = 0;
         generator.writeStartArray(key);
-        while (iterator.hasNext()) {
-            final Object o = iterator.next();
-            String valJsonPointer = jsonPointers.get(o);
-            if (valJsonPointer != null) {
-                // write JsonPointer instead of the original object
-                writePrimitives(valJsonPointer);
+        if (isParallel(originalValue)) {
+            writeInParallel(List.class.cast(originalValue), generator, (chunkGenerator, item) ->
+                    chunkGenerator.writeIteratorItem(item, itemConverter, objectConverter, ignoredProperties, null, chunkGenerator.generator));
+        } else {
+            int i = 0;
+            while (iterator.hasNext()) {
+                writeIteratorItem(iterator.next(), itemConverter, objectConverter, ignoredProperties,
+                        isDeduplicateObjects ? new JsonPointerTracker(jsonPointer, i) : null, generator);
+                i++;
+            }
+        }
+        generator.writeEnd();
+    }
+
+    void writeIteratorItem(final Object o, final Adapter itemConverter,
+                           final ObjectConverter.Writer objectConverter,
+                           final Collection<String> ignoredProperties,
+                           final JsonPointerTracker jsonPointer,
+                           final JsonGenerator generator) {
+        final JsonPointerTracker valJsonPointer = jsonPointers.get(o);
+        if (valJsonPointer != null) {
+            // write JsonPointer instead of the original object
+            writePrimitives(valJsonPointer.toString());
+        } else {
+            ObjectConverter.Writer objectConverterToUse = objectConverter;
+            if (o != null && objectConverterToUse == null) {
+                objectConverterToUse = config.findObjectConverterWriter(o.getClass());
+            }
+
+            if (objectConverterToUse != null) {
+                final DynamicMappingGenerator dynamicMappingGenerator = new DynamicMappingGenerator(this,
+                        generator::writeStartObject, generator::writeEnd, null);
+                objectConverterToUse.writeJson(o, dynamicMappingGenerator);
+                dynamicMappingGenerator.flushIfNeeded();
             } else {
-                ObjectConverter.Writer objectConverterToUse = objectConverter;
-                if (o != null && objectConverterToUse == null) {
-                    objectConverterToUse = config.findObjectConverterWriter(o.getClass());
-                }
+                writeItem(itemConverter != null ? itemConverter.from(o) : o, ignoredProperties, jsonPointer);
+            }
+        }
+    }
 
-                if (objectConverterToUse != null) {
-                    final DynamicMappingGenerator dynamicMappingGenerator = new DynamicMappingGenerator(this,
-                            generator::writeStartObject, generator::writeEnd, null);
-                    objectConverterToUse.writeJson(o, dynamicMappingGenerator);
-                    dynamicMappingGenerator.flushIfNeeded();
-                } else {
-                    writeItem(itemConverter != null ? itemConverter.from(o) : o, ignoredProperties,
-                            isDeduplicateObjects ? new JsonPointerTracker(jsonPointer, i) : null);
+    private boolean isParallel(final Object value) {
+        final int threshold = config.getParallelSerializationThreshold();
+        return threshold > 0 && !isDeduplicateObjects &&
+                List.class.isInstance(value) && RandomAccess.class.isInstance(value) && List.class.cast(value).size() >= threshold;
+    }
+
+    /**
+     * Serializes chunks of the list on the common pool, each chunk in its own thread confined generator,
+     * and replays them in order in {@code generator}. Only a few chunks are in flight at the same time
+     * to not buffer the whole list.
+     */
+    private void writeInParallel(final List<?> items, final JsonGenerator generator,
+                                 final BiConsumer<MappingGeneratorImpl, Object> itemWriter) {
+        final ForkJoinPool pool = ForkJoinPool.commonPool();
+        final int maxInFlight = pool.getParallelism() * 2;
+        final int chunkSize = Math.max(1, items.size() / (maxInFlight * 2));
+        final Queue<ForkJoinTask<RecordingJsonGenerator>> inFlight = new ArrayDeque<>(maxInFlight);
+        int from = 0;
+        try {
+            while (from < items.size() || !inFlight.isEmpty()) {
+                while (from < items.size() && inFlight.size() < maxInFlight) {
+                    final List<?> chunk = items.subList(from, Math.min(items.size(), from + chunkSize));
+                    inFlight.add(pool.submit(() -> {
+                        final RecordingJsonGenerator recorder = new RecordingJsonGenerator();
+                        final MappingGeneratorImpl chunkGenerator = new MappingGeneratorImpl(config, recorder, mappings, false);
+                        for (final Object item : chunk) {
+                            itemWriter.accept(chunkGenerator, item);
+                        }
+                        return recorder;
+                    }));
+                    from += chunk.size();
                 }
+                inFlight.poll().join().replay(generator);
+            }
+        } finally {
+            for (final ForkJoinTask<?> task : inFlight) {
+                task.cancel(false);
             }
-            i++;
         }
-        generator.writeEnd();
     }
 
     /**
@@ -555,20 +626,11 @@ public class MappingGeneratorImpl implements MappingGenerator {
         }
 
         if(config.isTreatByteArrayAsBase64() && (type == byte[].class /*|| type == Byte[].class*/)) {
-            String base64EncodedByteArray = Base64.getEncoder().encodeToString((byte[]) arrayValue);
-            if (key != null) {
-                generator.write(key, base64EncodedByteArray);
-            } else {
-                generator.write(base64EncodedByteArray);
-            }
+            writeBase64(key, (byte[]) arrayValue, false);
             return;
         }
         if(config.isTreatByteArrayAsBase64URL() && (type == byte[].class /*|| type == Byte[].class*/)) {
-            if (key != null) {
-                generator.write(key, Base64.getUrlEncoder().encodeToString((byte[]) arrayValue));
-            } else {
-                generator.write(Base64.getUrlEncoder().encodeToString((byte[]) arrayValue));
-            }
+            writeBase64(key, (byte[]) arrayValue, true);
             return;
         }
 
@@ -647,10 +709,10 @@ public class MappingGeneratorImpl implements MappingGenerator {
             for (int i = 0; i < length; i++) {
                 Object[] oArrayValue = (Object[]) arrayValue;
                 final Object o = oArrayValue[i];
-                String valJsonPointer = jsonPointers.get(o);
+                final JsonPointerTracker valJsonPointer = jsonPointers.get(o);
                 if (valJsonPointer != null) {
                     // write the JsonPointer as String natively
-                    generator.write(valJsonPointer);
+                    generator.write(valJsonPointer.toString());
                 } else if (o instanceof JsonValue) {
                     generator.write((JsonValue) o);
                 } else {
@@ -662,6 +724,24 @@ public class MappingGeneratorImpl implements MappingGenerator {
     }
 
 
+    private void writeBase64(final String key, final byte[] value, final boolean url) {
+        if (JohnzonJsonGenerator.class.isInstance(generator)) { // encoded in the output buffer, no intermediate string
+            final JohnzonJsonGenerator johnzonGenerator = JohnzonJsonGenerator.class.cast(generator);
+            if (key != null) {
+                johnzonGenerator.writeBase64(key, value, url);
+            } else {
+                johnzonGenerator.writeBase64(value, url);
+            }
+            return;
+        }
+        final String encoded = (url ? Base64.getUrlEncoder() : Base64.getEncoder()).encodeToString(value);
+        if (key != null) {
+            generator.write(key, encoded);
+        } else {
+            generator.write(encoded);
+        }
+    }
+
     private void writeItem(final Object o, final Collection<String> ignoredProperties, JsonPointerTracker jsonPointer) {
         if (o == null) {
             generator.writeNull();
@@ -674,10 +754,10 @@ public class MappingGeneratorImpl implements MappingGenerator {
                     writeArray(o.getClass(), null, null, o, ignoredProperties, jsonPointer);
                 }
             } else {
-                String valJsonPointer = jsonPointers.get(o);
+                final JsonPointerTracker valJsonPointer = jsonPointers.get(o);
                 if (valJsonPointer != null) {
                     // write the JsonPointer instead
-                    generator.write(valJsonPointer);
+                    generator.write(valJsonPointer.toString());
                 } else {
                     doWriteObject(o, generator, true, ignoredProperties, jsonPointer);
                 }
@@ -685,28 +765,84 @@ public class MappingGeneratorImpl implements MappingGenerator {
         }
     }
 
+    /**
+     * Writes a root {@code int[]}, {@code long[]}, {@code double[]}, {@code float[]}, {@code short[]} or {@code boolean[]}
+     * with the same item conversions than its boxed flavor ({@code List<Integer>} etc) but without boxing the items.
+     */
+    void writePrimitiveArray(final Object array) {
+        generator.writeStartArray();
+        if (array instanceof int[]) {
+            for (final int value : (int[]) array) {
+                generator.write(value);
+            }
+        } else if (array instanceof long[]) {
+            for (final long value : (long[]) array) {
+                if (isInJsRange(value)) {
+                    generator.write(value);
+                } else {
+                    generator.write(Long.toString(value));
+                }
+            }
+        } else if (array instanceof double[]) {
+            for (final double value : (double[]) array) {
+                if (!Double.isNaN(value)) {
+                    generator.write(value);
+                }
+            }
+        } else if (array instanceof float[]) {
+            final JohnzonJsonGenerator johnzonGenerator = JohnzonJsonGenerator.class.isInstance(generator) ?
+                    JohnzonJsonGenerator.class.cast(generator) : null;
+            for (final float value : (float[]) array) {
+                if (Float.isNaN(value)) {
+                    continue;
+                }
+                if (johnzonGenerator != null) {
+                    johnzonGenerator.writeFloat(value);
+                } else {
+                    generator.write(new BigDecimal(Float.toString(value)));
+                }
+            }
+        } else if (array instanceof short[]) {
+            for (final short value : (short[]) array) {
+                generator.write(value);
+            }
+        } else {
+            for (final boolean value : (boolean[]) array) {
+                generator.write(value);
+            }
+        }
+        generator.writeEnd();
+    }
+
     private <T> void doWriteIterable(final Iterable<T> object, final Collection<String> ignoredProperties, JsonPointerTracker jsonPointer) {
         if (object == null) {
             generator.writeStartArray().writeEnd();
         } else {
             generator.writeStartArray();
-            int i = 0;
-            for (final T t : object) {
-                if (JsonValue.class.isInstance(t)) {
-                    generator.write(JsonValue.class.cast(t));
-                } else {
-                    if (t == null) {
-                        generator.writeNull();
-                    } else {
-                        writeItem(t, ignoredProperties, isDeduplicateObjects ? new JsonPointerTracker(jsonPointer, i) : null);
-                    }
+            if (isParallel(object)) {
+                writeInParallel(List.class.cast(object), generator, (chunkGenerator, item) ->
+                        chunkGenerator.writeIterableItem(item, ignoredProperties, null));
+            } else {
+                int i = 0;
+                for (final T t : object) {
+                    writeIterableItem(t, ignoredProperties, isDeduplicateObjects ? new JsonPointerTracker(jsonPointer, i) : null);
+                    i++;
                 }
-                i++;
             }
             generator.writeEnd();
         }
     }
 
+    private void writeIterableItem(final Object t, final Collection<String> ignoredProperties, final JsonPointerTracker jsonPointer) {
+        if (JsonValue.class.isInstance(t)) {
+            generator.write(JsonValue.class.cast(t));
+        } else if (t == null) {
+            generator.writeNull();
+        } else {
+            writeItem(t, ignoredProperties, jsonPointer);
+        }
+    }
+
 
     private <T> Object doConvertFrom(final T value, final Adapter<T, Object> converter) {
         if (converter == null) {
@@ -716,7 +852,10 @@ public class MappingGeneratorImpl implements MappingGenerator {
     }
 
     private boolean isInJsRange(final Number longValue) {
-        return !config.isUseJsRange() ||
-                (longValue.longValue() <= 9007199254740991L && longValue.longValue() >= -9007199254740991L);
+        return isInJsRange(longValue.longValue());
+    }
+
+    private boolean isInJsRange(final long longValue) {
+        return !config.isUseJsRange() || (longValue <= 9007199254740991L && longValue >= -9007199254740991L);
     }
 }
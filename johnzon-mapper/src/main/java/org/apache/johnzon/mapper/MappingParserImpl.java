@@ -18,21 +18,29 @@
  */
 package org.apache.johnzon.mapper;
 
+import org.apache.johnzon.core.JohnzonJsonParser;
+import org.apache.johnzon.core.util.Base64Chars;
 import org.apache.johnzon.mapper.access.AccessMode;
 import org.apache.johnzon.mapper.converter.CharacterConverter;
 import org.apache.johnzon.mapper.internal.AdapterKey;
 import org.apache.johnzon.mapper.internal.ConverterAdapter;
 import org.apache.johnzon.mapper.internal.JsonPointerTracker;
+import org.apache.johnzon.mapper.map.CompactMap;
+import org.apache.johnzon.mapper.number.LazyNumber;
 import org.apache.johnzon.mapper.number.Validator;
 import org.apache.johnzon.mapper.reflection.JohnzonParameterizedType;
 
 import javax.json.JsonArray;
+import javax.json.JsonBuilderFactory;
 import javax.json.JsonNumber;
 import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
 import javax.json.JsonReader;
 import javax.json.JsonString;
 import javax.json.JsonStructure;
 import javax.json.JsonValue;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParsingException;
 
 import java.lang.reflect.Array;
 import java.lang.reflect.GenericArrayType;
@@ -45,7 +53,6 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Base64;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
@@ -93,8 +100,8 @@ public class MappingParserImpl implements MappingParser {
 
     private static final JohnzonParameterizedType ANY_LIST = new JohnzonParameterizedType(List.class, Object.class);
     private static final CharacterConverter CHARACTER_CONVERTER = new CharacterConverter(); // this one is particular, share the logic
+    private static final Object SKIPPED_VALUE = new Object(); // setter not called, unlike a null value
 
-    protected final ConcurrentMap<Class<?>, Method> valueOfs = new ConcurrentHashMap<Class<?>, Method>();
 
     private final MapperConfig config;
     private final Mappings mappings;
@@ -102,6 +109,21 @@ public class MappingParserImpl implements MappingParser {
 
     private final JsonReader jsonReader;
 
+    /**
+     * Only set for streaming reads, used when a polymorphic type needs its JSON object.
+     */
+    private JsonBuilderFactory builderFactory;
+
+    /**
+     * Only set by {@link #readInto(Object)}, nested objects and collections already set on the instance are refilled.
+     */
+    private boolean reuseInstances;
+
+    /**
+     * Share the read string values through the config cache, for all the values or while reading an annotated property.
+     */
+    private boolean deduplicateStrings;
+
     /**
      * Used for de-referencing JsonPointers during deserialisation.
      * key: JsonPointer
@@ -109,6 +131,13 @@ public class MappingParserImpl implements MappingParser {
      */
     private Map<String, Object> jsonPointers;
 
+    /**
+     * Objects deserialised since the last reference lookup and their location,
+     * the pointers are only converted to String (and indexed) when a reference is actually met.
+     */
+    private List<JsonPointerTracker> pendingPointers;
+    private List<Object> pendingObjects;
+
 
     public MappingParserImpl(MapperConfig config, Mappings mappings, JsonReader jsonReader, boolean isDeduplicateObjects) {
         this.config = config;
@@ -117,9 +146,12 @@ public class MappingParserImpl implements MappingParser {
         this.jsonReader = jsonReader;
 
         this.isDeduplicateObjects = isDeduplicateObjects;
+        this.deduplicateStrings = config.isDeduplicateStrings();
 
         if (isDeduplicateObjects) {
             jsonPointers = new HashMap<>();
+            pendingPointers = new ArrayList<>();
+            pendingObjects = new ArrayList<>();
         } else {
             jsonPointers = Collections.emptyMap();
         }
@@ -140,6 +172,64 @@ public class MappingParserImpl implements MappingParser {
         return readObject(jsonValue, targetType, targetType instanceof Class || targetType instanceof ParameterizedType, null);
     }
 
+    /**
+     * Binds the read object onto an existing instance instead of creating a new one.
+     *
+     * @param target the instance to fill, its class must be mapped through setters (no converter nor creator parameters).
+     * @param <T> the instance type.
+     * @return the target instance.
+     */
+    public <T> T readInto(final T target) {
+        final JsonValue jsonValue = jsonReader.readValue();
+        final Class<?> clazz = target.getClass();
+        if (!JsonObject.class.isInstance(jsonValue)) {
+            throw new MapperException("Can't read " + (jsonValue == null ? null : jsonValue.getValueType()) + " into " + clazz.getName());
+        }
+        final Mappings.ClassMapping classMapping = findReusableMapping(clazz);
+        if (classMapping == null) {
+            throw new MapperException("Can't read into an existing " + clazz.getName() + ", it is not mapped through setters");
+        }
+
+        reuseInstances = true;
+        final JsonObject object = JsonObject.class.cast(jsonValue);
+        checkUnknown(classMapping, object);
+        bindObject(target, classMapping, object, isDeduplicateObjects ? new JsonPointerTracker(null, "/") : null, clazz);
+        return target;
+    }
+
+    /**
+     * Streaming flavor of {@link #readInto(Object)}, the properties are bound from the parser events
+     * and the nested objects already set on the instance are refilled the same way.
+     *
+     * @param parser the parser positioned before the object.
+     * @param target the instance to fill, its class must be mapped through setters (no converter nor creator parameters).
+     * @param builderFactory used when a polymorphic property must be mapped from a {@link JsonObject}.
+     * @param checkEnd should the document end after the object.
+     * @param <T> the instance type.
+     * @return the target instance.
+     */
+    public <T> T readInto(final JsonParser parser, final T target, final JsonBuilderFactory builderFactory, final boolean checkEnd) {
+        if (!parser.hasNext()) {
+            throw new EmptyDocumentException();
+        }
+        final Class<?> clazz = target.getClass();
+        if (parser.next() != JsonParser.Event.START_OBJECT) {
+            throw new MapperException("Can't read " + parser.getValue().getValueType() + " into " + clazz.getName());
+        }
+        final Mappings.ClassMapping classMapping = findReusableMapping(clazz);
+        if (classMapping == null) {
+            throw new MapperException("Can't read into an existing " + clazz.getName() + ", it is not mapped through setters");
+        }
+
+        this.builderFactory = builderFactory;
+        reuseInstances = true;
+        new StreamingBinding(classMapping, target).bind(parser);
+        if (checkEnd && parser.hasNext()) {
+            throw new JsonParsingException("Expected end of file", parser.getLocation());
+        }
+        return target;
+    }
+
     public <T> T readObject(final JsonValue jsonValue, final Type targetType, final boolean applyObjectConverter,
                             final Collection<Class<?>> skippedConverters) {
         final JsonValue.ValueType valueType = jsonValue != null ? jsonValue.getValueType() : null;
@@ -259,6 +349,434 @@ public class MappingParserImpl implements MappingParser {
     }
 
 
+    /**
+     * @param config the mapper configuration.
+     * @param mappings the class mappings.
+     * @param type the type to read.
+     * @return true if the type can be bound by {@link #readStreamingObject(JsonParser, Type, JsonBuilderFactory, boolean)}:
+     * an instantiable application class or a polymorphic type, without converter nor any setter,
+     * when {@link MapperConfig#isStreamingObjects()} is enabled, or an untyped one when
+     * {@link MapperConfig#isCompactUntypedObjects()} is enabled.
+     */
+    static boolean isStreamable(final MapperConfig config, final Mappings mappings, final Type type) {
+        if (isUntyped(config, type)) {
+            return true;
+        }
+        if (!Class.class.isInstance(type)) {
+            return false;
+        }
+        final Class<?> clazz = Class.class.cast(type);
+        if (!config.isStreamingObjects() || clazz.getClassLoader() == null || clazz.isArray() || clazz.isEnum()
+                || Collection.class.isAssignableFrom(clazz) || Map.class.isAssignableFrom(clazz)
+                || config.isFailOnUnknown() || config.isReadAttributeBeforeWrite()) {
+            return false;
+        }
+        return isPolymorphic(config, clazz) ? config.findObjectConverterReader(clazz) == null : findStreamableMapping(config, mappings, clazz) != null;
+    }
+
+    // Object, Map and Map<String, Object> targets, read in compact maps with lazy numbers
+    private static boolean isUntyped(final MapperConfig config, final Type type) {
+        if (!config.isCompactUntypedObjects() || config.findObjectConverterReader(Object.class) != null) {
+            return false;
+        }
+        if (Object.class == type || Map.class == type) {
+            return true;
+        }
+        if (!ParameterizedType.class.isInstance(type)) {
+            return false;
+        }
+        final ParameterizedType parameterizedType = ParameterizedType.class.cast(type);
+        final Type[] arguments = parameterizedType.getActualTypeArguments();
+        return Map.class == parameterizedType.getRawType() && arguments.length == 2
+                && String.class == arguments[0] && Object.class == arguments[1];
+    }
+
+    private static boolean isPolymorphic(final MapperConfig config, final Class<?> clazz) {
+        return config.getDeserializationPredicate() != null && config.getDeserializationPredicate().test(clazz);
+    }
+
+    private static Mappings.ClassMapping findStreamableMapping(final MapperConfig config, final Mappings mappings, final Class<?> clazz) {
+        if (clazz.isInterface() || Modifier.isAbstract(clazz.getModifiers()) || config.findObjectConverterReader(clazz) != null) {
+            return null;
+        }
+        final Mappings.ClassMapping mapping = mappings.findOrCreateClassMapping(clazz);
+        if (mapping == null || mapping.factory == null || mapping.reader != null
+                || mapping.anySetter != null || mapping.anyField != null || mapping.mapAdder != null) {
+            return null;
+        }
+        return mapping;
+    }
+
+    /**
+     * Streaming flavor of {@link #readObject(Type)}, the document object is never built:
+     * properties are converted as their keys arrive, creator arguments are buffered by parameter position
+     * and the other properties of creator based classes are set once the instance is created.
+     * Polymorphic types only buffer the properties preceding the discriminator.
+     *
+     * @param parser the parser positioned before the value.
+     * @param type a type accepted by {@link #isStreamable(MapperConfig, Mappings, Type)}.
+     * @param builderFactory used when the resolved polymorphic type must be mapped from a {@link JsonObject}.
+     * @param checkEnd should the document end after the value.
+     * @return the created instance.
+     */
+    Object readStreamingObject(final JsonParser parser, final Type type, final JsonBuilderFactory builderFactory, final boolean checkEnd) {
+        if (!parser.hasNext()) {
+            throw new EmptyDocumentException();
+        }
+        this.builderFactory = builderFactory;
+        final JsonParser.Event event = parser.next();
+        final Object result;
+        if (isUntyped(config, type)) {
+            result = event == JsonParser.Event.START_OBJECT || (event == JsonParser.Event.START_ARRAY && Object.class == type) ?
+                    readUntyped(parser, event, entryNumbers(type)) : readObject(parser.getValue(), type);
+        } else {
+            result = event == JsonParser.Event.START_OBJECT ?
+                    readStreamingObject(parser, Class.class.cast(type)) : readObject(parser.getValue(), type);
+        }
+        if (checkEnd && parser.hasNext()) {
+            throw new JsonParsingException("Expected end of file", parser.getLocation());
+        }
+        return result;
+    }
+
+    // the START_OBJECT event is consumed
+    private Object readStreamingObject(final JsonParser parser, final Class<?> clazz) {
+        if (!isPolymorphic(config, clazz)) {
+            return new StreamingBinding(findStreamableMapping(config, mappings, clazz)).bind(parser);
+        }
+
+        // bounded lookahead: only the properties before the discriminator are kept
+        final String discriminator = config.getDiscriminator();
+        final List<String> keys = new ArrayList<>(4);
+        final List<JsonValue> values = new ArrayList<>(4);
+        String id = null;
+        boolean ended = true;
+        while (parser.next() != JsonParser.Event.END_OBJECT) {
+            final String key = parser.getString();
+            parser.next();
+            final JsonValue value = parser.getValue();
+            keys.add(key);
+            values.add(value);
+            if (discriminator.equals(key)) {
+                id = JsonString.class.cast(value).getString();
+                ended = false;
+                break;
+            }
+        }
+
+        final Class<?> nestedType = id == null ? null : config.getTypeLoader().apply(id);
+        final Mappings.ClassMapping mapping = findStreamableMapping(
+                config, mappings, nestedType != null && nestedType != clazz ? nestedType : clazz);
+        if (mapping == null) { // needs the tree based mapping, replay the prefix and read the rest
+            final JsonObjectBuilder builder = builderFactory.createObjectBuilder();
+            for (int i = 0; i < keys.size(); i++) {
+                builder.add(keys.get(i), values.get(i));
+            }
+            if (!ended) {
+                while (parser.next() != JsonParser.Event.END_OBJECT) {
+                    final String key = parser.getString();
+                    parser.next();
+                    builder.add(key, parser.getValue());
+                }
+            }
+            return buildObject(clazz, builder.build(), true, null, getSkippedConverters());
+        }
+
+        final StreamingBinding binding = new StreamingBinding(mapping);
+        for (int i = 0; i < keys.size(); i++) {
+            binding.accept(keys.get(i), values.get(i));
+        }
+        return ended ? binding.end() : binding.bind(parser);
+    }
+
+    /**
+     * Binds the properties of an object as they are read, creator arguments go in a slot array
+     * indexed by parameter position and setter values in a slot array indexed by setter position.
+     * Setters are applied once the object ends, in the order of the first occurrence of their key,
+     * so a duplicated key keeps its last value as with the object model.
+     */
+    private class StreamingBinding {
+        private final Mappings.ClassMapping mapping;
+        private final Object[] arguments;
+        private final boolean[] bound;
+        private final Object instance;
+        private final Object[] setterValues;
+        private final boolean[] setterBound;
+        private final int[] setterOrder;
+        private int setterCount;
+
+        private StreamingBinding(final Mappings.ClassMapping mapping) {
+            this.mapping = mapping;
+            final Type[] parameterTypes = mapping.factory.getParameterTypes();
+            if (parameterTypes == null || parameterTypes.length == 0) {
+                arguments = null;
+                bound = null;
+                instance = mapping.factory.create(null);
+            } else {
+                arguments = new Object[parameterTypes.length];
+                bound = new boolean[parameterTypes.length];
+                instance = null;
+            }
+            final int setters = mapping.indexedSetters.length;
+            setterValues = new Object[setters];
+            setterBound = new boolean[setters];
+            setterOrder = new int[setters];
+        }
+
+        private StreamingBinding(final Mappings.ClassMapping mapping, final Object instance) {
+            this.mapping = mapping;
+            this.arguments = null;
+            this.bound = null;
+            this.instance = instance;
+            final int setters = mapping.indexedSetters.length;
+            setterValues = new Object[setters];
+            setterBound = new boolean[setters];
+            setterOrder = new int[setters];
+        }
+
+        private Object bind(final JsonParser parser) {
+            while (parser.next() != JsonParser.Event.END_OBJECT) {
+                final String key = parser.getString();
+                final JsonParser.Event event = parser.next();
+                final Integer index = arguments == null ? null : mapping.factoryParameterIndexes.get(key);
+                final Integer setterIndex = mapping.setterIndexes.get(key);
+                if (index == null && setterIndex == null) {
+                    if (event == JsonParser.Event.START_OBJECT) {
+                        parser.skipObject();
+                    } else if (event == JsonParser.Event.START_ARRAY) {
+                        parser.skipArray();
+                    }
+                    continue;
+                }
+
+                final Mappings.Setter setter = setterIndex == null ? null : mapping.indexedSetters[setterIndex];
+                if (index != null && setter != null) { // the argument and the setter both convert the value, as the object model
+                    accept(key, index, setterIndex, parser.getValue());
+                    continue;
+                }
+                if (event == JsonParser.Event.START_OBJECT) {
+                    if (reuseInstances && index == null && refillNestedObject(parser, key, setter)) {
+                        bindSetter(setterIndex, SKIPPED_VALUE); // same instance, no need to call the setter
+                        continue;
+                    }
+                    final Type nestedType = findNestedType(index, setter);
+                    if (nestedType != null && isStreamable(config, mappings, nestedType)) {
+                        final Object value = readNestedObject(parser, nestedType);
+                        if (index != null) {
+                            arguments[index] = value;
+                            bound[index] = true;
+                        } else {
+                            bindSetter(setterIndex, value == null ? SKIPPED_VALUE : value);
+                        }
+                        continue;
+                    }
+                } else if (event == JsonParser.Event.VALUE_STRING && JohnzonJsonParser.class.isInstance(parser)
+                        && isBase64Target(index, setter)) { // decoded from the parser buffer, no intermediate string
+                    final byte[] bytes = readBase64(JohnzonJsonParser.class.cast(parser));
+                    if (index != null) {
+                        arguments[index] = bytes;
+                        bound[index] = true;
+                    } else {
+                        bindSetter(setterIndex, bytes);
+                    }
+                    continue;
+                }
+                accept(key, index, setterIndex, parser.getValue());
+            }
+            return end();
+        }
+
+        // same as toObject() for a byte[] without any converter
+        private boolean isBase64Target(final Integer index, final Mappings.Setter setter) {
+            if (!config.isTreatByteArrayAsBase64() && !config.isTreatByteArrayAsBase64URL()) {
+                return false;
+            }
+            if (index != null) {
+                final AccessMode.Factory factory = mapping.factory;
+                return factory.getParameterTypes()[index] == byte[].class && factory.getParameterConverter()[index] == null
+                        && factory.getParameterItemConverter()[index] == null && factory.getObjectConverter()[index] == null;
+            }
+            return setter.paramType == byte[].class && setter.converter == null && setter.itemConverter == null && setter.objectConverter == null
+                    && !(reuseInstances || config.isReadAttributeBeforeWrite());
+        }
+
+        private byte[] readBase64(final JohnzonJsonParser parser) {
+            try {
+                return parser.getBase64Bytes(!config.isTreatByteArrayAsBase64());
+            } catch (final IllegalArgumentException e) { // as toValue()
+                throw new MapperException(e);
+            }
+        }
+
+        private void accept(final String key, final JsonValue value) {
+            accept(key, arguments == null ? null : mapping.factoryParameterIndexes.get(key), mapping.setterIndexes.get(key), value);
+        }
+
+        private void accept(final String key, final Integer index, final Integer setterIndex, final JsonValue value) {
+            if (index != null) {
+                arguments[index] = toParameter(mapping, index, value, null);
+                bound[index] = true;
+            }
+            if (setterIndex != null) {
+                bindSetter(setterIndex, toSetterValue(
+                        instance, mapping, key, mapping.indexedSetters[setterIndex], value, null, mapping.clazz));
+            }
+        }
+
+        private void bindSetter(final int setterIndex, final Object value) {
+            if (!setterBound[setterIndex]) {
+                setterBound[setterIndex] = true;
+                setterOrder[setterCount++] = setterIndex;
+            }
+            setterValues[setterIndex] = value;
+        }
+
+        private Object end() {
+            final Object created;
+            if (arguments == null) {
+                created = instance;
+            } else {
+                for (int i = 0; i < arguments.length; i++) {
+                    if (!bound[i]) {
+                        arguments[i] = toParameter(mapping, i, null, null);
+                    }
+                }
+                created = mapping.factory.create(arguments);
+            }
+            for (int i = 0; i < setterCount; i++) {
+                final int setterIndex = setterOrder[i];
+                final Object value = setterValues[setterIndex];
+                if (value != SKIPPED_VALUE) {
+                    mapping.indexedSetters[setterIndex].writer.write(created, value);
+                }
+            }
+            return created;
+        }
+
+        private boolean refillNestedObject(final JsonParser parser, final String key, final Mappings.Setter setter) {
+            if (JsonValue.class == setter.paramType || setter.converter != null
+                    || setter.itemConverter != null || setter.objectConverter != null) {
+                return false;
+            }
+            final Mappings.Getter getter = mapping.getters.get(key);
+            if (getter == null) {
+                return false;
+            }
+            final Object existingInstance;
+            try {
+                existingInstance = getter.reader.read(instance);
+            } catch (final RuntimeException re) { // as setValue()
+                return false;
+            }
+            if (existingInstance == null || isPolymorphic(config, existingInstance.getClass())) {
+                return false;
+            }
+            final Mappings.ClassMapping nestedMapping = findReusableMapping(existingInstance.getClass());
+            if (nestedMapping == null) {
+                return false;
+            }
+            new StreamingBinding(nestedMapping, existingInstance).bind(parser);
+            return true;
+        }
+
+        // the nested object can be streamed only if it has no converter
+        private Type findNestedType(final Integer index, final Mappings.Setter setter) {
+            if (index != null) {
+                final AccessMode.Factory factory = mapping.factory;
+                if (factory.getParameterConverter()[index] != null
+                        || factory.getParameterItemConverter()[index] != null || factory.getObjectConverter()[index] != null) {
+                    return null;
+                }
+                return factory.getParameterTypes()[index];
+            }
+            if (instance == null || setter.converter != null || setter.itemConverter != null || setter.objectConverter != null) {
+                return null;
+            }
+            return setter.paramType;
+        }
+    }
+
+    private Object readNestedObject(final JsonParser parser, final Type type) {
+        try {
+            return isUntyped(config, type) ?
+                    readUntyped(parser, JsonParser.Event.START_OBJECT, entryNumbers(type)) : readStreamingObject(parser, Class.class.cast(type));
+        } catch (final MapperException | JsonParsingException e) {
+            throw e;
+        } catch (final RuntimeException e) { // as toValue()
+            throw new MapperException(e);
+        }
+    }
+
+    /**
+     * Reads an untyped value from the parser events as the object model based mapping would do
+     * but in compact maps and with numbers keeping their digits.
+     *
+     * @param parser the parser, event is its current event.
+     * @param event the current event.
+     * @param entryNumbers the numbers of the entries of the object to read (the nested ones use the configured equivalents).
+     * @return the read value.
+     */
+    private Object readUntyped(final JsonParser parser, final JsonParser.Event event, final LazyNumber.Equivalent entryNumbers) {
+        switch (event) {
+            case START_OBJECT:
+                final CompactMap<String, Object> map = new CompactMap<>();
+                while (parser.next() != JsonParser.Event.END_OBJECT) {
+                    final String key = parser.getString();
+                    final JsonParser.Event valueEvent = parser.next();
+                    map.put(key, valueEvent == JsonParser.Event.VALUE_NUMBER ?
+                            toLazyNumber(parser, entryNumbers) : readUntyped(parser, valueEvent, objectNumbers()));
+                }
+                return map;
+            case START_ARRAY:
+                final List<Object> list = new ArrayList<>();
+                JsonParser.Event itemEvent;
+                while ((itemEvent = parser.next()) != JsonParser.Event.END_ARRAY) {
+                    list.add(readUntyped(parser, itemEvent, objectNumbers()));
+                }
+                return list;
+            case VALUE_STRING:
+                return deduplicate(parser.getString());
+            case VALUE_NUMBER:
+                return toLazyNumber(parser, sizedNumbers());
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            default:
+                throw new JsonParsingException("Unexpected " + event, parser.getLocation());
+        }
+    }
+
+    // numbers fitting in a long are read from the parser buffer, the other ones keep their digits
+    private LazyNumber toLazyNumber(final JsonParser parser, final LazyNumber.Equivalent equivalent) {
+        final boolean integral = parser.isIntegralNumber();
+        if (integral && JohnzonJsonParser.class.isInstance(parser) && JohnzonJsonParser.class.cast(parser).isFitLong()) {
+            return new LazyNumber(parser.getLong(), equivalent);
+        }
+        return new LazyNumber(parser.getString(), integral, equivalent);
+    }
+
+    private LazyNumber toLazyNumber(final JsonNumber number, final LazyNumber.Equivalent equivalent) {
+        return new LazyNumber(number.toString(), number.isIntegral(), equivalent);
+    }
+
+    // a raw Map reads its entries as Object values, see buildObject()
+    private LazyNumber.Equivalent entryNumbers(final Type type) {
+        return Map.class == type ? sizedNumbers() : objectNumbers();
+    }
+
+    // the number types of untyped object entries
+    private LazyNumber.Equivalent objectNumbers() {
+        return config.isUseBigDecimalForObjectNumbers() ? LazyNumber.Equivalent.BIG_DECIMAL : sizedNumbers();
+    }
+
+    // see toNumberValue()
+    private LazyNumber.Equivalent sizedNumbers() {
+        return config.isUseBigDecimalForFloats() ? LazyNumber.Equivalent.SIZED_BIG_DECIMAL_FLOATS : LazyNumber.Equivalent.SIZED;
+    }
+
     private Object buildObject(final Type inType, final JsonObject object, final boolean applyObjectConverter,
                                final JsonPointerTracker jsonPointer, final Collection<Class<?>> skippedConverters) {
         Type type = inType;
@@ -315,6 +833,8 @@ public class MappingParserImpl implements MappingParser {
                                     "set supportEnumMapDeserialization=true to disable that arbitrary limitation");
                         }
                         map = new EnumMap(Class.class.cast(fieldArgTypes[0]));
+                    } else if (Map.class == raw && Object.class == fieldArgTypes[1] && config.isCompactUntypedObjects()) {
+                        map = new CompactMap(object.size());
                     } else if (Map.class.isAssignableFrom(raw)) {
                         map = new LinkedHashMap(object.size()); // todo: configurable from config.getNewDefaultMap()?
                     } else {
@@ -333,22 +853,26 @@ public class MappingParserImpl implements MappingParser {
                         final boolean any = fieldArgTypes.length < 2 || fieldArgTypes[1] == Object.class;
                         for (final Map.Entry<String, JsonValue> value : object.entrySet()) {
                             final JsonValue jsonValue = value.getValue();
-                            if (JsonNumber.class.isInstance(jsonValue) && any) {
-                                map.put(value.getKey(), config.isUseBigDecimalForObjectNumbers() ?
+                            if (JsonNumber.class.isInstance(jsonValue) && any && config.isCompactUntypedObjects()) {
+                                putEntry(map, value.getKey(), toLazyNumber(JsonNumber.class.cast(jsonValue), objectNumbers()));
+                            } else if (JsonNumber.class.isInstance(jsonValue) && any) {
+                                putEntry(map, value.getKey(), config.isUseBigDecimalForObjectNumbers() ?
                                         JsonNumber.class.cast(jsonValue).bigDecimalValue() : toNumberValue(JsonNumber.class.cast(jsonValue)));
                             } else if (JsonString.class.isInstance(jsonValue) && any) {
-                                map.put(value.getKey(), JsonString.class.cast(jsonValue).getString());
+                                putEntry(map, value.getKey(), deduplicate(JsonString.class.cast(jsonValue).getString()));
                             } else {
-                                map.put(convertTo(keyType, value.getKey()), toObject(null, jsonValue, fieldArgTypes[1], null, jsonPointer, Object.class));
+                                putEntry(map, convertTo(keyType, value.getKey()),
+                                        toObject(null, jsonValue, fieldArgTypes[1], null, jsonPointer, Object.class));
                             }
                         }
                         return map;
                     }
                 }
             } else if (Map.class == type || HashMap.class == type || LinkedHashMap.class == type) {
-                final Map<String, Object> map = new LinkedHashMap<String, Object>();
+                final Map<String, Object> map = Map.class == type && config.isCompactUntypedObjects() ?
+                        new CompactMap<>(object.size()) : new LinkedHashMap<String, Object>();
                 for (final Map.Entry<String, JsonValue> value : object.entrySet()) {
-                    map.put(value.getKey(), toObject(null, value.getValue(), Object.class, null, jsonPointer, Object.class));
+                    putEntry(map, value.getKey(), toObject(null, value.getValue(), Object.class, null, jsonPointer, Object.class));
                 }
                 return map;
             }
@@ -357,6 +881,9 @@ public class MappingParserImpl implements MappingParser {
             throw new MapperException("Can't map " + type);
         }
 
+        if (GeneratedCodec.class.isInstance(classMapping.reader)) { // never delegates to the default mapping of its type
+            return classMapping.reader.fromJson(object, type, this);
+        }
         if (applyObjectConverter && classMapping.reader != null && (skippedConverters == null || !skippedConverters.contains(type))) {
             final Collection<Class<?>> skipped = skippedConverters == null ? new ArrayList<>() : skippedConverters;
             if (Class.class.isInstance(type)) { // more than likely, drop this check?
@@ -374,6 +901,18 @@ public class MappingParserImpl implements MappingParser {
             throw new MapperException(classMapping.clazz + " not instantiable");
         }
 
+        checkUnknown(classMapping, object);
+
+        Object t;
+        if (classMapping.factory.getParameterTypes() == null || classMapping.factory.getParameterTypes().length == 0) {
+            t = classMapping.factory.create(null);
+        } else {
+            t = classMapping.factory.create(createParameters(classMapping, object, jsonPointer));
+        }
+        return bindObject(t, classMapping, object, jsonPointer, inType);
+    }
+
+    private void checkUnknown(final Mappings.ClassMapping classMapping, final JsonObject object) {
         if (config.isFailOnUnknown()) {
             if (!classMapping.setters.keySet().containsAll(object.keySet())) {
                 throw new MapperException("(fail on unknown properties): " + new HashSet<String>(object.keySet()) {{
@@ -381,57 +920,20 @@ public class MappingParserImpl implements MappingParser {
                 }});
             }
         }
+    }
 
-        Object t;
-        if (classMapping.factory.getParameterTypes() == null || classMapping.factory.getParameterTypes().length == 0) {
-            t = classMapping.factory.create(null);
-        } else {
-            t = classMapping.factory.create(createParameters(classMapping, object, jsonPointer));
-        }
+    private Object bindObject(final Object t, final Mappings.ClassMapping classMapping, final JsonObject object,
+                              final JsonPointerTracker jsonPointer, final Type type) {
         // store the new object under it's jsonPointer in case it gets referenced later
         if (isDeduplicateObjects) {
-            jsonPointers.put(jsonPointer.toString(), t);
+            pendingPointers.add(jsonPointer);
+            pendingObjects.add(t);
         }
 
         for (final Map.Entry<String, JsonValue> jsonEntry : object.entrySet()) {
             final Mappings.Setter value = classMapping.setters.get(jsonEntry.getKey());
-            if (value == null) {
-                continue;
-            }
-
-            final JsonValue jsonValue = jsonEntry.getValue();
-            final JsonValue.ValueType valueType = jsonValue != null ? jsonValue.getValueType() : null;
-
-            if (JsonValue.class == value.paramType) {
-                value.writer.write(t, jsonValue);
-                continue;
-            }
-            if (jsonValue == null) {
-                continue;
-            }
-
-            final AccessMode.Writer setterMethod = value.writer;
-            if (NULL == valueType) { // forced
-                setterMethod.write(t, null);
-            } else {
-                Object existingInstance = null;
-                if (config.isReadAttributeBeforeWrite()) {
-                    final Mappings.Getter getter = classMapping.getters.get(jsonEntry.getKey());
-                    if (getter != null) {
-                        try {
-                            existingInstance = getter.reader.read(t);
-                        } catch (final RuntimeException re) {
-                            // backward compatibility
-                        }
-                    }
-                }
-                final Object convertedValue = toValue(
-                        existingInstance, jsonValue, value.converter, value.itemConverter,
-                        value.paramType, value.objectConverter,
-                        new JsonPointerTracker(jsonPointer, jsonEntry.getKey()), inType);
-                if (convertedValue != null) {
-                    setterMethod.write(t, convertedValue);
-                }
+            if (value != null) {
+                setValue(t, classMapping, jsonEntry.getKey(), value, jsonEntry.getValue(), jsonPointer, type);
             }
         }
         if (classMapping.anySetter != null) {
@@ -470,7 +972,7 @@ public class MappingParserImpl implements MappingParser {
                     final Object convertedValue = toValue(
                             null, e.getValue(), null, null,
                             classMapping.mapAdderType, null,
-                            new JsonPointerTracker(jsonPointer, e.getKey()), inType);
+                            isDeduplicateObjects ? new JsonPointerTracker(jsonPointer, e.getKey()) : null, type);
                     if (convertedValue != null) {
                         try {
                             classMapping.mapAdder.invoke(t, e.getKey(), convertedValue);
@@ -486,6 +988,125 @@ public class MappingParserImpl implements MappingParser {
         return t;
     }
 
+    private void setValue(final Object t, final Mappings.ClassMapping classMapping, final String key, final Mappings.Setter value,
+                          final JsonValue jsonValue, final JsonPointerTracker jsonPointer, final Type inType) {
+        final Object convertedValue = toSetterValue(t, classMapping, key, value, jsonValue, jsonPointer, inType);
+        if (convertedValue != SKIPPED_VALUE) {
+            value.writer.write(t, convertedValue);
+        }
+    }
+
+    /**
+     * @param t the instance owning the property, can be null when it is not yet created.
+     * @return the value to pass to the setter or {@link #SKIPPED_VALUE} if the setter must not be called.
+     */
+    private Object toSetterValue(final Object t, final Mappings.ClassMapping classMapping, final String key, final Mappings.Setter value,
+                                 final JsonValue jsonValue, final JsonPointerTracker jsonPointer, final Type inType) {
+        if (JsonValue.class == value.paramType) {
+            return jsonValue;
+        }
+        if (jsonValue == null) {
+            return SKIPPED_VALUE;
+        }
+        if (NULL == jsonValue.getValueType()) { // forced
+            return null;
+        }
+
+        Object existingInstance = null;
+        if (t != null && (config.isReadAttributeBeforeWrite() || reuseInstances)) {
+            final Mappings.Getter getter = classMapping.getters.get(key);
+            if (getter != null) {
+                try {
+                    existingInstance = getter.reader.read(t);
+                } catch (final RuntimeException re) {
+                    // backward compatibility
+                }
+            }
+        }
+        if (reuseInstances && existingInstance != null && value.converter == null && value.objectConverter == null
+                && refill(existingInstance, value, jsonValue, isDeduplicateObjects ? new JsonPointerTracker(jsonPointer, key) : null, inType)) {
+            return SKIPPED_VALUE; // same instance, no need to call the setter
+        }
+        final boolean parentDeduplicateStrings = deduplicateStrings;
+        deduplicateStrings = parentDeduplicateStrings || (value.deduplicateStrings && config.getStringCache() != null);
+        final Object convertedValue;
+        try {
+            convertedValue = toValue(
+                    existingInstance, jsonValue, value.converter, value.itemConverter,
+                    value.paramType, value.objectConverter,
+                    isDeduplicateObjects ? new JsonPointerTracker(jsonPointer, key) : null, inType);
+        } finally {
+            deduplicateStrings = parentDeduplicateStrings;
+        }
+        return convertedValue == null ? SKIPPED_VALUE : convertedValue;
+    }
+
+    /**
+     * @return {@code true} if the value was read into the existing instance, {@code false} if a new one must be created.
+     */
+    private boolean refill(final Object existingInstance, final Mappings.Setter setter, final JsonValue jsonValue,
+                           final JsonPointerTracker jsonPointer, final Type rootType) {
+        if (JsonValue.ValueType.OBJECT == jsonValue.getValueType()) {
+            if (setter.itemConverter != null) {
+                return false;
+            }
+            final Mappings.ClassMapping classMapping = findReusableMapping(existingInstance.getClass());
+            if (classMapping == null || (config.getDeserializationPredicate() != null
+                    && config.getDeserializationPredicate().test(existingInstance.getClass()))) {
+                return false;
+            }
+            final JsonObject object = jsonValue.asJsonObject();
+            checkUnknown(classMapping, object);
+            bindObject(existingInstance, classMapping, object, jsonPointer, existingInstance.getClass());
+            return true;
+        }
+        if (ARRAY == jsonValue.getValueType() && ParameterizedType.class.isInstance(setter.paramType)
+                && (List.class.isInstance(existingInstance) || Set.class.isInstance(existingInstance))
+                && !EnumSet.class.isInstance(existingInstance)) {
+            final Mappings.CollectionMapping mapping = mappings.findCollectionMapping(
+                    ParameterizedType.class.cast(setter.paramType), rootType);
+            if (mapping == null || EnumSet.class == mapping.raw) {
+                return false;
+            }
+            final Collection<Object> collection = Collection.class.cast(existingInstance);
+            try {
+                collection.clear();
+            } catch (final UnsupportedOperationException uoe) { // immutable
+                return false;
+            }
+            fillCollection(collection, mapping, jsonValue.asJsonArray(), setter.itemConverter, null, jsonPointer, rootType);
+            return true;
+        }
+        return false;
+    }
+
+    // the keys of a JSON object are unique, no need to look them up in a compact map
+    private static void putEntry(final Map map, final Object key, final Object value) {
+        if (CompactMap.class.isInstance(map)) {
+            CompactMap.class.cast(map).append(key, value);
+        } else {
+            map.put(key, value);
+        }
+    }
+
+    private Mappings.ClassMapping findReusableMapping(final Class<?> clazz) {
+        if (clazz.isArray() || clazz.isEnum() || clazz.getClassLoader() == null
+                || Collection.class.isAssignableFrom(clazz) || Map.class.isAssignableFrom(clazz)
+                || config.findObjectConverterReader(clazz) != null) {
+            return null;
+        }
+        final Mappings.ClassMapping classMapping = mappings.findOrCreateClassMapping(clazz);
+        if (classMapping == null || classMapping.reader != null || (classMapping.factory != null
+                && classMapping.factory.getParameterTypes() != null && classMapping.factory.getParameterTypes().length > 0)) {
+            return null;
+        }
+        return classMapping;
+    }
+
+    private String deduplicate(final String value) {
+        return deduplicateStrings ? config.getStringCache().deduplicate(value) : value;
+    }
+
     private Number toNumberValue(JsonNumber jsonNumber) {
         if (jsonNumber.isIntegral()) {
             final int intValue = jsonNumber.intValue();
@@ -629,10 +1250,10 @@ public class MappingParserImpl implements MappingParser {
         }
 
         if (config.isTreatByteArrayAsBase64() && jsonValue.getValueType() == JsonValue.ValueType.STRING && (type == byte[].class /*|| type == Byte[].class*/)) {
-            return Base64.getDecoder().decode(((JsonString) jsonValue).getString());
+            return Base64Chars.decode(((JsonString) jsonValue).getChars(), false);
         }
         if (config.isTreatByteArrayAsBase64URL() && jsonValue.getValueType() == JsonValue.ValueType.STRING && (type == byte[].class /*|| type == Byte[].class*/)) {
-            return Base64.getUrlDecoder().decode(((JsonString) jsonValue).getString());
+            return Base64Chars.decode(((JsonString) jsonValue).getChars(), true);
         }
 
         if (Object.class == type) { // handling specific types here to keep exception in standard handling
@@ -643,10 +1264,11 @@ public class MappingParserImpl implements MappingParser {
                 return false;
             }
             if (JsonNumber.class.isInstance(jsonValue)) {
-                return toNumberValue(JsonNumber.class.cast(jsonValue));
+                return config.isCompactUntypedObjects() ?
+                        toLazyNumber(JsonNumber.class.cast(jsonValue), sizedNumbers()) : toNumberValue(JsonNumber.class.cast(jsonValue));
             }
             if (JsonString.class.isInstance(jsonValue)) {
-                return JsonString.class.cast(jsonValue).getString();
+                return deduplicate(JsonString.class.cast(jsonValue).getString());
             }
         }
 
@@ -702,12 +1324,7 @@ public class MappingParserImpl implements MappingParser {
             }
 
             if (type == Short.class || type == short.class) {
-                final int intValue = number.intValue();
-                short shortVal = (short) intValue;
-                if (intValue != shortVal) {
-                    throw new java.lang.ArithmeticException("Overflow");
-                }
-                return shortVal;
+                return toShort(number);
             }
 
             if (type == Byte.class || type == byte.class) {
@@ -724,12 +1341,15 @@ public class MappingParserImpl implements MappingParser {
             final String string = JsonString.class.cast(jsonValue).getString();
             if (itemConverter == null) {
                 // check whether we have a jsonPointer to a previously deserialised object
-                if (!String.class.equals(type)) {
-                    Object o = jsonPointers.get(string);
+                if (isDeduplicateObjects && !String.class.equals(type) && string.startsWith("/")) {
+                    final Object o = findReference(string);
                     if (o != null) {
                         return o;
                     }
                 }
+                if (String.class == type) {
+                    return deduplicate(string);
+                }
                 return convertTo(type, string);
             } else {
                 return itemConverter.to(string);
@@ -802,6 +1422,15 @@ public class MappingParserImpl implements MappingParser {
         throw new UnsupportedOperationException("type " + type + " not supported");
     }
 
+    private static short toShort(final JsonNumber number) {
+        final int intValue = number.intValue();
+        final short shortVal = (short) intValue;
+        if (intValue != shortVal) {
+            throw new java.lang.ArithmeticException("Overflow");
+        }
+        return shortVal;
+    }
+
     private Object buildArrayWithComponentType(final JsonArray jsonArray, final Class<?> componentType, final Adapter itemConverter,
                                                final JsonPointerTracker jsonPointer, final Type rootType) {
 
@@ -809,8 +1438,12 @@ public class MappingParserImpl implements MappingParser {
             boolean[] array = new boolean[jsonArray.size()];
             int i = 0;
             for (final JsonValue value : jsonArray) {
-                array[i] = (boolean) toObject(null, value, componentType, itemConverter,
-                        isDeduplicateObjects ? new JsonPointerTracker(jsonPointer, i) : null, rootType);
+                if (itemConverter == null && (JsonValue.ValueType.TRUE == value.getValueType() || JsonValue.ValueType.FALSE == value.getValueType())) {
+                    array[i] = JsonValue.ValueType.TRUE == value.getValueType();
+                } else {
+                    array[i] = (boolean) toObject(null, value, componentType, itemConverter,
+                            isDeduplicateObjects ? new JsonPointerTracker(jsonPointer, i) : null, rootType);
+                }
                 i++;
             }
             return array;
@@ -839,8 +1472,12 @@ public class MappingParserImpl implements MappingParser {
             short[] array = new short[jsonArray.size()];
             int i = 0;
             for (final JsonValue value : jsonArray) {
-                array[i] = (short) toObject(null, value, componentType, itemConverter,
-                        isDeduplicateObjects ? new JsonPointerTracker(jsonPointer, i) : null, rootType);
+                if (itemConverter == null && JsonNumber.class.isInstance(value)) {
+                    array[i] = toShort(JsonNumber.class.cast(value));
+                } else {
+                    array[i] = (short) toObject(null, value, componentType, itemConverter,
+                            isDeduplicateObjects ? new JsonPointerTracker(jsonPointer, i) : null, rootType);
+                }
                 i++;
             }
             return array;
@@ -849,8 +1486,12 @@ public class MappingParserImpl implements MappingParser {
             int[] array = new int[jsonArray.size()];
             int i = 0;
             for (final JsonValue value : jsonArray) {
-                array[i] = (int) toObject(null, value, componentType, itemConverter,
-                        isDeduplicateObjects ? new JsonPointerTracker(jsonPointer, i) : null, rootType);
+                if (itemConverter == null && JsonNumber.class.isInstance(value)) {
+                    array[i] = JsonNumber.class.cast(value).intValueExact();
+                } else {
+                    array[i] = (int) toObject(null, value, componentType, itemConverter,
+                            isDeduplicateObjects ? new JsonPointerTracker(jsonPointer, i) : null, rootType);
+                }
                 i++;
             }
             return array;
@@ -859,8 +1500,12 @@ public class MappingParserImpl implements MappingParser {
             long[] array = new long[jsonArray.size()];
             int i = 0;
             for (final JsonValue value : jsonArray) {
-                array[i] = (long) toObject(null, value, componentType, itemConverter,
-                        isDeduplicateObjects ? new JsonPointerTracker(jsonPointer, i) : null, rootType);
+                if (itemConverter == null && JsonNumber.class.isInstance(value)) {
+                    array[i] = JsonNumber.class.cast(value).longValueExact();
+                } else {
+                    array[i] = (long) toObject(null, value, componentType, itemConverter,
+                            isDeduplicateObjects ? new JsonPointerTracker(jsonPointer, i) : null, rootType);
+                }
                 i++;
             }
             return array;
@@ -869,8 +1514,12 @@ public class MappingParserImpl implements MappingParser {
             float[] array = new float[jsonArray.size()];
             int i = 0;
             for (final JsonValue value : jsonArray) {
-                array[i] = (float) toObject(null, value, componentType, itemConverter,
-                        isDeduplicateObjects ? new JsonPointerTracker(jsonPointer, i) : null, rootType);
+                if (itemConverter == null && JsonNumber.class.isInstance(value)) {
+                    array[i] = (float) JsonNumber.class.cast(value).doubleValue();
+                } else {
+                    array[i] = (float) toObject(null, value, componentType, itemConverter,
+                            isDeduplicateObjects ? new JsonPointerTracker(jsonPointer, i) : null, rootType);
+                }
                 i++;
             }
             return array;
@@ -879,8 +1528,12 @@ public class MappingParserImpl implements MappingParser {
             double[] array = new double[jsonArray.size()];
             int i = 0;
             for (final JsonValue value : jsonArray) {
-                array[i] = (double) toObject(null, value, componentType, itemConverter,
-                        isDeduplicateObjects ? new JsonPointerTracker(jsonPointer, i) : null, rootType);
+                if (itemConverter == null && JsonNumber.class.isInstance(value)) {
+                    array[i] = JsonNumber.class.cast(value).doubleValue();
+                } else {
+                    array[i] = (double) toObject(null, value, componentType, itemConverter,
+                            isDeduplicateObjects ? new JsonPointerTracker(jsonPointer, i) : null, rootType);
+                }
                 i++;
             }
             return array;
@@ -1004,14 +1657,7 @@ public class MappingParserImpl implements MappingParser {
             throw new IllegalStateException("not supported collection type: " + mapping.raw.getName());
         }
 
-        int i = 0;
-        for (final JsonValue value : jsonArray) {
-            collection.add(JsonValue.NULL.equals(value)
-                    ? null
-                    : toValue(null, value, null, itemConverter, mapping.arg, objectConverter,
-                    isDeduplicateObjects ? new JsonPointerTracker(jsonPointer, i) : null, rootType));
-            i++;
-        }
+        fillCollection(collection, mapping, jsonArray, itemConverter, objectConverter, jsonPointer, rootType);
 
         if (EnumSet.class == mapping.raw) {
             if (!config.isSupportEnumContainerDeserialization()) {
@@ -1032,29 +1678,58 @@ public class MappingParserImpl implements MappingParser {
     }
 
 
+    private void fillCollection(final Collection<Object> collection, final Mappings.CollectionMapping mapping, final JsonArray jsonArray,
+                                final Adapter itemConverter, final ObjectConverter.Reader objectConverter,
+                                final JsonPointerTracker jsonPointer, final Type rootType) {
+        int i = 0;
+        for (final JsonValue value : jsonArray) {
+            collection.add(JsonValue.NULL.equals(value)
+                    ? null
+                    : toValue(null, value, null, itemConverter, mapping.arg, objectConverter,
+                    isDeduplicateObjects ? new JsonPointerTracker(jsonPointer, i) : null, rootType));
+            i++;
+        }
+    }
+
+    private Object findReference(final String pointer) {
+        final int pending = pendingPointers.size();
+        if (pending > 0) {
+            for (int i = 0; i < pending; i++) {
+                jsonPointers.put(pendingPointers.get(i).toString(), pendingObjects.get(i));
+            }
+            pendingPointers.clear();
+            pendingObjects.clear();
+        }
+        return jsonPointers.get(pointer);
+    }
+
     private Object[] createParameters(final Mappings.ClassMapping mapping, final JsonObject object, JsonPointerTracker jsonPointer) {
         final int length = mapping.factory.getParameterTypes().length;
         final Object[] objects = new Object[length];
 
         for (int i = 0; i < length; i++) {
             final String paramName = mapping.factory.getParameterNames()[i];
-            final Type parameterType = mapping.factory.getParameterTypes()[i];
-            objects[i] = toValue(null,
-                    object.get(paramName),
-                    mapping.factory.getParameterConverter()[i],
-                    mapping.factory.getParameterItemConverter()[i],
-                    parameterType,
-                    mapping.factory.getObjectConverter()[i],
-                    isDeduplicateObjects ? new JsonPointerTracker(jsonPointer, paramName) : null,
-                    mapping.clazz); //X TODO ObjectConverter in @JohnzonConverter with Constructors!
-            if (objects[i] == null) {
-                objects[i] = getPrimitiveDefault(parameterType);
-            }
+            objects[i] = toParameter(mapping, i, object.get(paramName),
+                    isDeduplicateObjects ? new JsonPointerTracker(jsonPointer, paramName) : null);
         }
 
         return objects;
     }
 
+    private Object toParameter(final Mappings.ClassMapping mapping, final int index, final JsonValue jsonValue,
+                               final JsonPointerTracker jsonPointer) {
+        final Type parameterType = mapping.factory.getParameterTypes()[index];
+        final Object value = toValue(null,
+                jsonValue,
+                mapping.factory.getParameterConverter()[index],
+                mapping.factory.getParameterItemConverter()[index],
+                parameterType,
+                mapping.factory.getObjectConverter()[index],
+                jsonPointer,
+                mapping.clazz); //X TODO ObjectConverter in @JohnzonConverter with Constructors!
+        return value == null ? getPrimitiveDefault(parameterType) : value;
+    }
+
     private Object toValue(final Object baseInstance, final JsonValue jsonValue, final Adapter converter,
                            final Adapter itemConverter, final Type type, final ObjectConverter.Reader objectConverter,
                            final JsonPointerTracker jsonPointer, final Type rootType) {
@@ -1084,17 +1759,17 @@ public class MappingParserImpl implements MappingParser {
             return text;
         }
         final Adapter converter = findAdapter(aClass);
-        Method method = valueOfs.get(aClass);
-        if (method == null && Class.class.isInstance(aClass)) { // handle primitives
+        Method method = null;
+        if (Class.class.isInstance(aClass)) { // handle primitives
             final Class cast = Class.class.cast(aClass);
-            try {
-                method = cast.getMethod("valueOf", String.class);
-                if (Modifier.isPublic(method.getModifiers()) && Modifier.isStatic(method.getModifiers())) {
-                    valueOfs.putIfAbsent(cast, method);
-                } else {
-                    method = null;
-                }
-            } catch (final NoSuchMethodException e) {
+            final ClassMetadata metadata = config.getClassMetadata(cast);
+            Object valueOf = metadata.valueOf;
+            if (valueOf == null) {
+                valueOf = ClassMetadata.wrap(findValueOf(cast));
+                metadata.valueOf = valueOf;
+            }
+            method = ClassMetadata.unwrap(valueOf);
+            if (method == null) {
                 // if a real primitive (very unlikely) try the wrapper
                 if (char.class == aClass) {
                     return CHARACTER_CONVERTER.fromString(text);
@@ -1104,7 +1779,6 @@ public class MappingParserImpl implements MappingParser {
                 } catch (final Exception e1) {
                     // no-op
                 }
-                // no-op
             }
         }
         if (method != null) {
@@ -1126,10 +1800,35 @@ public class MappingParserImpl implements MappingParser {
         return converter.to(text);
     }
 
+    private static Method findValueOf(final Class<?> clazz) {
+        try {
+            final Method method = clazz.getMethod("valueOf", String.class);
+            if (Modifier.isPublic(method.getModifiers()) && Modifier.isStatic(method.getModifiers())) {
+                return method;
+            }
+        } catch (final NoSuchMethodException e) {
+            // no-op
+        }
+        return null;
+    }
+
+    private Adapter findAdapter(final Type aClass) {
+        if (Class.class.isInstance(aClass)) {
+            final ClassMetadata metadata = config.getClassMetadata(Class.class.cast(aClass));
+            Object adapter = metadata.parserAdapter;
+            if (adapter == null) {
+                adapter = ClassMetadata.wrap(doFindAdapter(aClass));
+                metadata.parserAdapter = adapter;
+            }
+            return ClassMetadata.unwrap(adapter);
+        }
+        return doFindAdapter(aClass);
+    }
+
     /**
      * @deprecated see MapperConfig - it is acually reversed so maybe not deprecated after all?
      */
-    private Adapter findAdapter(final Type aClass) {
+    private Adapter doFindAdapter(final Type aClass) {
         if (config.getNoParserAdapterTypes().contains(aClass)) {
             return null;
         }
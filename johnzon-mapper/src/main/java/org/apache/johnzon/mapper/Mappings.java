@@ -50,12 +50,15 @@ import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 import org.apache.johnzon.mapper.access.AccessMode;
 import org.apache.johnzon.mapper.access.FieldAccessMode;
 import org.apache.johnzon.mapper.access.MethodAccessMode;
+import org.apache.johnzon.mapper.converter.CachedDelegateConverter;
 import org.apache.johnzon.mapper.converter.DateWithCopyConverter;
 import org.apache.johnzon.mapper.internal.AdapterKey;
 import org.apache.johnzon.mapper.internal.ConverterAdapter;
@@ -76,6 +79,15 @@ public class Mappings {
         public final Field anyField;
         public final Method mapAdder;
         public final Class<?> mapAdderType;
+        /**
+         * Position of the creator (constructor or factory) arguments by JSON name, empty when there is none.
+         */
+        public final Map<String, Integer> factoryParameterIndexes;
+        /**
+         * Position of the setters by JSON name, {@link #indexedSetters} holds the setters at these positions.
+         */
+        public final Map<String, Integer> setterIndexes;
+        public final Setter[] indexedSetters;
 
 
         private Boolean deduplicateObjects;
@@ -99,6 +111,25 @@ public class Mappings {
             this.anyField = anyField;
             this.mapAdder = mapAdder;
             this.mapAdderType = mapAdder == null ? null : mapAdder.getParameterTypes()[1];
+            this.factoryParameterIndexes = indexParameters(factory);
+            this.setterIndexes = new HashMap<>(setters.size() * 2);
+            this.indexedSetters = new Setter[setters.size()];
+            for (final Map.Entry<String, Setter> setter : setters.entrySet()) {
+                indexedSetters[setterIndexes.size()] = setter.getValue();
+                setterIndexes.put(setter.getKey(), setterIndexes.size());
+            }
+        }
+
+        private static Map<String, Integer> indexParameters(final AccessMode.Factory factory) {
+            if (factory == null || factory.getParameterNames() == null || factory.getParameterNames().length == 0) {
+                return emptyMap();
+            }
+            final String[] names = factory.getParameterNames();
+            final Map<String, Integer> indexes = new HashMap<>(names.length * 2);
+            for (int i = 0; i < names.length; i++) {
+                indexes.put(names[i], i);
+            }
+            return indexes;
         }
 
         public Boolean isDeduplicateObjects() {
@@ -228,11 +259,19 @@ public class Mappings {
         public final ObjectConverter.Reader objectConverter;
         public final boolean primitive;
         public final boolean array;
+        public final boolean deduplicateStrings;
 
         public Setter(final AccessMode.Writer writer, final boolean primitive, final boolean array,
                       final Type paramType, final MapperConverter converter, final ObjectConverter.Reader providedObjectConverter,
                       final int version) {
+            this(writer, primitive, array, paramType, converter, providedObjectConverter, version, false);
+        }
+
+        public Setter(final AccessMode.Writer writer, final boolean primitive, final boolean array,
+                      final Type paramType, final MapperConverter converter, final ObjectConverter.Reader providedObjectConverter,
+                      final int version, final boolean deduplicateStrings) {
             this.writer = writer;
+            this.deduplicateStrings = deduplicateStrings;
             this.paramType = paramType;
             this.version = version;
             this.primitive = primitive;
@@ -298,6 +337,10 @@ public class Mappings {
     protected final ConcurrentMap<Type, ClassMapping> classes = new ConcurrentHashMap<Type, ClassMapping>();
     protected final ConcurrentMap<Type, CollectionMapping> collections = new ConcurrentHashMap<Type, CollectionMapping>();
 
+    // single flight creation: concurrent lookups of a class mapping being created wait for it instead of creating it again
+    private final ConcurrentMap<Type, CompletableFuture<ClassMapping>> pendingClasses = new ConcurrentHashMap<>();
+    private final ThreadLocal<Boolean> creatingClassMapping = new ThreadLocal<>();
+
     protected final MapperConfig config;
 
     public Mappings(final MapperConfig config) {
@@ -403,12 +446,113 @@ public class Mappings {
         return null;
     }
 
+    /**
+     * @return the classes having a class mapping.
+     */
+    public Collection<Class<?>> getMappedClasses() {
+        final Collection<Class<?>> mapped = new LinkedHashSet<>();
+        for (final ClassMapping mapping : classes.values()) {
+            mapped.add(mapping.clazz);
+        }
+        return mapped;
+    }
+
     public ClassMapping getClassMapping(final Type clazz) {
         return classes.get(clazz);
     }
 
     public ClassMapping findOrCreateClassMapping(final Type clazz) {
-        return doFindOrCreateClassMapping(clazz, emptyMap(), false);
+        final ClassMapping existing = classes.get(clazz);
+        if (existing != null) {
+            return existing;
+        }
+        // nested lookups (from a mapping creation) don't wait to avoid any dead lock
+        if (creatingClassMapping.get() != null) {
+            return doFindOrCreateClassMapping(clazz, emptyMap(), false);
+        }
+
+        final CompletableFuture<ClassMapping> future = new CompletableFuture<>();
+        final CompletableFuture<ClassMapping> pending = pendingClasses.putIfAbsent(clazz, future);
+        if (pending != null) {
+            try {
+                return pending.join();
+            } catch (final CompletionException ce) {
+                if (RuntimeException.class.isInstance(ce.getCause())) {
+                    throw RuntimeException.class.cast(ce.getCause());
+                }
+                throw new MapperException(ce.getCause());
+            }
+        }
+
+        creatingClassMapping.set(true);
+        try {
+            final ClassMapping mapping = doFindOrCreateClassMapping(clazz, emptyMap(), false);
+            future.complete(mapping);
+            return mapping;
+        } catch (final RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            creatingClassMapping.remove();
+            pendingClasses.remove(clazz, future);
+        }
+    }
+
+    /**
+     * Creates the mappings (class, collection and adapters) of the type and the types it references.
+     *
+     * @param type the type to prepare.
+     */
+    public void warmup(final Type type) {
+        warmup(type, new HashSet<>());
+    }
+
+    private void warmup(final Type type, final Collection<Type> visited) {
+        if (type == null || type == Object.class || isPrimitive(type) || !visited.add(type)) {
+            return;
+        }
+        if (GenericArrayType.class.isInstance(type)) {
+            warmup(GenericArrayType.class.cast(type).getGenericComponentType(), visited);
+            return;
+        }
+        if (ParameterizedType.class.isInstance(type)) {
+            final ParameterizedType pt = ParameterizedType.class.cast(type);
+            if (Class.class.isInstance(pt.getRawType())) {
+                final Class<?> raw = Class.class.cast(pt.getRawType());
+                if (Collection.class.isAssignableFrom(raw) || Map.class.isAssignableFrom(raw)) {
+                    // only resolved types, type variables depend on the enclosing type
+                    if (Collection.class.isAssignableFrom(raw) && Class.class.isInstance(pt.getActualTypeArguments()[0])) {
+                        findCollectionMapping(pt, pt);
+                    }
+                    for (final Type arg : pt.getActualTypeArguments()) {
+                        warmup(arg, visited);
+                    }
+                    return;
+                }
+            }
+        } else if (Class.class.isInstance(type)) {
+            final Class<?> clazz = Class.class.cast(type);
+            if (clazz.isArray()) {
+                warmup(clazz.getComponentType(), visited);
+                return;
+            }
+            if (config.findAdapter(clazz) != null || clazz.isEnum() || clazz.getName().startsWith("java.")) {
+                return;
+            }
+        } else {
+            return;
+        }
+
+        final ClassMapping mapping = findOrCreateClassMapping(type);
+        if (mapping == null) {
+            return;
+        }
+        for (final Getter getter : mapping.getters.values()) {
+            warmup(getter.reader.getType(), visited);
+        }
+        for (final Setter setter : mapping.setters.values()) {
+            warmup(setter.paramType, visited);
+        }
     }
 
     private ClassMapping doFindOrCreateClassMapping(final Type clazz, final Map<Type, Type> args,
@@ -464,6 +608,13 @@ public class Mappings {
         }
         final Class<?> clazz = findModelClass(inClazz);
 
+        final GeneratedCodec<?> generatedCodec = config.findGeneratedCodec(clazz);
+        if (generatedCodec != null) { // binding code generated at build time, no need to introspect the class
+            return new ClassMapping(
+                    clazz, null, emptyMap(), emptyMap(), null,
+                    generatedCodec, generatedCodec, null, null, null, null);
+        }
+
         AccessMode accessMode = config.getAccessMode();
 
         Comparator<String> fieldComparator = accessMode.fieldComparator(inClazz);
@@ -563,7 +714,8 @@ public class Mappings {
                     (returnType != null && returnType.isArray()) || GenericArrayType.class.isInstance(value.getType()),
                     resolve(param, rootClass, resolvedTypes),
                     findConverter(copyDate, value), value.findObjectConverterReader(),
-                    writeIgnore != null ? writeIgnore.minVersion() : -1);
+                    writeIgnore != null ? writeIgnore.minVersion() : -1,
+                    value.getAnnotation(JohnzonDeduplicateStrings.class) != null);
             setters.put(key, setter);
         }
     }
@@ -707,6 +859,9 @@ public class Mappings {
     }
 
     private boolean isBuiltInJohnzonConverter(final Converter<?> converter) {
+        if (CachedDelegateConverter.class.isInstance(converter)) {
+            return isBuiltInJohnzonConverter(CachedDelegateConverter.class.cast(converter).getDelegate());
+        }
         final Class<?> clazz = converter.getClass();
         // don't reduce too much this package filter, we really want to filter the mapper module ones
         return clazz.getName().startsWith("org.apache.johnzon.mapper.") ||
@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.mapper;
+
+import org.apache.johnzon.core.JohnzonJsonParser;
+
+import javax.json.JsonBuilderFactory;
+import javax.json.JsonValue;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParsingException;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Reads a top level JSON array directly from the parser events into a primitive array
+ * ({@code int[]}, {@code long[]}, {@code double[]}, {@code float[]}, {@code short[]} or {@code boolean[]}),
+ * numbers and booleans are converted without creating a {@link JsonValue} nor boxing them.
+ * Other items (strings, nulls, structures) go through the tree based mapping to keep its conversions and errors.
+ */
+final class PrimitiveArrayReader {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final JsonParser parser;
+    private final JohnzonJsonParser johnzonParser;
+    private final JsonBuilderFactory builderFactory;
+    private final Function<JsonValue, Object> treeMapper;
+    private final boolean checkEnd;
+
+    /**
+     * @param parser the parser positioned before the array.
+     * @param builderFactory used to wrap the items needing the tree based mapping.
+     * @param treeMapper maps a JSON value to the requested array type (tree based mapping).
+     * @param checkEnd should the document end after the array.
+     */
+    PrimitiveArrayReader(final JsonParser parser, final JsonBuilderFactory builderFactory,
+                         final Function<JsonValue, Object> treeMapper, final boolean checkEnd) {
+        this.parser = parser;
+        this.johnzonParser = JohnzonJsonParser.class.isInstance(parser) ? JohnzonJsonParser.class.cast(parser) : null;
+        this.builderFactory = builderFactory;
+        this.treeMapper = treeMapper;
+        this.checkEnd = checkEnd;
+    }
+
+    static boolean isSupported(final Type type) {
+        return type == int[].class || type == long[].class || type == double[].class
+                || type == float[].class || type == short[].class || type == boolean[].class;
+    }
+
+    Object read(final Class<?> arrayType) {
+        if (!parser.hasNext()) {
+            throw new EmptyDocumentException();
+        }
+        final Object result;
+        final JsonParser.Event event = parser.next();
+        if (event != JsonParser.Event.START_ARRAY) {
+            result = event == JsonParser.Event.VALUE_NULL ? null : treeMapper.apply(parser.getValue());
+        } else if (arrayType == int[].class) {
+            result = readInts();
+        } else if (arrayType == long[].class) {
+            result = readLongs();
+        } else if (arrayType == double[].class) {
+            result = readDoubles();
+        } else if (arrayType == float[].class) {
+            result = readFloats();
+        } else if (arrayType == short[].class) {
+            result = readShorts();
+        } else {
+            result = readBooleans();
+        }
+        if (checkEnd && parser.hasNext()) {
+            throw new JsonParsingException("Expected end of file", parser.getLocation());
+        }
+        return result;
+    }
+
+    private int[] readInts() {
+        int[] array = new int[INITIAL_CAPACITY];
+        int size = 0;
+        JsonParser.Event event;
+        while ((event = parser.next()) != JsonParser.Event.END_ARRAY) {
+            if (size == array.length) {
+                array = Arrays.copyOf(array, size * 2);
+            }
+            if (event == JsonParser.Event.VALUE_NUMBER) {
+                if (isLong()) {
+                    final long value = parser.getLong();
+                    if ((int) value != value) {
+                        throw new ArithmeticException("Overflow");
+                    }
+                    array[size++] = (int) value;
+                } else {
+                    array[size++] = parser.getBigDecimal().intValueExact();
+                }
+            } else {
+                array[size++] = int[].class.cast(mapItem())[0];
+            }
+        }
+        return size == array.length ? array : Arrays.copyOf(array, size);
+    }
+
+    private long[] readLongs() {
+        long[] array = new long[INITIAL_CAPACITY];
+        int size = 0;
+        JsonParser.Event event;
+        while ((event = parser.next()) != JsonParser.Event.END_ARRAY) {
+            if (size == array.length) {
+                array = Arrays.copyOf(array, size * 2);
+            }
+            if (event == JsonParser.Event.VALUE_NUMBER) {
+                array[size++] = isLong() ? parser.getLong() : parser.getBigDecimal().longValueExact();
+            } else {
+                array[size++] = long[].class.cast(mapItem())[0];
+            }
+        }
+        return size == array.length ? array : Arrays.copyOf(array, size);
+    }
+
+    private double[] readDoubles() {
+        double[] array = new double[INITIAL_CAPACITY];
+        int size = 0;
+        JsonParser.Event event;
+        while ((event = parser.next()) != JsonParser.Event.END_ARRAY) {
+            if (size == array.length) {
+                array = Arrays.copyOf(array, size * 2);
+            }
+            if (event == JsonParser.Event.VALUE_NUMBER) {
+                array[size++] = doubleValue();
+            } else {
+                array[size++] = double[].class.cast(mapItem())[0];
+            }
+        }
+        return size == array.length ? array : Arrays.copyOf(array, size);
+    }
+
+    private float[] readFloats() {
+        float[] array = new float[INITIAL_CAPACITY];
+        int size = 0;
+        JsonParser.Event event;
+        while ((event = parser.next()) != JsonParser.Event.END_ARRAY) {
+            if (size == array.length) {
+                array = Arrays.copyOf(array, size * 2);
+            }
+            if (event == JsonParser.Event.VALUE_NUMBER) {
+                array[size++] = (float) doubleValue();
+            } else {
+                array[size++] = float[].class.cast(mapItem())[0];
+            }
+        }
+        return size == array.length ? array : Arrays.copyOf(array, size);
+    }
+
+    private short[] readShorts() {
+        short[] array = new short[INITIAL_CAPACITY];
+        int size = 0;
+        JsonParser.Event event;
+        while ((event = parser.next()) != JsonParser.Event.END_ARRAY) {
+            if (size == array.length) {
+                array = Arrays.copyOf(array, size * 2);
+            }
+            if (event == JsonParser.Event.VALUE_NUMBER) {
+                final int value = isLong() ? (int) parser.getLong() : parser.getBigDecimal().intValue();
+                if ((short) value != value) {
+                    throw new ArithmeticException("Overflow");
+                }
+                array[size++] = (short) value;
+            } else {
+                array[size++] = short[].class.cast(mapItem())[0];
+            }
+        }
+        return size == array.length ? array : Arrays.copyOf(array, size);
+    }
+
+    private boolean[] readBooleans() {
+        boolean[] array = new boolean[INITIAL_CAPACITY];
+        int size = 0;
+        JsonParser.Event event;
+        while ((event = parser.next()) != JsonParser.Event.END_ARRAY) {
+            if (size == array.length) {
+                array = Arrays.copyOf(array, size * 2);
+            }
+            if (event == JsonParser.Event.VALUE_TRUE) {
+                array[size++] = true;
+            } else if (event == JsonParser.Event.VALUE_FALSE) {
+                array[size++] = false;
+            } else {
+                array[size++] = boolean[].class.cast(mapItem())[0];
+            }
+        }
+        return size == array.length ? array : Arrays.copyOf(array, size);
+    }
+
+    // same conversions as the tree based mapping (JsonLongImpl for small integers, BigDecimal otherwise)
+    private boolean isLong() {
+        return johnzonParser != null && johnzonParser.isFitLong();
+    }
+
+    private double doubleValue() {
+        if (isLong()) {
+            return parser.getLong();
+        }
+        return johnzonParser != null ? johnzonParser.getDouble() : parser.getBigDecimal().doubleValue();
+    }
+
+    private Object mapItem() {
+        return treeMapper.apply(builderFactory.createArrayBuilder().add(parser.getValue()).build());
+    }
+}
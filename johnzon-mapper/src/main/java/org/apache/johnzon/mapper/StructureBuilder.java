@@ -0,0 +1,395 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.mapper;
+
+import org.apache.johnzon.mapper.number.LazyNumber;
+import org.apache.johnzon.mapper.util.ArrayUtil;
+
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonBuilderFactory;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonValue;
+import javax.json.spi.JsonProvider;
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.BaseStream;
+
+/**
+ * Builds the {@link JsonValue} of an instance directly from its {@link Mappings.ClassMapping} getters,
+ * without emulating a {@link javax.json.stream.JsonGenerator}.
+ * It follows the {@link MappingGeneratorImpl} rules (skipped nulls and empty arrays, converters, discriminator, ...)
+ * and delegates to it, through a {@link JsonObjectGenerator}, the values it doesn't map itself:
+ * the ones handled by an {@link ObjectConverter.Writer}, a class mapping writer or adapter.
+ * Deduplicated objects are not supported, the caller uses the generator for them.
+ */
+final class StructureBuilder {
+    private final MapperConfig config;
+    private final Mappings mappings;
+    private final JsonProvider provider;
+    private final JsonBuilderFactory builderFactory;
+
+    StructureBuilder(final MapperConfig config, final Mappings mappings,
+                     final JsonProvider provider, final JsonBuilderFactory builderFactory) {
+        this.config = config;
+        this.mappings = mappings;
+        this.provider = provider;
+        this.builderFactory = builderFactory;
+    }
+
+    /**
+     * @param object the instance to map, as a root or an item (see {@link MappingGeneratorImpl#doWriteObject}).
+     * @return its structure.
+     */
+    JsonValue build(final Object object) {
+        return build(object, null);
+    }
+
+    private JsonValue build(final Object object, final Collection<String> ignored) {
+        if (object == null) {
+            return JsonValue.NULL;
+        }
+        if (Map.class.isInstance(object)) {
+            return buildMap(Map.class.cast(object), null);
+        }
+        final Class<?> type = object.getClass();
+        if (isPrimitive(type)) {
+            return primitive(type, object);
+        }
+        if (Enum.class.isAssignableFrom(type)) {
+            return provider.createValue(config.findAdapter(type).from(object).toString());
+        }
+        if (type.isArray()) {
+            return buildArray(type, config.findAdapter(type), object, ignored);
+        }
+        if (Iterable.class.isInstance(object)) {
+            return buildIterable(Iterable.class.cast(object), ignored);
+        }
+        final Mappings.ClassMapping classMapping = mappings.getClassMapping(type); // don't create here!
+        if (classMapping != null && classMapping.adapter != null) {
+            return build(classMapping.adapter.from(object), ignored);
+        }
+        if (config.findObjectConverterWriter(type) == null) {
+            final JsonValue value = buildObject(object, ignored, true);
+            if (value != null) {
+                return value;
+            }
+        }
+        final JsonObjectGenerator generator = new JsonObjectGenerator(builderFactory);
+        new MappingGeneratorImpl(config, generator, mappings, false).doWriteObject(object, generator, true, ignored, null);
+        return generator.getResult();
+    }
+
+    // null when the class mapping has its own writer or adapter
+    private JsonValue buildObject(final Object object, final Collection<String> ignored, final boolean discriminator) {
+        final Class<?> type = object.getClass();
+        final Mappings.ClassMapping classMapping = mappings.findOrCreateClassMapping(type);
+        if (classMapping == null) {
+            throw new MapperException("No mapping for " + type.getName());
+        }
+        if (classMapping.writer != null || classMapping.adapter != null) {
+            return null;
+        }
+
+        final JsonObjectBuilder builder = builderFactory.createObjectBuilder();
+        if (discriminator && config.getSerializationPredicate() != null && config.getSerializationPredicate().test(type)) {
+            builder.add(config.getDiscriminator(), config.getDiscriminatorMapper().apply(type));
+        }
+        for (final Map.Entry<String, Mappings.Getter> getterEntry : classMapping.getters.entrySet()) {
+            final String key = getterEntry.getKey();
+            final Mappings.Getter getter = getterEntry.getValue();
+            if (ignored != null && ignored.contains(key)) {
+                continue;
+            }
+            if (getter.version >= 0 && config.getVersion() >= 0 && config.getVersion() < getter.version) {
+                continue;
+            }
+
+            final Object value = getter.reader.read(object);
+            if (JsonValue.class.isInstance(value)) {
+                builder.add(key, JsonValue.class.cast(value));
+                continue;
+            }
+            if (value == null) {
+                if (getter.reader.isNillable(!config.isSkipNull())) {
+                    builder.addNull(key);
+                }
+                continue;
+            }
+
+            final Object val = getter.converter == null ? value : getter.converter.from(value);
+            final JsonValue jsonValue = buildValue(val.getClass(), getter.dynamic, getter.primitive, getter.array,
+                    getter.collection, getter.map, getter.itemConverter, key, val, getter.objectConverter, getter.ignoreNested);
+            if (jsonValue != null) {
+                builder.add(key, jsonValue);
+            }
+        }
+        if (classMapping.anyGetter != null) {
+            final Map<String, Object> any = Map.class.cast(classMapping.anyGetter.reader.read(object));
+            if (any != null) {
+                addEntries(builder, any, null);
+            }
+        }
+        return builder.build();
+    }
+
+    // MappingGeneratorImpl.writeValue(), null when nothing is written
+    //CHECKSTYLE:OFF
+    private JsonValue buildValue(final Class<?> type, final boolean dynamic,
+                                 final boolean primitive, final boolean array,
+                                 final boolean collection, final boolean map,
+                                 final Adapter itemConverter,
+                                 final String key, final Object value,
+                                 final ObjectConverter.Writer objectConverter,
+                                 final Collection<String> ignored) {
+        //CHECKSTYLE:ON
+        if (config.getSerializeValueFilter().shouldIgnore(key, value)) {
+            return null;
+        }
+        if ((!dynamic && array) || (dynamic && type.isArray())) {
+            return buildArray(type, itemConverter, value, ignored);
+        }
+        if ((!dynamic && collection) || (dynamic && Iterable.class.isAssignableFrom(type))) {
+            if (objectConverter == null) {
+                return buildItems(Iterable.class.cast(value).iterator(), itemConverter, ignored);
+            }
+        } else if ((!dynamic && map) || (dynamic && Map.class.isAssignableFrom(type))) {
+            return buildMap(Map.class.cast(value), itemConverter);
+        } else if ((!dynamic && primitive) || (dynamic && Mappings.isPrimitive(type))) {
+            if (objectConverter == null) {
+                return isPrimitive(type) ? primitive(type, value) : null;
+            }
+        } else if (BaseStream.class.isAssignableFrom(type) || Iterator.class.isAssignableFrom(type)) {
+            if (objectConverter == null) {
+                return buildItems(BaseStream.class.isInstance(value) ?
+                        BaseStream.class.cast(value).iterator() : Iterator.class.cast(value), itemConverter, ignored);
+            }
+        } else if (objectConverter == null && config.findObjectConverterWriter(type) == null) {
+            final Adapter converter = config.findAdapter(type);
+            if (converter != null) {
+                final Object adapted = converter.from(value);
+                if (isPrimitive(adapted.getClass())) {
+                    return primitive(adapted.getClass(), adapted);
+                }
+                if (config.getSerializeValueFilter().shouldIgnore(key, adapted)) {
+                    return null;
+                }
+                return provider.createValue(adapted.toString());
+            }
+            if (isPrimitive(type)) {
+                return primitive(type, value);
+            }
+            final JsonValue object = buildObject(value, ignored, false);
+            if (object != null) {
+                return object;
+            }
+        }
+
+        // converted by an ObjectConverter or a class mapping writer: let the generator write this value
+        final JsonObjectGenerator generator = new JsonObjectGenerator(builderFactory);
+        generator.writeStartObject();
+        try {
+            new MappingGeneratorImpl(config, generator, mappings, false).writeValue(
+                    type, dynamic, primitive, array, collection, map, itemConverter, key, value, objectConverter, ignored, null, generator);
+        } catch (final InvocationTargetException | IllegalAccessException e) {
+            throw new MapperException(e);
+        }
+        generator.writeEnd();
+        return generator.getResult().asJsonObject().get(key);
+    }
+
+    private JsonValue buildMap(final Map<?, ?> map, final Adapter itemConverter) {
+        final JsonObjectBuilder builder = builderFactory.createObjectBuilder();
+        addEntries(builder, map, itemConverter);
+        return builder.build();
+    }
+
+    // MappingGeneratorImpl.writeMapBody()
+    private void addEntries(final JsonObjectBuilder builder, final Map<?, ?> map, final Adapter itemConverter) {
+        for (final Map.Entry<?, ?> entry : map.entrySet()) {
+            final Object value = entry.getValue();
+            final String key = entry.getKey() == null ? "null" : entry.getKey().toString();
+            if (value == null) {
+                if (!config.isSkipNull()) {
+                    builder.addNull(key);
+                }
+                continue;
+            }
+            final JsonValue jsonValue = buildValue(value.getClass(), true, false, false, false, false,
+                    itemConverter, key, value, null, null);
+            if (jsonValue != null) {
+                builder.add(key, jsonValue);
+            }
+        }
+    }
+
+    // MappingGeneratorImpl.writeArray(), null when nothing is written
+    private JsonValue buildArray(final Class<?> type, final Adapter itemConverter, final Object arrayValue, final Collection<String> ignored) {
+        final int length = ArrayUtil.getArrayLength(arrayValue);
+        if (length == 0 && config.isSkipEmptyArray()) {
+            return null;
+        }
+        if (type == byte[].class && (config.isTreatByteArrayAsBase64() || config.isTreatByteArrayAsBase64URL())) {
+            return provider.createValue((config.isTreatByteArrayAsBase64() ? Base64.getEncoder() : Base64.getUrlEncoder())
+                    .encodeToString(byte[].class.cast(arrayValue)));
+        }
+
+        final JsonArrayBuilder builder = builderFactory.createArrayBuilder();
+        if (type == byte[].class) {
+            for (final byte value : byte[].class.cast(arrayValue)) {
+                builder.add(value);
+            }
+        } else if (type == short[].class) {
+            for (final short value : short[].class.cast(arrayValue)) {
+                builder.add(value);
+            }
+        } else if (type == int[].class) {
+            for (final int value : int[].class.cast(arrayValue)) {
+                builder.add(value);
+            }
+        } else if (type == long[].class) {
+            for (final long value : long[].class.cast(arrayValue)) {
+                builder.add(value);
+            }
+        } else if (type == float[].class) {
+            for (final float value : float[].class.cast(arrayValue)) {
+                builder.add(value);
+            }
+        } else if (type == double[].class) {
+            for (final double value : double[].class.cast(arrayValue)) {
+                builder.add(value);
+            }
+        } else if (type == char[].class) {
+            for (final char value : char[].class.cast(arrayValue)) {
+                builder.add(String.valueOf(value));
+            }
+        } else if (type == boolean[].class) {
+            for (final boolean value : boolean[].class.cast(arrayValue)) {
+                builder.add(value);
+            }
+        } else {
+            for (final Object item : Object[].class.cast(arrayValue)) {
+                addItem(builder, JsonValue.class.isInstance(item) || itemConverter == null ? item : itemConverter.from(item), ignored);
+            }
+        }
+        return builder.build();
+    }
+
+    // MappingGeneratorImpl.doWriteIterable()
+    private JsonValue buildIterable(final Iterable<?> iterable, final Collection<String> ignored) {
+        final JsonArrayBuilder builder = builderFactory.createArrayBuilder();
+        for (final Object item : iterable) {
+            addItem(builder, item, ignored);
+        }
+        return builder.build();
+    }
+
+    // MappingGeneratorImpl.writeIterator()
+    private JsonValue buildItems(final Iterator<?> iterator, final Adapter itemConverter, final Collection<String> ignored) {
+        final JsonArrayBuilder builder = builderFactory.createArrayBuilder();
+        while (iterator.hasNext()) {
+            final Object item = iterator.next();
+            if (item != null && config.findObjectConverterWriter(item.getClass()) != null) {
+                final JsonObjectGenerator generator = new JsonObjectGenerator(builderFactory);
+                generator.writeStartArray();
+                new MappingGeneratorImpl(config, generator, mappings, false).writeIteratorItem(
+                        item, itemConverter, null, ignored, null, generator);
+                generator.writeEnd();
+                generator.getResult().asJsonArray().forEach(builder::add);
+            } else {
+                addItem(builder, itemConverter != null ? itemConverter.from(item) : item, ignored);
+            }
+        }
+        return builder.build();
+    }
+
+    // MappingGeneratorImpl.writeItem()
+    private void addItem(final JsonArrayBuilder builder, final Object item, final Collection<String> ignored) {
+        if (item == null) {
+            builder.addNull();
+            return;
+        }
+        final Class<?> type = item.getClass();
+        final JsonValue value;
+        if (isPrimitive(type)) {
+            value = primitive(type, item);
+        } else if (Collection.class.isInstance(item)) {
+            value = buildIterable(Collection.class.cast(item), ignored);
+        } else if (type.isArray()) {
+            value = buildArray(type, null, item, ignored);
+        } else {
+            value = build(item, ignored);
+        }
+        if (value != null) {
+            builder.add(value);
+        }
+    }
+
+    // types of MappingGeneratorImpl.writePrimitives()
+    private static boolean isPrimitive(final Class<?> type) {
+        return Mappings.isPrimitive(type) || JsonValue.class.isAssignableFrom(type) || type == LazyNumber.class;
+    }
+
+    // MappingGeneratorImpl.writePrimitives(), null when nothing is written (NaN)
+    private JsonValue primitive(final Class<?> type, final Object value) {
+        if (type == String.class) {
+            return provider.createValue(value.toString());
+        }
+        if (JsonValue.class.isAssignableFrom(type)) {
+            return JsonValue.class.cast(value);
+        }
+        if (type == long.class || type == Long.class) {
+            final long longValue = Long.class.cast(value);
+            if (!config.isUseJsRange() || (longValue <= 9007199254740991L && longValue >= -9007199254740991L)) {
+                return provider.createValue(longValue);
+            }
+            return provider.createValue(value.toString());
+        }
+        if (type == int.class || type == Integer.class
+                || type == byte.class || type == Byte.class
+                || type == short.class || type == Short.class) {
+            return provider.createValue(Number.class.cast(value).intValue());
+        }
+        if (type == float.class || type == Float.class) {
+            return Float.isNaN(Float.class.cast(value)) ? null : provider.createValue(new BigDecimal(value.toString()));
+        }
+        if (type == double.class || type == Double.class) {
+            final double doubleValue = Double.class.cast(value);
+            return Double.isNaN(doubleValue) ? null : provider.createValue(doubleValue);
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return Boolean.class.cast(value) ? JsonValue.TRUE : JsonValue.FALSE;
+        }
+        if (type == BigDecimal.class) {
+            return provider.createValue(BigDecimal.class.cast(value));
+        }
+        if (type == BigInteger.class) {
+            return provider.createValue(BigInteger.class.cast(value));
+        }
+        if (type == char.class || type == Character.class) {
+            return provider.createValue(value.toString());
+        }
+        final Number number = LazyNumber.class.cast(value).numberValue();
+        return primitive(number.getClass(), number);
+    }
+}
@@ -31,6 +31,7 @@ import java.util.function.Function;
 import java.util.stream.Stream;
 
 import org.apache.johnzon.mapper.Adapter;
+import org.apache.johnzon.mapper.GeneratedCodec;
 import org.apache.johnzon.mapper.ObjectConverter;
 
 @FunctionalInterface
@@ -120,6 +121,16 @@ public interface AccessMode {
         return MapHelper.find((name, type, param) -> type.getMethod("add" + name, String.class, param), clazz);
     }
 
+    /**
+     * Called for the codecs generated at build time when this access mode is configured explicitly.
+     *
+     * @param codec the generated codec.
+     * @return true if the codec binds its class as this access mode would, false to introspect the class at runtime.
+     */
+    default boolean acceptsGeneratedCodec(final GeneratedCodec<?> codec) {
+        return false;
+    }
+
     /**
      * Called once johnzon will not use AccessMode anymore. Can be used to clean up any local cache.
      *
@@ -28,10 +28,12 @@ import static org.apache.johnzon.mapper.reflection.Converters.matches;
 
 import java.beans.ConstructorProperties;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
@@ -226,18 +228,19 @@ public abstract class BaseAccessMode implements AccessMode {
         if (cons != null && !cons.isAccessible()) {
             cons.setAccessible(true);
         }
+        final MethodHandle handle = cons == null ? null : toSpreadHandle(cons);
         return new Factory() {
             @Override
             public Object create(final Object[] params) {
-                if (cons == null) {
+                if (handle == null) {
                     throw new IllegalArgumentException(clazz.getName() + " can't be instantiated by Johnzon, this is a write only class");
                 }
                 try {
-                    return params == null ? cons.newInstance() : cons.newInstance(params);
-                } catch (final InstantiationException | IllegalAccessException e) {
+                    return (Object) handle.invokeExact(params);
+                } catch (final RuntimeException | Error e) {
+                    throw e;
+                } catch (final Throwable e) { // checked exception of the constructor
                     throw new IllegalStateException(e);
-                } catch (final InvocationTargetException e) {
-                    throw new IllegalStateException(e.getCause());
                 }
             }
 
@@ -268,6 +271,21 @@ public abstract class BaseAccessMode implements AccessMode {
         };
     }
 
+    /**
+     * @param constructor an accessible constructor.
+     * @return a handle taking the arguments as an array (null when there is none) and returning the created instance.
+     */
+    private static MethodHandle toSpreadHandle(final Constructor<?> constructor) {
+        final int count = constructor.getParameterCount();
+        try {
+            return MethodHandles.lookup().unreflectConstructor(constructor).asFixedArity()
+                    .asType(MethodType.genericMethodType(count))
+                    .asSpreader(Object[].class, count);
+        } catch (final IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private Constructor<?> findRecordConstructor(Class<?> clazz) {
         return Stream.of(clazz.getConstructors())
                 .max(comparing(Constructor::getParameterCount))
@@ -41,6 +41,7 @@ import org.apache.johnzon.mapper.ObjectConverter;
 
 public class MethodAccessMode extends BaseAccessMode {
     private final boolean supportGetterAsWritter;
+    private final PropertyIndex propertyIndex = new PropertyIndex();
 
     public MethodAccessMode(final boolean useConstructor, final boolean acceptHiddenConstructor, final boolean supportGetterAsWritter) {
         super(useConstructor, acceptHiddenConstructor);
@@ -116,6 +117,10 @@ public class MethodAccessMode extends BaseAccessMode {
     }
 
     private PropertyDescriptor[] getPropertyDescriptors(final Class<?> clazz) {
+        final PropertyDescriptor[] indexed = propertyIndex.find(clazz);
+        if (indexed != null) {
+            return indexed;
+        }
         final PropertyDescriptor[] propertyDescriptors;
         try {
             propertyDescriptors = Introspector.getBeanInfo(clazz).getPropertyDescriptors();
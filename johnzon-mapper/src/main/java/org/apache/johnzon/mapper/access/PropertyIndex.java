@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.mapper.access;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import static java.util.Collections.emptyMap;
+
+/**
+ * Index of the java beans properties of classes computed at build time
+ * (see the {@code property-index} goal of johnzon-maven-plugin) and stored in {@link #LOCATION}.
+ * It avoids the {@link java.beans.Introspector} (and its BeanInfo lookups) the first time a class is mapped.
+ *
+ * Each line is {@code <class>=<property>:<read method>:<write method>:<write method parameter>,...},
+ * methods can be empty. An entry is only used if its properties are still the accessors of the class,
+ * the introspector is used otherwise.
+ */
+public class PropertyIndex {
+    public static final String LOCATION = "META-INF/johnzon/property.index";
+
+    private static final Map<String, String> NO_INDEX = emptyMap();
+
+    // weak keys to not pin redeployed loaders, only read the first time a class is mapped so a lock is fine
+    private final Map<ClassLoader, Map<String, String>> indices = new WeakHashMap<>();
+
+    /**
+     * @param clazz the class to describe.
+     * @return the properties of the class or null if it is not indexed (or the index is outdated).
+     */
+    public PropertyDescriptor[] find(final Class<?> clazz) {
+        final ClassLoader loader = clazz.getClassLoader();
+        if (loader == null) {
+            return null;
+        }
+        final String properties = getIndex(loader).get(clazz.getName());
+        if (properties == null) {
+            return null;
+        }
+        try {
+            final Accessors accessors = new Accessors(clazz);
+            final String[] segments = properties.isEmpty() ? new String[0] : properties.split(",");
+            final PropertyDescriptor[] descriptors = new PropertyDescriptor[segments.length];
+            final Set<String> names = new HashSet<>(segments.length);
+            for (int i = 0; i < segments.length; i++) {
+                final String[] property = segments[i].split(":", -1);
+                if (property.length != 4) {
+                    return null;
+                }
+                descriptors[i] = new PropertyDescriptor(
+                        property[0],
+                        property[1].isEmpty() ? null : accessors.findReadMethod(property[1]),
+                        property[2].isEmpty() ? null : accessors.findWriteMethod(property[2], property[3]));
+                names.add(property[0]);
+            }
+            if (!names.equals(accessors.names)) {
+                return null; // accessors were added or removed since the index was built
+            }
+            return descriptors;
+        } catch (final NoSuchMethodException | IntrospectionException e) {
+            return null; // outdated index, let the introspector compute it
+        }
+    }
+
+    /**
+     * @param descriptors the introspected properties of a class.
+     * @return the index value for these properties.
+     */
+    public static String toIndex(final PropertyDescriptor[] descriptors) {
+        final Collection<String> properties = new ArrayList<>(descriptors.length);
+        for (final PropertyDescriptor descriptor : descriptors) {
+            final Method readMethod = descriptor.getReadMethod();
+            final Method writeMethod = descriptor.getWriteMethod();
+            if (readMethod == null && writeMethod == null) {
+                continue;
+            }
+            properties.add(descriptor.getName() + ':' +
+                    (readMethod == null ? "" : readMethod.getName()) + ':' +
+                    (writeMethod == null ? "" : writeMethod.getName()) + ':' +
+                    (writeMethod == null ? "" : writeMethod.getParameterTypes()[0].getTypeName()));
+        }
+        return String.join(",", properties);
+    }
+
+    private Map<String, String> getIndex(final ClassLoader loader) {
+        synchronized (indices) {
+            return indices.computeIfAbsent(loader, this::load);
+        }
+    }
+
+    private Map<String, String> load(final ClassLoader loader) {
+        final Map<String, String> index = new HashMap<>();
+        try {
+            final Enumeration<URL> resources = loader.getResources(LOCATION);
+            while (resources.hasMoreElements()) {
+                try (final BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(resources.nextElement().openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        final int separator = line.indexOf('=');
+                        if (separator > 0 && !line.startsWith("#")) {
+                            index.putIfAbsent(line.substring(0, separator).trim(), line.substring(separator + 1).trim());
+                        }
+                    }
+                }
+            }
+        } catch (final IOException e) {
+            return NO_INDEX;
+        }
+        return index.isEmpty() ? NO_INDEX : index;
+    }
+
+    // public instance methods of a class, read from a single getMethods() snapshot
+    private static final class Accessors {
+        private final Map<String, Method> readMethods = new HashMap<>();
+        private final Map<String, Method> writeMethods = new HashMap<>();
+        private final Set<String> names = new HashSet<>(); // the property names the introspector derives from the accessors
+
+        private Accessors(final Class<?> clazz) {
+            for (final Method method : clazz.getMethods()) {
+                if (Modifier.isStatic(method.getModifiers())) {
+                    continue;
+                }
+                final String name = method.getName();
+                final int parameters = method.getParameterCount();
+                final Class<?> returnType = method.getReturnType();
+                if (parameters == 0) {
+                    final Method existing = readMethods.get(name);
+                    if (existing == null || existing.getReturnType().isAssignableFrom(returnType)) { // covariant override
+                        readMethods.put(name, method);
+                    }
+                    if (name.startsWith("get") && name.length() > 3 && returnType != void.class) {
+                        names.add(Introspector.decapitalize(name.substring(3)));
+                    } else if (name.startsWith("is") && name.length() > 2 && returnType == boolean.class) {
+                        names.add(Introspector.decapitalize(name.substring(2)));
+                    }
+                } else if (parameters == 1) {
+                    writeMethods.putIfAbsent(name + '(' + method.getParameterTypes()[0].getTypeName() + ')', method);
+                    if (name.startsWith("set") && name.length() > 3 && returnType == void.class) {
+                        names.add(Introspector.decapitalize(name.substring(3)));
+                    }
+                }
+            }
+        }
+
+        private Method findReadMethod(final String name) throws NoSuchMethodException {
+            final Method method = readMethods.get(name);
+            if (method == null) {
+                throw new NoSuchMethodException(name + "()");
+            }
+            return method;
+        }
+
+        private Method findWriteMethod(final String name, final String parameter) throws NoSuchMethodException {
+            final Method method = writeMethods.get(name + '(' + parameter + ')');
+            if (method == null) {
+                throw new NoSuchMethodException(name + "(" + parameter + ")");
+            }
+            return method;
+        }
+    }
+}
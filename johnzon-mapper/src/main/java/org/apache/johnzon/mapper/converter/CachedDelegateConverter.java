@@ -19,17 +19,30 @@
 package org.apache.johnzon.mapper.converter;
 
 import org.apache.johnzon.mapper.Converter;
+import org.apache.johnzon.mapper.internal.SegmentedLruCache;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-
+/**
+ * Caches the conversions of a delegate converter in both directions.
+ * Each direction keeps at most {@code maxSize} entries (segmented LRU eviction),
+ * the hit, miss and eviction counters can be read to tune the size.
+ *
+ * @param <T> the converted type.
+ */
 public class CachedDelegateConverter<T> implements Converter<T> {
-    private final ConcurrentMap<T, String> strings = new ConcurrentHashMap<T, String>();
-    private final ConcurrentMap<String, T> values = new ConcurrentHashMap<String, T>();
+    public static final int DEFAULT_MAX_SIZE = 1024;
+
+    private final SegmentedLruCache<T, String> strings;
+    private final SegmentedLruCache<String, T> values;
     private final Converter<T> delegate;
 
     public CachedDelegateConverter(final Converter<T> delegate) {
+        this(delegate, DEFAULT_MAX_SIZE);
+    }
+
+    public CachedDelegateConverter(final Converter<T> delegate, final int maxSize) {
         this.delegate = delegate;
+        this.strings = new SegmentedLruCache<>(maxSize);
+        this.values = new SegmentedLruCache<>(maxSize);
     }
 
     @Override
@@ -37,7 +50,9 @@ public class CachedDelegateConverter<T> implements Converter<T> {
         String v = strings.get(instance);
         if (v == null) {
             v = delegate.toString(instance);
-            strings.putIfAbsent(instance, v);
+            if (v != null) {
+                strings.put(instance, v);
+            }
         }
         return v;
     }
@@ -47,8 +62,30 @@ public class CachedDelegateConverter<T> implements Converter<T> {
         T v = values.get(text);
         if (v == null) {
             v = delegate.fromString(text);
-            values.putIfAbsent(text, v);
+            if (v != null) {
+                values.put(text, v);
+            }
         }
         return v;
     }
+
+    public long getHits() {
+        return strings.getHits() + values.getHits();
+    }
+
+    public long getMisses() {
+        return strings.getMisses() + values.getMisses();
+    }
+
+    public long getEvictions() {
+        return strings.getEvictions() + values.getEvictions();
+    }
+
+    public int size() {
+        return strings.size() + values.size();
+    }
+
+    public Converter<T> getDelegate() {
+        return delegate;
+    }
 }
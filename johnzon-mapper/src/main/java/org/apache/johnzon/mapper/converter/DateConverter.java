@@ -23,13 +23,21 @@ import org.apache.johnzon.mapper.Converter;
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.zone.ZoneRules;
 import java.util.Date;
+import java.util.TimeZone;
 
 public class DateConverter implements Converter<Date> {
+    private static final String SHORT_ISO8601 = "yyyyMMddHHmmssZ";
+
     // TODO: see if we can clean it
     private final ThreadLocal<DateFormat> format;
 
+    // the default pattern is handled without SimpleDateFormat for common dates
+    private final ZoneRules rules;
+
     public DateConverter(final String pattern) {
+        rules = SHORT_ISO8601.equals(pattern) ? TimeZone.getDefault().toZoneId().getRules() : null;
         format = new ThreadLocal<DateFormat>() {
             @Override
             protected DateFormat initialValue() {
@@ -40,11 +48,23 @@ public class DateConverter implements Converter<Date> {
 
     @Override
     public String toString(final Date instance) {
+        if (rules != null) {
+            final String formatted = IsoDates.formatBasic(instance.getTime(), rules);
+            if (formatted != null) {
+                return formatted;
+            }
+        }
         return format.get().format(instance);
     }
 
     @Override
     public Date fromString(final String text) {
+        if (rules != null) {
+            final long time = IsoDates.parseBasic(text);
+            if (time != IsoDates.INVALID) {
+                return new Date(time);
+            }
+        }
         try {
             return format.get().parse(text);
         } catch (final ParseException e) {
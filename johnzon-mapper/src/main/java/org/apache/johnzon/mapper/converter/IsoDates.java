@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.mapper.converter;
+
+import java.time.Instant;
+import java.time.zone.ZoneRules;
+
+/**
+ * Formats and parses the default date patterns directly on a char array
+ * (no Calendar, FieldPosition or intermediate temporal objects).
+ * Methods return {@code null}/{@link #INVALID} when the value is not in the simple strict form
+ * they handle (out of range year, lenient value, other zone...) to let the caller use its general formatter.
+ */
+public final class IsoDates {
+    public static final long INVALID = Long.MIN_VALUE;
+
+    // SimpleDateFormat uses the julian calendar before the gregorian cutover
+    private static final int MIN_BASIC_YEAR = 1600;
+    private static final int MAX_YEAR = 9999;
+
+    private IsoDates() {
+        // no-op
+    }
+
+    /**
+     * @param epochMillis the date.
+     * @param rules the zone to format the date in.
+     * @return the date using the {@code yyyyMMddHHmmssZ} SimpleDateFormat pattern or {@code null}.
+     */
+    public static String formatBasic(final long epochMillis, final ZoneRules rules) {
+        final int offset = rules.isFixedOffset() ?
+                rules.getOffset(Instant.EPOCH).getTotalSeconds() :
+                rules.getOffset(Instant.ofEpochMilli(epochMillis)).getTotalSeconds();
+        final long localSeconds = Math.floorDiv(epochMillis, 1000L) + offset;
+        final char[] chars = new char[19];
+        if (!writeDate(Math.floorDiv(localSeconds, 86400L), MIN_BASIC_YEAR, chars, false)) {
+            return null;
+        }
+        final int secondOfDay = (int) Math.floorMod(localSeconds, 86400L);
+        write2(chars, 8, secondOfDay / 3600);
+        write2(chars, 10, secondOfDay / 60 % 60);
+        write2(chars, 12, secondOfDay % 60);
+        final int offsetMinutes = offset / 60; // SimpleDateFormat truncates seconds
+        chars[14] = offsetMinutes < 0 ? '-' : '+';
+        write2(chars, 15, Math.abs(offsetMinutes) / 60);
+        write2(chars, 17, Math.abs(offsetMinutes) % 60);
+        return new String(chars);
+    }
+
+    /**
+     * @param text a {@code yyyyMMddHHmmssZ} formatted date (with a numeric offset).
+     * @return the epoch millis or {@link #INVALID}.
+     */
+    public static long parseBasic(final CharSequence text) {
+        if (text.length() != 19) {
+            return INVALID;
+        }
+        final int year = digits(text, 0, 4);
+        final int month = digits(text, 4, 2);
+        final int day = digits(text, 6, 2);
+        final int hour = digits(text, 8, 2);
+        final int minute = digits(text, 10, 2);
+        final int second = digits(text, 12, 2);
+        final char sign = text.charAt(14);
+        final int offsetHours = digits(text, 15, 2);
+        final int offsetMinutes = digits(text, 17, 2);
+        if ((sign != '+' && sign != '-') || offsetHours < 0 || offsetHours > 23 || offsetMinutes < 0 || offsetMinutes > 59
+                || year < MIN_BASIC_YEAR || !isValid(year, month, day, hour, minute, second)) {
+            return INVALID;
+        }
+        final int offset = (sign == '-' ? -1 : 1) * (offsetHours * 3600 + offsetMinutes * 60);
+        return (daysFromCivil(year, month, day) * 86400 + hour * 3600 + minute * 60 + second - offset) * 1000;
+    }
+
+    /**
+     * @param epochMillis the date.
+     * @return the date formatted as {@code DateTimeFormatter.ISO_ZONED_DATE_TIME} does in the {@code UTC} zone
+     * (ex: {@code 2019-01-02T03:04:05.6Z[UTC]}) or {@code null}.
+     */
+    public static String formatIsoUtc(final long epochMillis) {
+        final char[] chars = new char[29];
+        if (!writeDate(Math.floorDiv(epochMillis, 86400000L), 0, chars, true)) {
+            return null;
+        }
+        final int millisOfDay = (int) Math.floorMod(epochMillis, 86400000L);
+        final int secondOfDay = millisOfDay / 1000;
+        chars[10] = 'T';
+        write2(chars, 11, secondOfDay / 3600);
+        chars[13] = ':';
+        write2(chars, 14, secondOfDay / 60 % 60);
+        chars[16] = ':';
+        write2(chars, 17, secondOfDay % 60);
+        int idx = 19;
+        int millis = millisOfDay % 1000;
+        if (millis != 0) { // fraction without trailing zeros
+            chars[idx++] = '.';
+            chars[idx++] = (char) ('0' + millis / 100);
+            millis %= 100;
+            if (millis != 0) {
+                chars[idx++] = (char) ('0' + millis / 10);
+                millis %= 10;
+                if (millis != 0) {
+                    chars[idx++] = (char) ('0' + millis);
+                }
+            }
+        }
+        chars[idx++] = 'Z';
+        chars[idx++] = '[';
+        chars[idx++] = 'U';
+        chars[idx++] = 'T';
+        chars[idx++] = 'C';
+        chars[idx++] = ']';
+        return new String(chars, 0, idx);
+    }
+
+    /**
+     * @param text a date formatted with {@code DateTimeFormatter.ISO_ZONED_DATE_TIME},
+     *             only {@code Z} and {@code +HH:MM} offsets followed by nothing or {@code [UTC]} are handled.
+     * @return the epoch millis or {@link #INVALID}.
+     */
+    public static long parseIsoZoned(final CharSequence text) {
+        final int length = text.length();
+        if (length < 17 || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != 'T' || text.charAt(13) != ':') {
+            return INVALID;
+        }
+        final int year = digits(text, 0, 4);
+        final int month = digits(text, 5, 2);
+        final int day = digits(text, 8, 2);
+        final int hour = digits(text, 11, 2);
+        final int minute = digits(text, 14, 2);
+        int idx = 16;
+        int second = 0;
+        int millis = 0;
+        if (idx < length && text.charAt(idx) == ':') {
+            second = digits(text, idx + 1, 2);
+            idx += 3;
+            if (idx < length && text.charAt(idx) == '.') {
+                idx++;
+                int fractionDigits = 0;
+                while (idx < length && text.charAt(idx) >= '0' && text.charAt(idx) <= '9') {
+                    if (fractionDigits < 3) {
+                        millis = millis * 10 + (text.charAt(idx) - '0');
+                    }
+                    fractionDigits++;
+                    idx++;
+                }
+                if (fractionDigits == 0 || fractionDigits > 9) {
+                    return INVALID;
+                }
+                for (int i = fractionDigits; i < 3; i++) {
+                    millis *= 10;
+                }
+            }
+        }
+        if (year < 0 || !isValid(year, month, day, hour, minute, second) || idx >= length) {
+            return INVALID;
+        }
+        int offset = 0;
+        final char offsetStart = text.charAt(idx);
+        if (offsetStart == 'Z') {
+            idx++;
+        } else if (offsetStart == '+' || offsetStart == '-') {
+            if (idx + 6 > length || text.charAt(idx + 3) != ':') {
+                return INVALID;
+            }
+            final int offsetHours = digits(text, idx + 1, 2);
+            final int offsetMinutes = digits(text, idx + 4, 2);
+            if (offsetHours < 0 || offsetHours > 18 || offsetMinutes < 0 || offsetMinutes > 59) {
+                return INVALID;
+            }
+            offset = (offsetStart == '-' ? -1 : 1) * (offsetHours * 3600 + offsetMinutes * 60);
+            idx += 6;
+        } else {
+            return INVALID;
+        }
+        if (idx != length && !(length - idx == 5 && text.charAt(idx) == '[' && text.charAt(idx + 1) == 'U'
+                && text.charAt(idx + 2) == 'T' && text.charAt(idx + 3) == 'C' && text.charAt(idx + 4) == ']')) {
+            return INVALID;
+        }
+        return (daysFromCivil(year, month, day) * 86400 + hour * 3600 + minute * 60 + second - offset) * 1000 + millis;
+    }
+
+    private static boolean isValid(final int year, final int month, final int day,
+                                   final int hour, final int minute, final int second) {
+        return year <= MAX_YEAR && month >= 1 && month <= 12 && day >= 1 && day <= lengthOfMonth(year, month)
+                && hour >= 0 && hour <= 23 && minute >= 0 && minute <= 59 && second >= 0 && second <= 59;
+    }
+
+    private static int lengthOfMonth(final int year, final int month) {
+        switch (month) {
+            case 2:
+                return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    // proleptic gregorian calendar conversions from "chrono-Compatible Low-Level Date Algorithms" (H. Hinnant)
+    private static long daysFromCivil(final int year, final int month, final int day) {
+        final int y = month <= 2 ? year - 1 : year;
+        final long era = (y >= 0 ? y : y - 399) / 400;
+        final long yearOfEra = y - era * 400;
+        final long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        final long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    private static boolean writeDate(final long epochDay, final int minYear, final char[] chars, final boolean separators) {
+        final long z = epochDay + 719468;
+        final long era = (z >= 0 ? z : z - 146096) / 146097;
+        final long dayOfEra = z - era * 146097;
+        final long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        final long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        final long mp = (5 * dayOfYear + 2) / 153;
+        final int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        final int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        final long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        if (year < minYear || year > MAX_YEAR) {
+            return false;
+        }
+        write2(chars, 0, (int) (year / 100));
+        write2(chars, 2, (int) (year % 100));
+        if (separators) {
+            chars[4] = '-';
+            write2(chars, 5, month);
+            chars[7] = '-';
+            write2(chars, 8, day);
+        } else {
+            write2(chars, 4, month);
+            write2(chars, 6, day);
+        }
+        return true;
+    }
+
+    private static void write2(final char[] chars, final int offset, final int value) {
+        chars[offset] = (char) ('0' + value / 10);
+        chars[offset + 1] = (char) ('0' + value % 10);
+    }
+
+    // -1 if not only digits
+    private static int digits(final CharSequence text, final int offset, final int length) {
+        if (offset + length > text.length()) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            final char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
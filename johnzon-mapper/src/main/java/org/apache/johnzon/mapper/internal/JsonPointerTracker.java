@@ -29,6 +29,7 @@ import org.apache.johnzon.core.JsonPointerUtil;
 public class JsonPointerTracker {
     private final JsonPointerTracker parent;
     private final String currentNode;
+    private final int index;
 
     private String jsonPointer;
 
@@ -40,26 +41,25 @@ public class JsonPointerTracker {
     public JsonPointerTracker(JsonPointerTracker parent, String currentNode) {
         this.parent = parent;
         this.currentNode = currentNode;
+        this.index = -1;
     }
 
     /**
-     * For Arrays and Lists.
+     * For Arrays and Lists, the index is only converted to a String if the pointer is needed.
      * @param jsonPointer
      * @param i current counter number
      */
     public JsonPointerTracker(JsonPointerTracker jsonPointer, int i) {
-       this(jsonPointer, Integer.toString(i));
+        this.parent = jsonPointer;
+        this.currentNode = null;
+        this.index = i;
     }
 
     @Override
     public String toString() {
         if (jsonPointer == null) {
             if (parent != null) {
-                if (parent.parent == null) {
-                    jsonPointer = "/" + JsonPointerUtil.encode(currentNode);
-                } else {
-                    jsonPointer = parent.toString() + "/" + JsonPointerUtil.encode(currentNode);
-                }
+                jsonPointer = appendTo(new StringBuilder()).toString();
             } else {
                 jsonPointer = "/";
             }
@@ -68,4 +68,19 @@ public class JsonPointerTracker {
         return jsonPointer;
     }
 
+    private StringBuilder appendTo(final StringBuilder builder) {
+        if (parent == null) {
+            return builder;
+        }
+        if (parent.jsonPointer != null && parent.parent != null) {
+            builder.append(parent.jsonPointer);
+        } else {
+            parent.appendTo(builder);
+        }
+        builder.append('/');
+        if (currentNode == null) {
+            return builder.append(index);
+        }
+        return builder.append(JsonPointerUtil.encode(currentNode));
+    }
 }
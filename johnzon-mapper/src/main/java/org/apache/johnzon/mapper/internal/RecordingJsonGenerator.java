@@ -0,0 +1,290 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.mapper.internal;
+
+import javax.json.JsonValue;
+import javax.json.stream.JsonGenerator;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Thread confined generator buffering the events in flat arrays to {@link #replay(JsonGenerator)} them later,
+ * used to serialize a part of a document on another thread and write it in order in the real generator.
+ */
+public class RecordingJsonGenerator implements JsonGenerator {
+    private static final byte START_OBJECT = 0;
+    private static final byte START_ARRAY = 1;
+    private static final byte KEY = 2;
+    private static final byte END = 3;
+    private static final byte JSON_VALUE = 4;
+    private static final byte STRING = 5;
+    private static final byte BIG_DECIMAL = 6;
+    private static final byte BIG_INTEGER = 7;
+    private static final byte INT = 8;
+    private static final byte LONG = 9;
+    private static final byte DOUBLE = 10;
+    private static final byte BOOLEAN = 11;
+    private static final byte NULL = 12;
+
+    private byte[] events = new byte[64];
+    private String[] keys = new String[64];
+    private Object[] values = new Object[64];
+    private long[] primitives = new long[64];
+    private int size;
+
+    public void replay(final JsonGenerator generator) {
+        for (int i = 0; i < size; i++) {
+            final String key = keys[i];
+            switch (events[i]) {
+                case START_OBJECT:
+                    if (key == null) {
+                        generator.writeStartObject();
+                    } else {
+                        generator.writeStartObject(key);
+                    }
+                    break;
+                case START_ARRAY:
+                    if (key == null) {
+                        generator.writeStartArray();
+                    } else {
+                        generator.writeStartArray(key);
+                    }
+                    break;
+                case KEY:
+                    generator.writeKey(key);
+                    break;
+                case END:
+                    generator.writeEnd();
+                    break;
+                case JSON_VALUE:
+                    if (key == null) {
+                        generator.write(JsonValue.class.cast(values[i]));
+                    } else {
+                        generator.write(key, JsonValue.class.cast(values[i]));
+                    }
+                    break;
+                case STRING:
+                    if (key == null) {
+                        generator.write(String.class.cast(values[i]));
+                    } else {
+                        generator.write(key, String.class.cast(values[i]));
+                    }
+                    break;
+                case BIG_DECIMAL:
+                    if (key == null) {
+                        generator.write(BigDecimal.class.cast(values[i]));
+                    } else {
+                        generator.write(key, BigDecimal.class.cast(values[i]));
+                    }
+                    break;
+                case BIG_INTEGER:
+                    if (key == null) {
+                        generator.write(BigInteger.class.cast(values[i]));
+                    } else {
+                        generator.write(key, BigInteger.class.cast(values[i]));
+                    }
+                    break;
+                case INT:
+                    if (key == null) {
+                        generator.write((int) primitives[i]);
+                    } else {
+                        generator.write(key, (int) primitives[i]);
+                    }
+                    break;
+                case LONG:
+                    if (key == null) {
+                        generator.write(primitives[i]);
+                    } else {
+                        generator.write(key, primitives[i]);
+                    }
+                    break;
+                case DOUBLE:
+                    if (key == null) {
+                        generator.write(Double.longBitsToDouble(primitives[i]));
+                    } else {
+                        generator.write(key, Double.longBitsToDouble(primitives[i]));
+                    }
+                    break;
+                case BOOLEAN:
+                    if (key == null) {
+                        generator.write(primitives[i] != 0);
+                    } else {
+                        generator.write(key, primitives[i] != 0);
+                    }
+                    break;
+                case NULL:
+                    if (key == null) {
+                        generator.writeNull();
+                    } else {
+                        generator.writeNull(key);
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown event: " + events[i]);
+            }
+        }
+    }
+
+    @Override
+    public JsonGenerator writeStartObject() {
+        return add(START_OBJECT, null, null, 0);
+    }
+
+    @Override
+    public JsonGenerator writeStartObject(final String name) {
+        return add(START_OBJECT, name, null, 0);
+    }
+
+    @Override
+    public JsonGenerator writeKey(final String name) {
+        return add(KEY, name, null, 0);
+    }
+
+    @Override
+    public JsonGenerator writeStartArray() {
+        return add(START_ARRAY, null, null, 0);
+    }
+
+    @Override
+    public JsonGenerator writeStartArray(final String name) {
+        return add(START_ARRAY, name, null, 0);
+    }
+
+    @Override
+    public JsonGenerator write(final String name, final JsonValue value) {
+        return add(JSON_VALUE, name, value, 0);
+    }
+
+    @Override
+    public JsonGenerator write(final String name, final String value) {
+        return add(STRING, name, value, 0);
+    }
+
+    @Override
+    public JsonGenerator write(final String name, final BigInteger value) {
+        return add(BIG_INTEGER, name, value, 0);
+    }
+
+    @Override
+    public JsonGenerator write(final String name, final BigDecimal value) {
+        return add(BIG_DECIMAL, name, value, 0);
+    }
+
+    @Override
+    public JsonGenerator write(final String name, final int value) {
+        return add(INT, name, null, value);
+    }
+
+    @Override
+    public JsonGenerator write(final String name, final long value) {
+        return add(LONG, name, null, value);
+    }
+
+    @Override
+    public JsonGenerator write(final String name, final double value) {
+        return add(DOUBLE, name, null, Double.doubleToRawLongBits(value));
+    }
+
+    @Override
+    public JsonGenerator write(final String name, final boolean value) {
+        return add(BOOLEAN, name, null, value ? 1 : 0);
+    }
+
+    @Override
+    public JsonGenerator writeNull(final String name) {
+        return add(NULL, name, null, 0);
+    }
+
+    @Override
+    public JsonGenerator writeEnd() {
+        return add(END, null, null, 0);
+    }
+
+    @Override
+    public JsonGenerator write(final JsonValue value) {
+        return add(JSON_VALUE, null, value, 0);
+    }
+
+    @Override
+    public JsonGenerator write(final String value) {
+        return add(STRING, null, value, 0);
+    }
+
+    @Override
+    public JsonGenerator write(final BigDecimal value) {
+        return add(BIG_DECIMAL, null, value, 0);
+    }
+
+    @Override
+    public JsonGenerator write(final BigInteger value) {
+        return add(BIG_INTEGER, null, value, 0);
+    }
+
+    @Override
+    public JsonGenerator write(final int value) {
+        return add(INT, null, null, value);
+    }
+
+    @Override
+    public JsonGenerator write(final long value) {
+        return add(LONG, null, null, value);
+    }
+
+    @Override
+    public JsonGenerator write(final double value) {
+        return add(DOUBLE, null, null, Double.doubleToRawLongBits(value));
+    }
+
+    @Override
+    public JsonGenerator write(final boolean value) {
+        return add(BOOLEAN, null, null, value ? 1 : 0);
+    }
+
+    @Override
+    public JsonGenerator writeNull() {
+        return add(NULL, null, null, 0);
+    }
+
+    @Override
+    public void close() {
+        // no-op
+    }
+
+    @Override
+    public void flush() {
+        // no-op
+    }
+
+    private JsonGenerator add(final byte event, final String key, final Object value, final long primitive) {
+        if (size == events.length) {
+            final int newSize = size * 2;
+            events = Arrays.copyOf(events, newSize);
+            keys = Arrays.copyOf(keys, newSize);
+            values = Arrays.copyOf(values, newSize);
+            primitives = Arrays.copyOf(primitives, newSize);
+        }
+        events[size] = event;
+        keys[size] = key;
+        values[size] = value;
+        primitives[size] = primitive;
+        size++;
+        return this;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.mapper.internal;
+
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache using a segmented LRU eviction: new entries go in a probation segment
+ * and are promoted to the protected segment (80% of the size) when read again,
+ * so a burst of values read once (timestamps, UUIDs...) only evicts other probation entries.
+ * Keys are spread on independently locked stripes to limit the contention.
+ *
+ * @param <K> the key type.
+ * @param <V> the value type.
+ */
+public class SegmentedLruCache<K, V> {
+    private final Stripe<K, V>[] stripes;
+    private final int mask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public SegmentedLruCache(final int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        int stripeCount = 1;
+        while (stripeCount < 16 && stripeCount * 2 * 32 <= maxSize) { // keep meaningful stripes
+            stripeCount *= 2;
+        }
+        this.mask = stripeCount - 1;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe<>(maxSize / stripeCount + (i < maxSize % stripeCount ? 1 : 0));
+        }
+    }
+
+    public V get(final K key) {
+        final V value = stripe(key).get(key);
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    public void put(final K key, final V value) {
+        if (stripe(key).put(key, value)) {
+            evictions.increment();
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (final Stripe<K, V> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private Stripe<K, V> stripe(final K key) {
+        final int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    private static final class Stripe<K, V> {
+        private final int maxSize;
+        private final int maxProtectedSize;
+        private final LinkedHashMap<K, V> probation = new LinkedHashMap<>(16, .75f, true);
+        private final LinkedHashMap<K, V> protectedSegment = new LinkedHashMap<>(16, .75f, true);
+
+        private Stripe(final int maxSize) {
+            this.maxSize = Math.max(1, maxSize);
+            this.maxProtectedSize = this.maxSize * 4 / 5;
+        }
+
+        private synchronized V get(final K key) {
+            final V value = protectedSegment.get(key);
+            if (value != null) {
+                return value;
+            }
+            final V candidate = probation.remove(key);
+            if (candidate == null) {
+                return null;
+            }
+            if (maxProtectedSize == 0) {
+                probation.put(key, candidate);
+                return candidate;
+            }
+            protectedSegment.put(key, candidate);
+            if (protectedSegment.size() > maxProtectedSize) { // demote the least recently used protected entry
+                final Map.Entry<K, V> eldest = removeEldest(protectedSegment);
+                probation.put(eldest.getKey(), eldest.getValue());
+            }
+            return candidate;
+        }
+
+        // returns true if an entry was evicted
+        private synchronized boolean put(final K key, final V value) {
+            if (protectedSegment.containsKey(key)) {
+                protectedSegment.put(key, value);
+                return false;
+            }
+            probation.put(key, value);
+            if (probation.size() + protectedSegment.size() > maxSize) {
+                removeEldest(probation.isEmpty() ? protectedSegment : probation);
+                return true;
+            }
+            return false;
+        }
+
+        private synchronized int size() {
+            return probation.size() + protectedSegment.size();
+        }
+
+        private static <K, V> Map.Entry<K, V> removeEldest(final LinkedHashMap<K, V> segment) {
+            final Iterator<Map.Entry<K, V>> iterator = segment.entrySet().iterator();
+            final Map.Entry<K, V> eldest = iterator.next();
+            final Map.Entry<K, V> copy = new AbstractMap.SimpleImmutableEntry<>(eldest);
+            iterator.remove();
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.mapper.internal;
+
+/**
+ * Bounded cache sharing the instances of short string values read by a mapper.
+ * It is a direct mapped table (one slot per hash) so it never grows, a slot is only replaced once its value stopped
+ * being hit so high cardinality values don't evict the frequent ones.
+ * It is thread safe without locking: concurrent updates can only make a value not deduplicated.
+ */
+public class StringCache {
+    private static final byte MAX_HITS = 16;
+
+    private final int size;
+    private final int maxLength;
+    private volatile Table table; // lazy to not allocate it for mappers not reading any deduplicated property
+
+    public StringCache(final int size, final int maxLength) {
+        this.size = size <= 1 ? 2 : Integer.highestOneBit(size - 1) << 1;
+        this.maxLength = maxLength;
+    }
+
+    public String deduplicate(final String value) {
+        if (value == null || value.length() > maxLength) {
+            return value;
+        }
+
+        Table current = table;
+        if (current == null) {
+            current = new Table(size);
+            table = current;
+        }
+
+        final int hash = value.hashCode();
+        final int slot = (hash ^ (hash >>> 16)) & (size - 1);
+        final String cached = current.values[slot];
+        if (cached == null) {
+            current.values[slot] = value;
+        } else if (cached.equals(value)) {
+            if (current.hits[slot] < MAX_HITS) {
+                current.hits[slot]++;
+            }
+            return cached;
+        } else if (current.hits[slot] > 0) {
+            current.hits[slot]--;
+        } else {
+            current.values[slot] = value;
+        }
+        return value;
+    }
+
+    private static final class Table {
+        private final String[] values;
+        private final byte[] hits;
+
+        private Table(final int size) {
+            values = new String[size];
+            hits = new byte[size];
+        }
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.mapper.map;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Insertion ordered map storing its entries in flat arrays, lookups are linear scans on the key hashes
+ * until the map is big enough to be worth an open addressing index of the entry positions.
+ * It is used for untyped (Object) structures which are generally small and mainly iterated,
+ * it avoids the entry and table allocations of a LinkedHashMap.
+ */
+public class CompactMap<K, V> extends AbstractMap<K, V> {
+    private static final int LINEAR_SCAN_MAX = 8;
+
+    private int[] hashes;
+    private Object[] keys;
+    private Object[] values;
+    private int[] slots; // entry position + 1 per slot, null until needed or after a removal
+    private int size;
+    private int modCount;
+
+    public CompactMap() {
+        this(8);
+    }
+
+    public CompactMap(final int capacity) {
+        final int length = Math.max(capacity, 1);
+        hashes = new int[length];
+        keys = new Object[length];
+        values = new Object[length];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public V get(final Object key) {
+        final int index = indexOf(key);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+        final int index = indexOf(key);
+        if (index >= 0) {
+            final V old = (V) values[index];
+            values[index] = value;
+            return old;
+        }
+        append(key, value);
+        return null;
+    }
+
+    /**
+     * Adds an entry without looking for an existing one, the caller must ensure the key is not yet in the map.
+     *
+     * @param key the new key.
+     * @param value its value.
+     */
+    public void append(final K key, final V value) {
+        if (size == keys.length) {
+            final int newLength = size * 2;
+            hashes = Arrays.copyOf(hashes, newLength);
+            keys = Arrays.copyOf(keys, newLength);
+            values = Arrays.copyOf(values, newLength);
+        }
+        final int hash = Objects.hashCode(key);
+        hashes[size] = hash;
+        keys[size] = key;
+        values[size] = value;
+        size++;
+        modCount++;
+        if (slots != null) {
+            if (size * 2 > slots.length) {
+                slots = null; // rebuilt bigger on the next lookup
+            } else {
+                addToIndex(hash, size);
+            }
+        }
+    }
+
+    @Override
+    public V remove(final Object key) {
+        final int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        final V old = (V) values[index];
+        removeAt(index);
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, 0, size, null);
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+        slots = null;
+        modCount++;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    private int indexOf(final Object key) {
+        return indexOf(key, Objects.hashCode(key));
+    }
+
+    private int indexOf(final Object key, final int hash) {
+        if (size <= LINEAR_SCAN_MAX) {
+            for (int i = 0; i < size; i++) {
+                if (hashes[i] == hash && Objects.equals(keys[i], key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        if (slots == null) {
+            slots = new int[Integer.highestOneBit(size * 4)];
+            for (int i = 0; i < size; i++) {
+                addToIndex(hashes[i], i + 1);
+            }
+        }
+        final int mask = slots.length - 1;
+        for (int slot = spread(hash) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            final int i = slots[slot] - 1;
+            if (hashes[i] == hash && Objects.equals(keys[i], key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void addToIndex(final int hash, final int position) {
+        final int mask = slots.length - 1;
+        int slot = spread(hash) & mask;
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = position;
+    }
+
+    private static int spread(final int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private void removeAt(final int index) {
+        final int moved = size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(hashes, index + 1, hashes, index, moved);
+            System.arraycopy(keys, index + 1, keys, index, moved);
+            System.arraycopy(values, index + 1, values, index, moved);
+        }
+        size--;
+        keys[size] = null;
+        values[size] = null;
+        slots = null; // positions moved
+        modCount++;
+    }
+
+    private class EntrySet extends AbstractSet<Entry<K, V>> {
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new Iterator<Entry<K, V>>() {
+                private int next;
+                private int last = -1;
+                private int expectedModCount = modCount;
+
+                @Override
+                public boolean hasNext() {
+                    return next < size;
+                }
+
+                @Override
+                public Entry<K, V> next() {
+                    if (expectedModCount != modCount) {
+                        throw new ConcurrentModificationException();
+                    }
+                    if (next >= size) {
+                        throw new NoSuchElementException();
+                    }
+                    last = next++;
+                    return new IndexedEntry(last);
+                }
+
+                @Override
+                public void remove() {
+                    if (last < 0) {
+                        throw new IllegalStateException();
+                    }
+                    if (expectedModCount != modCount) {
+                        throw new ConcurrentModificationException();
+                    }
+                    removeAt(last);
+                    next = last;
+                    last = -1;
+                    expectedModCount = modCount;
+                }
+            };
+        }
+    }
+
+    private class IndexedEntry implements Map.Entry<K, V> {
+        private final int index;
+
+        private IndexedEntry(final int index) {
+            this.index = index;
+        }
+
+        @Override
+        public K getKey() {
+            return (K) keys[index];
+        }
+
+        @Override
+        public V getValue() {
+            return (V) values[index];
+        }
+
+        @Override
+        public V setValue(final V value) {
+            final V old = (V) values[index];
+            values[index] = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!Map.Entry.class.isInstance(obj)) {
+                return false;
+            }
+            final Map.Entry<?, ?> other = Map.Entry.class.cast(obj);
+            return Objects.equals(getKey(), other.getKey()) && Objects.equals(getValue(), other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
@@ -25,6 +25,7 @@ import org.apache.johnzon.mapper.converter.BigDecimalConverter;
 import org.apache.johnzon.mapper.converter.BigIntegerConverter;
 import org.apache.johnzon.mapper.converter.ClassConverter;
 import org.apache.johnzon.mapper.converter.DateConverter;
+import org.apache.johnzon.mapper.converter.IsoDates;
 import org.apache.johnzon.mapper.converter.LocaleConverter;
 import org.apache.johnzon.mapper.converter.StringConverter;
 import org.apache.johnzon.mapper.converter.URIConverter;
@@ -553,12 +554,20 @@ public class LazyConverterMap extends ConcurrentHashMap<AdapterKey, Adapter<?, ?
         return add(key, new ConverterAdapter<>(new Converter<Date>() {
             @Override
             public String toString(final Date instance) {
+                final String formatted = IsoDates.formatIsoUtc(instance.getTime());
+                if (formatted != null) {
+                    return formatted;
+                }
                 return ZonedDateTime.ofInstant(instance.toInstant(), zoneIDUTC)
                         .format(DateTimeFormatter.ISO_ZONED_DATE_TIME);
             }
 
             @Override
             public Date fromString(final String text) {
+                final long time = IsoDates.parseIsoZoned(text);
+                if (time != IsoDates.INVALID) {
+                    return new Date(time);
+                }
                 try {
                     return Date.from(ZonedDateTime.parse(text).toInstant());
                 } catch (final DateTimeParseException dte) {
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.mapper.number;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Number read in an untyped (Object) structure, it keeps the read digits (or the long they fit in)
+ * and only converts them when a value is requested.
+ * <p>
+ * equals() and hashCode() are the ones of the number an eager read would have produced ({@link #numberValue()}),
+ * so a lazy number equals the {@link BigDecimal}/{@link Integer}/... it stands for.
+ * The reverse is not true since these types only equal their own instances.
+ * toString() returns the read digits.
+ */
+public final class LazyNumber extends Number {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The type an eager read gives to a number, it defines {@link #numberValue()}.
+     */
+    public enum Equivalent {
+        /**
+         * Always a {@link BigDecimal}.
+         */
+        BIG_DECIMAL,
+
+        /**
+         * {@link Integer} or {@link Long} for integral numbers, {@link Double} otherwise.
+         */
+        SIZED,
+
+        /**
+         * {@link Integer} or {@link Long} for integral numbers, {@link BigDecimal} otherwise.
+         */
+        SIZED_BIG_DECIMAL_FLOATS
+    }
+
+    private final String digits; // null when the number is value
+    private final long value;
+    private final boolean integral;
+    private final Equivalent equivalent;
+    private transient Number number;
+
+    public LazyNumber(final long value, final Equivalent equivalent) {
+        this.digits = null;
+        this.value = value;
+        this.integral = true;
+        this.equivalent = equivalent;
+    }
+
+    public LazyNumber(final String digits, final boolean integral, final Equivalent equivalent) {
+        this.digits = digits;
+        this.value = 0;
+        this.integral = integral;
+        this.equivalent = equivalent;
+    }
+
+    public boolean isIntegral() {
+        return integral;
+    }
+
+    public BigDecimal bigDecimalValue() {
+        return digits == null ? BigDecimal.valueOf(value) : new BigDecimal(digits);
+    }
+
+    public BigInteger bigIntegerValue() {
+        return digits == null ? BigInteger.valueOf(value) : bigDecimalValue().toBigInteger();
+    }
+
+    /**
+     * @return the number an eager read would have produced, see {@link Equivalent}.
+     */
+    public Number numberValue() {
+        if (number == null) {
+            if (equivalent == Equivalent.BIG_DECIMAL) {
+                number = bigDecimalValue();
+            } else if (integral) {
+                final long longValue = longValue();
+                final int intValue = intValue();
+                if (intValue == longValue) {
+                    number = intValue;
+                } else {
+                    number = longValue;
+                }
+            } else if (equivalent == Equivalent.SIZED_BIG_DECIMAL_FLOATS) {
+                number = bigDecimalValue();
+            } else {
+                number = doubleValue();
+            }
+        }
+        return number;
+    }
+
+    @Override
+    public int intValue() {
+        return digits == null ? (int) value : bigDecimalValue().intValue();
+    }
+
+    @Override
+    public long longValue() {
+        return digits == null ? value : bigDecimalValue().longValue();
+    }
+
+    @Override
+    public float floatValue() {
+        return digits == null ? (float) value : Float.parseFloat(digits);
+    }
+
+    @Override
+    public double doubleValue() {
+        return digits == null ? (double) value : Double.parseDouble(digits);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return numberValue().equals(LazyNumber.class.isInstance(obj) ? LazyNumber.class.cast(obj).numberValue() : obj);
+    }
+
+    @Override
+    public int hashCode() {
+        if (digits == null && equivalent != Equivalent.BIG_DECIMAL) { // Integer/Long hash without boxing
+            return (int) value == value ? (int) value : Long.hashCode(value);
+        }
+        return numberValue().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return digits == null ? Long.toString(value) : digits;
+    }
+}
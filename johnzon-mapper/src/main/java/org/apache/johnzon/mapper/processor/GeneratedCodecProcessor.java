@@ -0,0 +1,512 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.mapper.processor;
+
+import org.apache.johnzon.mapper.GeneratedCodec;
+import org.apache.johnzon.mapper.JohnzonGenerateCodec;
+import org.apache.johnzon.mapper.JohnzonIgnore;
+import org.apache.johnzon.mapper.JohnzonProperty;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Generates a {@link GeneratedCodec} for each {@link JohnzonGenerateCodec} class
+ * and registers them in {@code META-INF/services/org.apache.johnzon.mapper.GeneratedCodec}.
+ *
+ * Supported classes have a no-arg constructor and bind their public fields and getters/setters,
+ * optionally renamed with {@code @JohnzonProperty} or ignored with {@code @JohnzonIgnore} (mapper rules)
+ * or with {@code @JsonbProperty} and {@code @JsonbTransient} (default JSON-B rules), properties are sorted by name.
+ * Other mapping annotations and classes mixing both families keep the runtime introspection and a warning is emitted.
+ *
+ * The processor is not registered automatically, use {@code javac -processor org.apache.johnzon.mapper.processor.GeneratedCodecProcessor}
+ * or the {@code annotationProcessors} configuration of the maven-compiler-plugin to enable it.
+ */
+@SupportedAnnotationTypes("org.apache.johnzon.mapper.JohnzonGenerateCodec")
+public class GeneratedCodecProcessor extends AbstractProcessor {
+    private static final String SERVICE = "META-INF/services/" + GeneratedCodec.class.getName();
+    private static final String JSONB_PROPERTY = "javax.json.bind.annotation.JsonbProperty";
+    private static final String JSONB_TRANSIENT = "javax.json.bind.annotation.JsonbTransient";
+    private static final Collection<String> SUPPORTED_ANNOTATIONS = new HashSet<>(asList(
+            JohnzonGenerateCodec.class.getName(), JohnzonProperty.class.getName(), JohnzonIgnore.class.getName(),
+            JSONB_PROPERTY, JSONB_TRANSIENT));
+
+    private final Collection<String> codecs = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        for (final Element element : roundEnv.getElementsAnnotatedWith(JohnzonGenerateCodec.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                warn(element, "@JohnzonGenerateCodec is only supported on classes");
+                continue;
+            }
+            final TypeElement type = TypeElement.class.cast(element);
+            try {
+                final String error = validate(type);
+                if (error != null) {
+                    warn(type, "No codec generated for " + type.getQualifiedName() + ": " + error);
+                    continue;
+                }
+                final Collection<Property> properties = findProperties(type);
+                if (properties == null) {
+                    continue;
+                }
+                final GeneratedCodec.Annotations boundAnnotations = findBoundAnnotations(type);
+                if (boundAnnotations == null) {
+                    warn(type, "No codec generated for " + type.getQualifiedName() + ": Johnzon and JSON-B annotations can't be mixed");
+                    continue;
+                }
+                codecs.add(generate(type, properties, boundAnnotations));
+            } catch (final IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Can't generate the codec: " + e.getMessage(), type);
+            }
+        }
+        if (roundEnv.processingOver() && !codecs.isEmpty()) {
+            try (final Writer writer = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE).openWriter()) {
+                for (final String codec : codecs) {
+                    writer.write(codec + '\n');
+                }
+            } catch (final IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Can't write " + SERVICE + ": " + e.getMessage());
+            }
+        }
+        return false;
+    }
+
+    private String validate(final TypeElement type) {
+        final Set<Modifier> modifiers = type.getModifiers();
+        if (modifiers.contains(Modifier.ABSTRACT) || modifiers.contains(Modifier.PRIVATE)) {
+            return "abstract and private classes are not supported";
+        }
+        if (type.getNestingKind() != NestingKind.TOP_LEVEL
+                && (type.getNestingKind() != NestingKind.MEMBER || !modifiers.contains(Modifier.STATIC))) {
+            return "only top level and static nested classes are supported";
+        }
+        if (!type.getTypeParameters().isEmpty()) {
+            return "generic classes are not supported";
+        }
+        if (ElementFilter.constructorsIn(type.getEnclosedElements()).stream()
+                .noneMatch(it -> it.getParameters().isEmpty() && !it.getModifiers().contains(Modifier.PRIVATE))) {
+            return "a no-arg constructor is required";
+        }
+        final String unsupported = findUnsupportedAnnotation(type);
+        return unsupported != null ? unsupported : findUnsupportedAnnotation(processingEnv.getElementUtils().getPackageOf(type));
+    }
+
+    private Collection<Property> findProperties(final TypeElement type) {
+        final Map<String, Property> properties = new TreeMap<>();
+        for (final Element member : processingEnv.getElementUtils().getAllMembers(type)) {
+            final Set<Modifier> modifiers = member.getModifiers();
+            if (modifiers.contains(Modifier.STATIC)
+                    || Object.class.getName().equals(TypeElement.class.cast(member.getEnclosingElement()).getQualifiedName().toString())) {
+                continue;
+            }
+            if (!modifiers.contains(Modifier.PUBLIC)) {
+                if (hasMappingAnnotation(member)) { // JSON-B binds annotated private fields
+                    warn(member, "No codec generated for " + type.getQualifiedName() + ": mapping annotations on non public members are not supported");
+                    return null;
+                }
+                continue;
+            }
+            final String name = member.getSimpleName().toString();
+            if (member.getKind() == ElementKind.FIELD && !modifiers.contains(Modifier.TRANSIENT)) {
+                properties.computeIfAbsent(name, Property::new).field = VariableElement.class.cast(member);
+            } else if (member.getKind() == ElementKind.METHOD) {
+                final ExecutableElement method = ExecutableElement.class.cast(member);
+                final TypeKind returnType = method.getReturnType().getKind();
+                if (method.getParameters().isEmpty() && returnType != TypeKind.VOID
+                        && name.startsWith("get") && name.length() > 3) {
+                    properties.computeIfAbsent(decapitalize(name.substring(3)), Property::new).getter = method;
+                } else if (method.getParameters().isEmpty() && returnType == TypeKind.BOOLEAN
+                        && name.startsWith("is") && name.length() > 2) {
+                    properties.computeIfAbsent(decapitalize(name.substring(2)), Property::new).getter = method;
+                } else if (method.getParameters().size() == 1 && returnType == TypeKind.VOID
+                        && name.startsWith("set") && name.length() > 3) {
+                    properties.computeIfAbsent(decapitalize(name.substring(3)), Property::new).setter = method;
+                }
+            }
+        }
+
+        final List<Property> result = new ArrayList<>(properties.size());
+        for (final Property property : properties.values()) {
+            for (final Element element : asList(property.field, property.getter, property.setter)) {
+                final String unsupported = element == null ? null : findUnsupportedAnnotation(element);
+                if (unsupported != null) {
+                    warn(element, "No codec generated for " + type.getQualifiedName() + ": " + unsupported);
+                    return null;
+                }
+            }
+            final boolean fieldIgnored = isIgnored(property.field);
+            if (!fieldIgnored && !isIgnored(property.getter) && (property.getter != null || property.field != null)) {
+                property.readName = findName(property.getter, findName(property.field, property.javaName));
+                property.readType = property.getter != null ? property.getter.getReturnType() : property.field.asType();
+            }
+            if (!fieldIgnored && !isIgnored(property.setter)
+                    && (property.setter != null || property.field != null && !property.field.getModifiers().contains(Modifier.FINAL))) {
+                property.writeName = findName(property.setter, findName(property.field, property.javaName));
+                property.writeType = property.setter != null ? property.setter.getParameters().get(0).asType() : property.field.asType();
+                property.writeTypeLiteral = typeLiteral(property.writeType);
+                if (property.writeTypeLiteral == null) {
+                    warn(type, "No codec generated for " + type.getQualifiedName() + ": unsupported type " + property.writeType);
+                    return null;
+                }
+            }
+            if (property.readName != null || property.writeName != null) {
+                result.add(property);
+            }
+        }
+
+        result.sort(Comparator.comparing(it -> it.readName != null ? it.readName : it.writeName));
+        return result;
+    }
+
+    // null when both families are used
+    private GeneratedCodec.Annotations findBoundAnnotations(final TypeElement type) {
+        final Collection<Element> elements = new ArrayList<>(processingEnv.getElementUtils().getAllMembers(type));
+        elements.add(type);
+        boolean johnzon = false;
+        boolean jsonb = false;
+        for (final Element element : elements) {
+            for (final AnnotationMirror annotation : element.getAnnotationMirrors()) {
+                final String name = annotationName(annotation);
+                johnzon |= name.startsWith("org.apache.johnzon.") && !JohnzonGenerateCodec.class.getName().equals(name);
+                jsonb |= name.startsWith("javax.json.bind.annotation.");
+            }
+        }
+        if (johnzon && jsonb) {
+            return null;
+        }
+        return johnzon ? GeneratedCodec.Annotations.JOHNZON : (jsonb ? GeneratedCodec.Annotations.JSONB : GeneratedCodec.Annotations.NONE);
+    }
+
+    private String generate(final TypeElement type, final Collection<Property> properties,
+                            final GeneratedCodec.Annotations annotations) throws IOException {
+        final String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        final StringBuilder simpleName = new StringBuilder("JohnzonCodec");
+        for (Element current = type; !PackageElement.class.isInstance(current); current = current.getEnclosingElement()) {
+            simpleName.insert(0, current.getSimpleName() + "_");
+        }
+        final String codecName = packageName.isEmpty() ? simpleName.toString() : packageName + '.' + simpleName;
+        final String model = type.getQualifiedName().toString();
+
+        final StringBuilder types = new StringBuilder();
+        final StringBuilder writer = new StringBuilder();
+        final StringBuilder reader = new StringBuilder();
+        int index = 0;
+        for (final Property property : properties) {
+            if (property.readName != null) {
+                final String expression = property.getter != null ?
+                        "instance." + property.getter.getSimpleName() + "()" : "instance." + property.field.getSimpleName();
+                writer.append(write(property.readType, literal(property.readName), expression));
+            }
+            if (property.writeName != null) {
+                String typeLiteral = property.writeTypeLiteral;
+                if (!typeLiteral.endsWith(".class")) {
+                    final String constant = "TYPE_" + index++;
+                    types.append("    private static final java.lang.reflect.Type ").append(constant)
+                            .append(" = ").append(typeLiteral).append(";\n");
+                    typeLiteral = constant;
+                }
+                final String assignment = property.setter != null ?
+                        "instance." + property.setter.getSimpleName() + "(%s);" : "instance." + property.field.getSimpleName() + " = %s;";
+                reader.append("        {\n")
+                        .append("            final javax.json.JsonValue value = object.get(").append(literal(property.writeName)).append(");\n")
+                        .append("            if (value != null && value.getValueType() != javax.json.JsonValue.ValueType.NULL) {\n")
+                        .append("                ").append(String.format(assignment, read(property.writeType, typeLiteral))).append('\n')
+                        .append("            }\n")
+                        .append("        }\n");
+            }
+        }
+
+        try (final Writer out = processingEnv.getFiler().createSourceFile(codecName, type).openWriter()) {
+            if (!packageName.isEmpty()) {
+                out.write("package " + packageName + ";\n\n");
+            }
+            out.write("/**\n * Generated by " + getClass().getName() + " for {@link " + model + "}.\n */\n");
+            out.write("public final class " + simpleName + " implements " + GeneratedCodec.class.getName() + "<" + model + "> {\n");
+            out.write(types.toString());
+            if (types.length() > 0) {
+                out.write('\n');
+            }
+            out.write("    @Override\n");
+            out.write("    public Class<" + model + "> type() {\n");
+            out.write("        return " + model + ".class;\n");
+            out.write("    }\n\n");
+            out.write("    @Override\n");
+            out.write("    public " + GeneratedCodec.class.getName() + ".Annotations boundAnnotations() {\n");
+            out.write("        return " + GeneratedCodec.class.getName() + ".Annotations." + annotations.name() + ";\n");
+            out.write("    }\n\n");
+            out.write("    @Override\n");
+            out.write("    public void writeProperties(final " + model + " instance, final javax.json.stream.JsonGenerator generator,\n");
+            out.write("                                final org.apache.johnzon.mapper.MappingGenerator mappingGenerator) {\n");
+            out.write(writer.toString());
+            out.write("    }\n\n");
+            out.write("    @Override\n");
+            out.write("    public " + model + " fromJson(final javax.json.JsonValue jsonValue, final java.lang.reflect.Type targetType,\n");
+            out.write("                                  final org.apache.johnzon.mapper.MappingParser parser) {\n");
+            out.write("        final javax.json.JsonObject object = jsonValue.asJsonObject();\n");
+            out.write("        final " + model + " instance = new " + model + "();\n");
+            out.write(reader.toString());
+            out.write("        return instance;\n");
+            out.write("    }\n");
+            out.write("}\n");
+        }
+        return codecName;
+    }
+
+    // primitives, strings and booleans are written directly, the rest goes through the mapper (adapters, converters...)
+    private String write(final TypeMirror type, final String key, final String expression) {
+        final String name = type.toString();
+        switch (type.getKind()) {
+            case INT:
+            case SHORT:
+            case BYTE:
+            case BOOLEAN:
+                return "        generator.write(" + key + ", " + expression + ");\n";
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
+            case CHAR:
+                return "        mappingGenerator.writeObject(" + key + ", " + expression + ", generator);\n";
+            default:
+                final String write;
+                if (String.class.getName().equals(name)) {
+                    write = "generator.write(" + key + ", value);";
+                } else if (Integer.class.getName().equals(name) || Short.class.getName().equals(name) || Byte.class.getName().equals(name)) {
+                    write = "generator.write(" + key + ", value.intValue());";
+                } else if (Boolean.class.getName().equals(name)) {
+                    write = "generator.write(" + key + ", value.booleanValue());";
+                } else {
+                    write = "mappingGenerator.writeObject(" + key + ", value, generator);";
+                }
+                return "        {\n" +
+                        "            final " + name + " value = " + expression + ";\n" +
+                        "            if (value != null) {\n" +
+                        "                " + write + "\n" +
+                        "            }\n" +
+                        "        }\n";
+        }
+    }
+
+    private String read(final TypeMirror type, final String typeLiteral) {
+        final String boxed = type.getKind().isPrimitive() ?
+                processingEnv.getTypeUtils().boxedClass(PrimitiveType.class.cast(type)).getQualifiedName().toString() :
+                type.toString();
+        final String fallback = "parser.<" + boxed + ">readObject(value, " + typeLiteral + ")";
+        if (String.class.getName().equals(boxed)) {
+            return "value.getValueType() == javax.json.JsonValue.ValueType.STRING ? " +
+                    "javax.json.JsonString.class.cast(value).getString() : " + fallback;
+        }
+        if (Integer.class.getName().equals(boxed) || Long.class.getName().equals(boxed) || Double.class.getName().equals(boxed)) {
+            final String accessor = Integer.class.getName().equals(boxed) ? "intValue()" : (Long.class.getName().equals(boxed) ? "longValue()" : "doubleValue()");
+            return "value.getValueType() == javax.json.JsonValue.ValueType.NUMBER ? " +
+                    "javax.json.JsonNumber.class.cast(value)." + accessor + " : " + fallback;
+        }
+        if (Boolean.class.getName().equals(boxed)) {
+            return "value.getValueType() == javax.json.JsonValue.ValueType.TRUE" +
+                    " || (value.getValueType() != javax.json.JsonValue.ValueType.FALSE && " + fallback + ")";
+        }
+        return fallback;
+    }
+
+    // a java expression building the runtime type or null if not supported
+    private String typeLiteral(final TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return type + ".class";
+        }
+        switch (type.getKind()) {
+            case ARRAY:
+                final String component = typeLiteral(ArrayType.class.cast(type).getComponentType());
+                return component != null && component.endsWith(".class") ? processingEnv.getTypeUtils().erasure(type) + ".class" : null;
+            case DECLARED:
+                final DeclaredType declaredType = DeclaredType.class.cast(type);
+                final String raw = TypeElement.class.cast(declaredType.asElement()).getQualifiedName() + ".class";
+                if (declaredType.getTypeArguments().isEmpty()) {
+                    return raw;
+                }
+                final StringBuilder builder = new StringBuilder("new org.apache.johnzon.mapper.reflection.JohnzonParameterizedType(").append(raw);
+                for (final TypeMirror argument : declaredType.getTypeArguments()) {
+                    final String literal = typeLiteral(argument);
+                    if (literal == null) {
+                        return null;
+                    }
+                    builder.append(", ").append(literal);
+                }
+                return builder.append(')').toString();
+            case WILDCARD:
+                final WildcardType wildcardType = WildcardType.class.cast(type);
+                if (wildcardType.getSuperBound() != null) {
+                    return null;
+                }
+                return wildcardType.getExtendsBound() == null ? "Object.class" : typeLiteral(wildcardType.getExtendsBound());
+            default:
+                return null;
+        }
+    }
+
+    private String findUnsupportedAnnotation(final Element element) {
+        for (final AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            final String name = annotationName(annotation);
+            if (isMappingAnnotation(name) && !SUPPORTED_ANNOTATIONS.contains(name)) {
+                return "@" + name + " is not supported";
+            }
+            if (JohnzonIgnore.class.getName().equals(name) && findValue(annotation, "minVersion") != null) {
+                return "@JohnzonIgnore(minVersion) is not supported";
+            }
+            if (JSONB_PROPERTY.equals(name) && Boolean.TRUE.equals(findValue(annotation, "nillable"))) {
+                return "@JsonbProperty(nillable) is not supported";
+            }
+        }
+        return null;
+    }
+
+    private boolean hasMappingAnnotation(final Element element) {
+        return element.getAnnotationMirrors().stream().anyMatch(it -> isMappingAnnotation(annotationName(it)));
+    }
+
+    private boolean isIgnored(final Element element) {
+        return element != null
+                && (findAnnotation(element, JohnzonIgnore.class.getName()) != null || findAnnotation(element, JSONB_TRANSIENT) != null);
+    }
+
+    private String findName(final Element element, final String defaultValue) {
+        if (element == null) {
+            return defaultValue;
+        }
+        AnnotationMirror mirror = findAnnotation(element, JohnzonProperty.class.getName());
+        if (mirror == null) {
+            mirror = findAnnotation(element, JSONB_PROPERTY);
+        }
+        if (mirror != null) {
+            final Object value = findValue(mirror, "value");
+            if (value != null && !String.valueOf(value).isEmpty()) {
+                return String.valueOf(value);
+            }
+        }
+        return defaultValue;
+    }
+
+    private AnnotationMirror findAnnotation(final Element element, final String name) {
+        for (final AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (annotationName(annotation).equals(name)) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    private static String annotationName(final AnnotationMirror annotation) {
+        return TypeElement.class.cast(annotation.getAnnotationType().asElement()).getQualifiedName().toString();
+    }
+
+    private static boolean isMappingAnnotation(final String name) {
+        return name.startsWith("org.apache.johnzon.") || name.startsWith("javax.json.bind.annotation.");
+    }
+
+    private Object findValue(final AnnotationMirror annotation, final String name) {
+        for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    private void warn(final Element element, final String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, message, element);
+    }
+
+    // same rule as java.beans.Introspector
+    private static String decapitalize(final String name) {
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static String literal(final String value) {
+        final StringBuilder builder = new StringBuilder("\"");
+        for (final char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c < ' ' || c > '~') {
+                builder.append(String.format("\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+    private static final class Property {
+        private final String javaName;
+        private VariableElement field;
+        private ExecutableElement getter;
+        private ExecutableElement setter;
+        private String readName;
+        private TypeMirror readType;
+        private String writeName;
+        private TypeMirror writeType;
+        private String writeTypeLiteral;
+
+        private Property(final String javaName) {
+            this.javaName = javaName;
+        }
+    }
+}
@@ -21,6 +21,7 @@ package org.apache.johnzon.mapper.reflection;
 import org.apache.johnzon.mapper.Converter;
 import org.apache.johnzon.mapper.MapperConverter;
 import org.apache.johnzon.mapper.TypeAwareAdapter;
+import org.apache.johnzon.mapper.converter.CachedDelegateConverter;
 import org.apache.johnzon.mapper.internal.ConverterAdapter;
 
 import java.lang.reflect.ParameterizedType;
@@ -37,7 +38,10 @@ public class Converters {
     public static boolean matches(final Type type, final MapperConverter adapter) {
         Type convertType = null;
         if (ConverterAdapter.class.isInstance(adapter)) {
-            final Converter delegate = ConverterAdapter.class.cast(adapter).getConverter();
+            Converter delegate = ConverterAdapter.class.cast(adapter).getConverter();
+            if (CachedDelegateConverter.class.isInstance(delegate)) {
+                delegate = CachedDelegateConverter.class.cast(delegate).getDelegate();
+            }
             if (Converter.TypeAccess.class.isInstance(delegate)) {
                 convertType = Converter.TypeAccess.class.cast(delegate).type();
             } else {
@@ -26,6 +26,7 @@ import org.junit.Test;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -184,6 +185,24 @@ public class CircularObjectsTest {
 
     }
 
+    @Test
+    public void testReferenceToArrayItem() {
+        Person lu = new Person("Lu");
+        Person sue = new Person("Sue");
+        sue.setMother(lu);
+
+        Mapper mapper = new MapperBuilder().setAccessModeName("field").setDeduplicateObjects(true).build();
+
+        String json = mapper.writeArrayAsString(new Person[] { lu, sue, lu });
+        assertTrue(json, json.contains("\"mother\":\"/0\""));
+        assertTrue(json, json.endsWith(",\"/0\"]"));
+
+        Person[] people = mapper.readArray(new StringReader(json), Person.class);
+        assertEquals(3, people.length);
+        assertSame(people[0], people[1].getMother());
+        assertSame(people[0], people[2]);
+    }
+
     public static class Person {
         private String name;
         private Person marriedTo;
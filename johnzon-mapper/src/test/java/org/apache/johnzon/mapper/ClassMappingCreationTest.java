@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.mapper;
+
+import org.apache.johnzon.mapper.access.FieldAndMethodAccessMode;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class ClassMappingCreationTest {
+    @Test
+    public void singleFlight() throws Exception {
+        final CountingAccessMode accessMode = new CountingAccessMode();
+        final Mapper mapper = new MapperBuilder().setAccessMode(accessMode).build();
+        final int threads = 16;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            final Collection<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return mapper.writeObjectAsString(new Child());
+                }));
+            }
+            start.countDown();
+            for (final Future<String> result : results) {
+                assertEquals("{\"name\":\"child\"}", result.get(1, TimeUnit.MINUTES));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, accessMode.count(Child.class));
+    }
+
+    @Test
+    public void warmup() {
+        final CountingAccessMode accessMode = new CountingAccessMode();
+        final Mapper mapper = new MapperBuilder().setAccessMode(accessMode).build();
+        mapper.warmup(true, Parent.class);
+        assertEquals(1, accessMode.count(Parent.class));
+        assertEquals(1, accessMode.count(Child.class));
+        assertNotNull(mapper.mappings.getClassMapping(Child.class));
+
+        final Parent parent = mapper.readObject("{\"children\":[{\"name\":\"c\"}],\"child\":{\"name\":\"d\"}}", Parent.class);
+        assertEquals("c", parent.children.get(0).name);
+        assertEquals("d", parent.child.name);
+        assertEquals(1, accessMode.count(Child.class));
+    }
+
+    public static class Parent {
+        public List<Child> children;
+        public Child child;
+    }
+
+    public static class Child {
+        public String name = "child";
+    }
+
+    private static class CountingAccessMode extends FieldAndMethodAccessMode {
+        private final Map<Class<?>, AtomicInteger> counters = new ConcurrentHashMap<>();
+
+        private CountingAccessMode() {
+            super(false, true, false, true);
+        }
+
+        private int count(final Class<?> type) {
+            final AtomicInteger counter = counters.get(type);
+            return counter == null ? 0 : counter.get();
+        }
+
+        @Override
+        public Map<String, Reader> doFindReaders(final Class<?> clazz) {
+            counters.computeIfAbsent(clazz, k -> new AtomicInteger()).incrementAndGet();
+            try { // slow introspection to make the threads overlap
+                Thread.sleep(200);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.doFindReaders(clazz);
+        }
+    }
+}
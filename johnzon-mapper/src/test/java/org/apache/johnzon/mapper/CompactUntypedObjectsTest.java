@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.mapper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import javax.json.Json;
+
+import org.apache.johnzon.mapper.map.CompactMap;
+import org.apache.johnzon.mapper.number.LazyNumber;
+import org.apache.johnzon.mapper.reflection.JohnzonParameterizedType;
+import org.junit.Test;
+
+public class CompactUntypedObjectsTest {
+    private static final String JSON = "{\"id\":12,\"price\":1.5,\"nested\":{\"big\":12345678901234567890},\"list\":[1,\"a\"]}";
+
+    private final Mapper mapper = new MapperBuilder().setCompactUntypedObjects(true).setUseBigDecimalForObjectNumbers(true).build();
+
+    @Test
+    public void readObject() {
+        final Map<String, Object> map = Map.class.cast(mapper.readObject(JSON, Object.class));
+        assertTrue(CompactMap.class.isInstance(map));
+        assertNumbers(map);
+    }
+
+    @Test
+    public void readMap() {
+        final Map<String, Object> map = mapper.readObject(JSON, new JohnzonParameterizedType(Map.class, String.class, Object.class));
+        assertTrue(CompactMap.class.isInstance(map));
+        assertNumbers(map);
+    }
+
+    @Test
+    public void readObjectModel() {
+        final Map<String, Object> map = Map.class.cast(mapper.readObject(Json.createReader(new StringReader(JSON)).readValue(), Object.class));
+        assertTrue(CompactMap.class.isInstance(map));
+        assertNumbers(map);
+        assertEquals(map, mapper.readObject(JSON, Object.class));
+    }
+
+    @Test
+    public void equalsEagerValues() {
+        final Object lazy = mapper.readObject(JSON, Object.class);
+        final Object eager = new MapperBuilder().setUseBigDecimalForObjectNumbers(true).build().readObject(JSON, Object.class);
+        assertEquals(lazy, eager);
+        assertEquals(eager.hashCode(), lazy.hashCode());
+
+        final Mapper sized = new MapperBuilder().setCompactUntypedObjects(true).build();
+        final Map<String, Object> sizedMap = Map.class.cast(sized.readObject(JSON, Object.class));
+        assertEquals(sizedMap.get("id"), 12);
+        assertEquals(sizedMap.get("price"), 1.5);
+        assertEquals(sizedMap, new MapperBuilder().build().readObject(JSON, Object.class));
+        assertFalse(new BigDecimal("12").equals(sizedMap.get("id")));
+    }
+
+    @Test
+    public void duplicatedKeysKeepTheLastValue() {
+        final Map<String, Object> map = Map.class.cast(mapper.readObject("{\"a\":1,\"b\":true,\"a\":\"last\"}", Object.class));
+        assertEquals("last", map.get("a"));
+        assertEquals("{a=last, b=true}", map.toString());
+    }
+
+    @Test
+    public void streamedProperty() {
+        final Mapper streaming = new MapperBuilder().setCompactUntypedObjects(true).setStreamingObjects(true).build();
+        final Holder holder = streaming.readObject("{\"attributes\":" + JSON + "}", Holder.class);
+        assertTrue(CompactMap.class.isInstance(holder.attributes));
+        assertEquals(holder.attributes.get("id"), 12);
+        assertEquals(holder.attributes.get("price"), 1.5);
+    }
+
+    @Test
+    public void roundTrip() {
+        assertEquals(JSON, mapper.writeObjectAsString(mapper.readObject(JSON, Object.class)));
+    }
+
+    @Test
+    public void disabledByDefault() {
+        final Map<String, Object> map = Map.class.cast(new MapperBuilder().build().readObject(JSON, Object.class));
+        assertEquals(12, map.get("id"));
+    }
+
+    private void assertNumbers(final Map<String, Object> map) {
+        final LazyNumber id = LazyNumber.class.cast(map.get("id"));
+        assertEquals(12, id.intValue());
+        assertTrue(id.isIntegral());
+        assertEquals(id, new BigDecimal("12")); // lazy numbers equal the eager values, not the reverse
+        assertEquals(1.5, LazyNumber.class.cast(map.get("price")).doubleValue(), 0.);
+        final LazyNumber big = LazyNumber.class.cast(Map.class.cast(map.get("nested")).get("big"));
+        assertEquals("12345678901234567890", big.toString());
+        assertEquals(new BigDecimal("12345678901234567890"), big.bigDecimalValue());
+        final List<Object> list = List.class.cast(map.get("list"));
+        assertEquals(1L, LazyNumber.class.cast(list.get(0)).longValue());
+        assertEquals(list.get(0), 1); // items are sized numbers, as without lazy numbers
+        assertEquals("a", list.get(1));
+    }
+
+    public static class Holder {
+        public Map<String, Object> attributes;
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.mapper;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.beans.ConstructorProperties;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+
+import javax.json.Json;
+import javax.json.stream.JsonParsingException;
+
+import org.junit.Test;
+
+public class CreatorStreamingTest {
+    private static final String JSON = "{\"unknown\":{\"a\":[1,{\"b\":2}]},\"label\":\"extra\",\"name\":\"root\"," +
+            "\"child\":{\"name\":\"child\",\"age\":3,\"ignored\":[[]]},\"tags\":[\"a\",\"b\"],\"age\":42}";
+
+    @Test
+    public void bindWithoutTree() {
+        try (final Mapper mapper = new MapperBuilder().setStreamingObjects(true).build()) {
+            final Person expected = mapper.readObject(Json.createReader(new StringReader(JSON)).readValue(), Person.class);
+            assertEquals("extra", expected.label);
+
+            final Person fromReader = mapper.readObject(new StringReader(JSON), Person.class);
+            assertEquals(expected, fromReader);
+            assertEquals("extra", fromReader.label);
+            assertEquals(new Person("child", 3, null, null), fromReader.child);
+            assertEquals(asList("a", "b"), fromReader.tags);
+            assertEquals(expected, mapper.readObject(new ByteArrayInputStream(JSON.getBytes(StandardCharsets.UTF_8)), Person.class));
+            assertEquals(expected, mapper.readObject(Json.createParser(new StringReader(JSON)), Person.class));
+        }
+    }
+
+    @Test
+    public void missingArguments() {
+        try (final Mapper mapper = new MapperBuilder().setStreamingObjects(true).build()) {
+            final Person person = mapper.readObject("{\"child\":null}", Person.class);
+            assertEquals(new Person(null, 0, null, null), person);
+        }
+    }
+
+    @Test
+    public void nullDocument() {
+        try (final Mapper mapper = new MapperBuilder().setStreamingObjects(true).build()) {
+            assertNull(mapper.readObject("null", Person.class));
+        }
+    }
+
+    @Test(expected = EmptyDocumentException.class)
+    public void emptyDocument() {
+        try (final Mapper mapper = new MapperBuilder().setStreamingObjects(true).build()) {
+            mapper.readObject("", Person.class);
+        }
+    }
+
+    @Test
+    public void duplicatedKeysKeepTheLastValue() {
+        try (final Mapper mapper = new MapperBuilder().setStreamingObjects(true).build()) {
+            final Person person = mapper.readObject(
+                    "{\"label\":\"first\",\"age\":1,\"label\":\"last\",\"age\":2}", Person.class);
+            assertEquals(2, person.age);
+            assertEquals("last", person.label);
+            assertEquals(1, person.labelCalls);
+
+            final Counter counter = mapper.readObject("{\"value\":1,\"value\":2,\"value\":3}", Counter.class);
+            assertEquals(3, counter.value);
+            assertEquals(1, counter.calls);
+        }
+    }
+
+    @Test(expected = JsonParsingException.class)
+    public void trailingContent() {
+        try (final Mapper mapper = new MapperBuilder().setStreamingObjects(true).build()) {
+            mapper.readObject("{\"age\":1} {}", Person.class);
+        }
+    }
+
+    @Test
+    public void base64Bytes() {
+        final byte[] bytes = new byte[]{-5, -1, 0, 1, 62, 63};
+        for (final boolean url : new boolean[]{false, true}) {
+            final String encoded = (url ? Base64.getUrlEncoder() : Base64.getEncoder()).encodeToString(bytes);
+            try (final Mapper mapper = new MapperBuilder().setStreamingObjects(true)
+                    .setTreatByteArrayAsBase64(!url).setTreatByteArrayAsBase64URL(url).build()) {
+                final Binary binary = mapper.readObject("{\"content\":\"" + encoded + "\",\"checksum\":\"" + encoded + "\"}", Binary.class);
+                assertArrayEquals(bytes, binary.content);
+                assertArrayEquals(bytes, binary.checksum);
+            }
+        }
+    }
+
+    @Test(expected = MapperException.class)
+    public void invalidBase64Bytes() {
+        try (final Mapper mapper = new MapperBuilder().setStreamingObjects(true).setTreatByteArrayAsBase64(true).build()) {
+            mapper.readObject("{\"checksum\":\"ab-_\"}", Binary.class);
+        }
+    }
+
+    @Test
+    public void argumentAndSetter() {
+        final String json = "{\"owner\":{\"name\":\"jo\",\"age\":1},\"checksum\":\"AQI=\"}";
+        try (final Mapper streaming = new MapperBuilder().setStreamingObjects(true).setTreatByteArrayAsBase64(true).build();
+             final Mapper tree = new MapperBuilder().setTreatByteArrayAsBase64(true).build()) {
+            for (final Mapper mapper : asList(streaming, tree)) {
+                final Shared shared = mapper.readObject(json, Shared.class);
+                assertEquals(new Person("jo", 1, null, null), shared.owner);
+                assertEquals(new Person("jo", 1, null, null), shared.ownerFromSetter);
+                assertArrayEquals(new byte[]{1, 2}, shared.checksum);
+                assertArrayEquals(new byte[]{1, 2}, shared.checksumFromSetter);
+            }
+        }
+    }
+
+    @Test
+    public void constructorFailures() {
+        try (final Mapper mapper = new MapperBuilder().setStreamingObjects(true).build()) {
+            try {
+                mapper.readObject("{\"kind\":\"checked\"}", Failing.class);
+                fail();
+            } catch (final IllegalStateException ise) {
+                assertTrue(IOException.class.isInstance(ise.getCause()));
+            }
+            try {
+                mapper.readObject("{\"kind\":\"error\"}", Failing.class);
+                fail();
+            } catch (final AssertionError ae) {
+                assertEquals("error", ae.getMessage());
+            }
+        }
+    }
+
+    public static class Failing {
+        @ConstructorProperties("kind")
+        public Failing(final String kind) throws IOException {
+            if ("checked".equals(kind)) {
+                throw new IOException(kind);
+            }
+            throw new AssertionError(kind);
+        }
+    }
+
+    public static class Shared {
+        private final Person owner;
+        private final byte[] checksum;
+        private Person ownerFromSetter;
+        private byte[] checksumFromSetter;
+
+        @ConstructorProperties({"owner", "checksum"})
+        public Shared(final Person owner, final byte[] checksum) {
+            this.owner = owner;
+            this.checksum = checksum;
+        }
+
+        public void setOwner(final Person owner) {
+            this.ownerFromSetter = owner;
+        }
+
+        public void setChecksum(final byte[] checksum) {
+            this.checksumFromSetter = checksum;
+        }
+    }
+
+    public static class Person {
+        private final String name;
+        private final int age;
+        private final Person child;
+        private final List<String> tags;
+        private String label;
+        private int labelCalls;
+
+        @ConstructorProperties({"name", "age", "child", "tags"})
+        public Person(final String name, final int age, final Person child, final List<String> tags) {
+            this.name = name;
+            this.age = age;
+            this.child = child;
+            this.tags = tags;
+        }
+
+        public void setLabel(final String label) {
+            this.label = label;
+            labelCalls++;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final Person person = Person.class.cast(o);
+            return age == person.age && Objects.equals(name, person.name)
+                    && Objects.equals(child, person.child) && Objects.equals(tags, person.tags);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, age, child, tags);
+        }
+    }
+
+    public static class Counter {
+        private int value;
+        private int calls;
+
+        public void setValue(final int value) {
+            this.value = value;
+            calls++;
+        }
+    }
+
+    public static class Binary {
+        private final byte[] content;
+        private byte[] checksum;
+
+        @ConstructorProperties("content")
+        public Binary(final byte[] content) {
+            this.content = content;
+        }
+
+        public void setChecksum(final byte[] checksum) {
+            this.checksum = checksum;
+        }
+    }
+}
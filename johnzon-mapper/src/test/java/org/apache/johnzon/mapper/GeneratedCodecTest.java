@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.mapper;
+
+import org.apache.johnzon.mapper.processor.GeneratedCodecProcessor;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.json.Json;
+import javax.json.JsonReader;
+import javax.json.JsonValue;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.StringReader;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Comparator;
+import java.util.ServiceLoader;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeNotNull;
+
+public class GeneratedCodecTest {
+    private static final String JSON = "{\"active\":true,\"addresses\":[{\"city\":\"Paris\"}],\"age\":42,\"mail\":\"jo@johnzon.org\"," +
+            "\"name\":\"Jo\",\"partner\":{\"active\":false,\"age\":40,\"name\":\"Al\"}}";
+
+    @Rule
+    public final TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void generatedCodec() throws Exception {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assumeNotNull(compiler);
+
+        final File output = temp.newFolder("classes");
+        try (final StandardJavaFileManager files = compiler.getStandardFileManager(null, null, null)) {
+            assertTrue(compiler.getTask(null, files, null,
+                    asList("-classpath", System.getProperty("java.class.path"), "-d", output.getAbsolutePath(), "-s", output.getAbsolutePath(),
+                            "-processor", GeneratedCodecProcessor.class.getName()),
+                    null, asList(source("Address", "public class Address {\n    public String city;\n}\n"), source("Person",
+                            "@org.apache.johnzon.mapper.JohnzonGenerateCodec\n" +
+                            "public class Person {\n" +
+                            "    public String name;\n" +
+                            "    @org.apache.johnzon.mapper.JohnzonProperty(\"mail\")\n" +
+                            "    public String email;\n" +
+                            "    @org.apache.johnzon.mapper.JohnzonIgnore\n" +
+                            "    public String secret = \"hidden\";\n" +
+                            "    private int age;\n" +
+                            "    private boolean active;\n" +
+                            "    private java.util.List<Address> addresses;\n" +
+                            "    private Person partner;\n" +
+                            "    public int getAge() { return age; }\n" +
+                            "    public void setAge(final int age) { this.age = age; }\n" +
+                            "    public boolean isActive() { return active; }\n" +
+                            "    public void setActive(final boolean active) { this.active = active; }\n" +
+                            "    public java.util.List<Address> getAddresses() { return addresses; }\n" +
+                            "    public void setAddresses(final java.util.List<Address> addresses) { this.addresses = addresses; }\n" +
+                            "    public Person getPartner() { return partner; }\n" +
+                            "    public void setPartner(final Person partner) { this.partner = partner; }\n" +
+                            "}\n"))).call());
+        }
+
+        final Thread thread = Thread.currentThread();
+        final ClassLoader oldLoader = thread.getContextClassLoader();
+        try (final URLClassLoader loader = new URLClassLoader(new URL[]{output.toURI().toURL()}, GeneratedCodecTest.class.getClassLoader())) {
+            thread.setContextClassLoader(loader);
+            final Class<?> person = loader.loadClass("test.codec.Person");
+            final GeneratedCodec<?> codec = ServiceLoader.load(GeneratedCodec.class, loader).iterator().next();
+            assertEquals(person, codec.type());
+
+            final Mapper reflection = new MapperBuilder().setUseGeneratedCodecs(false).build();
+            final Mapper generated = new MapperBuilder().build();
+
+            final Object fromReflection = reflection.readObject(JSON, person);
+            final Object fromCodec = generated.readObject(JSON, person);
+            final JsonValue expected = toJson(JSON);
+            assertEquals(expected, toJson(reflection.writeObjectAsString(fromReflection))); // default order is not specified
+            assertEquals(JSON, generated.writeObjectAsString(fromReflection));
+            assertEquals(expected, toJson(reflection.writeObjectAsString(fromCodec)));
+            assertEquals(JSON, generated.writeObjectAsString(fromCodec));
+
+            final Mappings.ClassMapping mapping = generated.mappings.findOrCreateClassMapping(person);
+            assertTrue(mapping.getters.isEmpty());
+            assertEquals(codec.getClass(), mapping.writer.getClass());
+
+            // other settings than the defaults need the runtime mapping
+            for (final MapperBuilder builder : asList(
+                    new MapperBuilder().setAttributeOrder(Comparator.reverseOrder()),
+                    new MapperBuilder().setAccessModeName("field"),
+                    new MapperBuilder().setSkipEmptyArray(true),
+                    new MapperBuilder().setVersion(1),
+                    new MapperBuilder().setReadAttributeBeforeWrite(true),
+                    new MapperBuilder().setSerializeValueFilter((name, value) -> false),
+                    new MapperBuilder().addAdapter(new TrimmingAdapter()))) {
+                try (final Mapper mapper = builder.build()) {
+                    assertFalse(GeneratedCodec.class.isInstance(mapper.mappings.findOrCreateClassMapping(person).writer));
+                }
+            }
+        } finally {
+            thread.setContextClassLoader(oldLoader);
+        }
+    }
+
+    private static JsonValue toJson(final String json) {
+        try (final JsonReader reader = Json.createReader(new StringReader(json))) {
+            return reader.readValue();
+        }
+    }
+
+    public static class TrimmingAdapter implements Adapter<String, String> {
+        @Override
+        public String to(final String instance) {
+            return instance.trim();
+        }
+
+        @Override
+        public String from(final String text) {
+            return text.trim();
+        }
+    }
+
+    private static JavaFileObject source(final String name, final String content) {
+        return new SimpleJavaFileObject(URI.create("string:///test/codec/" + name + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+                return "package test.codec;\n\n" + content;
+            }
+        };
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.mapper;
+
+import static org.junit.Assert.assertEquals;
+
+import javax.json.Json;
+import javax.json.JsonValue;
+
+import org.junit.Test;
+
+public class JsonObjectGeneratorTest {
+    @Test
+    public void nestedStructures() {
+        final JsonObjectGenerator generator = new JsonObjectGenerator(Json.createBuilderFactory(null));
+        generator.writeStartObject()
+                .write("a", 1)
+                .writeStartArray("list")
+                    .write("x")
+                    .writeStartObject().write("b", true).writeEnd()
+                    .writeStartArray().writeNull().writeEnd()
+                .writeEnd()
+                .writeKey("nested").writeStartObject()
+                    .writeKey("c").write(2L)
+                    .writeKey("d").writeNull()
+                .writeEnd()
+                .writeEnd();
+        assertEquals("{\"a\":1,\"list\":[\"x\",{\"b\":true},[null]],\"nested\":{\"c\":2,\"d\":null}}", generator.getResult().toString());
+    }
+
+    @Test
+    public void scalarRoot() {
+        final JsonObjectGenerator generator = new JsonObjectGenerator(Json.createBuilderFactory(null));
+        generator.write("value");
+        assertEquals(Json.createValue("value"), generator.getResult());
+
+        final JsonObjectGenerator numberGenerator = new JsonObjectGenerator(Json.createBuilderFactory(null));
+        numberGenerator.write(5);
+        assertEquals(Json.createValue(5), numberGenerator.getResult());
+
+        final JsonObjectGenerator nullGenerator = new JsonObjectGenerator(Json.createBuilderFactory(null));
+        nullGenerator.writeNull();
+        assertEquals(JsonValue.NULL, nullGenerator.getResult());
+    }
+}
@@ -155,6 +155,21 @@ public class MapperConfigTest {
         Assert.assertEquals(theConverter, converter);
     }
 
+    @Test
+    public void testResolutionsAreCachedPerClass() {
+        MapperConfig config = createConfig(Collections.<Class<?>, ObjectConverter.Codec<?>>singletonMap(TheInterface.class, new TheConverter<TheInterface>()));
+
+        Assert.assertSame(config.findObjectConverterWriter(ClassForTheInterface.class), config.findObjectConverterWriter(ClassForTheInterface.class));
+        Assert.assertNull(config.findObjectConverterWriter(ClassWithoutSupertypes.class));
+        Assert.assertNull(config.findObjectConverterWriter(ClassWithoutSupertypes.class));
+
+        Adapter adapter = config.findAdapter(TheEnum.class);
+        Assert.assertNotNull(adapter);
+        Assert.assertSame(adapter, config.findAdapter(TheEnum.class));
+        Assert.assertNull(config.findAdapter(ClassWithoutSupertypes.class));
+        Assert.assertNull(config.findAdapter(ClassWithoutSupertypes.class));
+    }
+
 
     private MapperConfig createConfig(Map<Class<?>, ObjectConverter.Codec<?>> converter) {
         return new MapperConfig(new LazyConverterMap(),
@@ -175,6 +190,7 @@ public class MapperConfigTest {
     }
 
 
+    private enum TheEnum { A }
     private static final class ClassWithoutSupertypes {}
 
     private interface TheInterface {}
@@ -44,6 +44,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.stream.Stream;
 
 import static java.util.Arrays.asList;
 import static org.junit.Assert.assertArrayEquals;
@@ -232,6 +233,29 @@ public class MapperTest {
         assertEquals(json, mapper.writeArrayAsString(properties));
     }
 
+    @Test
+    public void readStream() {
+        final Mapper mapper = new MapperBuilder().build();
+        final String json = "[{\"name\":\"addKey\"},{\"action\":\"REMOVE\",\"name\":\"removeKey\"},null]";
+
+        final List<Command> commands = new ArrayList<>();
+        try (final Stream<Command> stream = mapper.readStream(new StringReader(json), Command.class)) {
+            stream.forEach(commands::add);
+        }
+        assertEquals(3, commands.size());
+        assertEquals("addKey", commands.get(0).getName());
+        assertEquals(Command.Action.REMOVE, commands.get(1).getAction());
+        assertNull(commands.get(2));
+
+        try (final JsonArrayIterator<Integer> iterator = mapper.readIterator(new StringReader("[1,[2],3]"), Integer.class)) {
+            assertTrue(iterator.hasNext());
+            assertEquals(1, iterator.next().intValue());
+        } // closing early is fine, the array is not read further
+
+        final JsonArrayIterator<Integer> empty = mapper.readIterator(new StringReader("[]"), Integer.class);
+        assertFalse(empty.hasNext());
+    }
+
     @Test
     public void enumCollection() throws Exception {
         final Mapper mapper = new MapperBuilder().build();
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.mapper;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+public class ParallelSerializationTest {
+    @Test
+    public void sameOutputAsSequentialSerialization() {
+        final List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            final Item item = new Item();
+            item.id = i;
+            item.name = "item #" + i;
+            item.price = BigDecimal.valueOf(i, 2);
+            item.ratio = i / 3.;
+            item.tags = i % 2 == 0 ? asList("even", null) : null;
+            item.children = i % 100 == 0 && i > 0 ? new ArrayList<>(items.subList(0, 3)) : null;
+            items.add(item);
+        }
+        final Holder holder = new Holder();
+        holder.items = items;
+
+        final Mapper sequential = new MapperBuilder().setAttributeOrder(String::compareTo).build();
+        final Mapper parallel = new MapperBuilder().setAttributeOrder(String::compareTo)
+                .setParallelSerializationThreshold(100).build();
+        assertEquals(sequential.writeArrayAsString(items), parallel.writeArrayAsString(items));
+        assertEquals(sequential.writeObjectAsString(holder), parallel.writeObjectAsString(holder));
+
+        final Mapper prettyParallel = new MapperBuilder().setPretty(true).setAttributeOrder(String::compareTo)
+                .setParallelSerializationThreshold(100).build();
+        final Mapper prettySequential = new MapperBuilder().setPretty(true).setAttributeOrder(String::compareTo).build();
+        assertEquals(prettySequential.writeObjectAsString(holder), prettyParallel.writeObjectAsString(holder));
+    }
+
+    public static class Holder {
+        public List<Item> items;
+    }
+
+    public static class Item {
+        public int id;
+        public String name;
+        public BigDecimal price;
+        public double ratio;
+        public List<String> tags;
+        public List<Item> children;
+    }
+}
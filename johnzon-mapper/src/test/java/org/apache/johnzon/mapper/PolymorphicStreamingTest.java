@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.mapper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.beans.ConstructorProperties;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Objects;
+
+import javax.json.Json;
+
+import org.junit.Test;
+
+public class PolymorphicStreamingTest {
+    @Test
+    public void discriminatorFirst() {
+        assertRead("{\"pet\":{\"@type\":\"dog\",\"name\":\"wof\",\"ignored\":{\"a\":[1]}}," +
+                "\"animals\":[{\"@type\":\"cat\",\"lives\":9,\"name\":\"miaou\"}]}");
+    }
+
+    @Test
+    public void discriminatorLast() {
+        assertRead("{\"pet\":{\"name\":\"miaou\",\"lives\":9,\"@type\":\"cat\"}," +
+                "\"animals\":[{\"name\":\"wof\",\"@type\":\"dog\"}]}");
+    }
+
+    @Test
+    public void missingDiscriminator() {
+        try (final Mapper mapper = newMapper()) {
+            final Aggregate aggregate = mapper.readObject("{\"animals\":null}", Aggregate.class);
+            assertNull(aggregate.pet);
+        }
+    }
+
+    private void assertRead(final String json) {
+        try (final Mapper mapper = newMapper()) {
+            final Aggregate expected = mapper.readObject(Json.createReader(new StringReader(json)).readValue(), Aggregate.class);
+            final Aggregate streamed = mapper.readObject(json, Aggregate.class);
+            assertEquals(expected.pet, streamed.pet);
+            assertEquals(expected.animals, streamed.animals);
+            assertEquals(1, streamed.animals.size());
+        }
+    }
+
+    private Mapper newMapper() {
+        return new MapperBuilder()
+                .setStreamingObjects(true)
+                .setPolymorphicDiscriminator("@type")
+                .setPolymorphicDeserializationPredicate(Animal.class::equals)
+                .setPolymorphicTypeLoader(id -> "dog".equals(id) ? Dog.class : Cat.class)
+                .build();
+    }
+
+    public interface Animal {
+    }
+
+    public static class Dog implements Animal {
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return Dog.class.isInstance(o) && Objects.equals(name, Dog.class.cast(o).name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name);
+        }
+    }
+
+    public static class Cat implements Animal {
+        private final String name;
+        private final int lives;
+
+        @ConstructorProperties({"name", "lives"})
+        public Cat(final String name, final int lives) {
+            this.name = name;
+            this.lives = lives;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return Cat.class.isInstance(o) && Objects.equals(name, Cat.class.cast(o).name) && lives == Cat.class.cast(o).lives;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, lives);
+        }
+    }
+
+    public static class Aggregate {
+        private Animal pet;
+        private List<Animal> animals;
+
+        public Animal getPet() {
+            return pet;
+        }
+
+        public void setPet(final Animal pet) {
+            this.pet = pet;
+        }
+
+        public List<Animal> getAnimals() {
+            return animals;
+        }
+
+        public void setAnimals(final List<Animal> animals) {
+            this.animals = animals;
+        }
+    }
+}
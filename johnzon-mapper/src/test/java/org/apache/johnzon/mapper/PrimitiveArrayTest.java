@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.mapper;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class PrimitiveArrayTest {
+    private final Mapper mapper = new MapperBuilder().build();
+
+    @Test
+    public void readStreaming() {
+        final int[] ints = IntStream.range(0, 1000).map(i -> i * 31 - 500).toArray();
+        assertArrayEquals(ints, mapper.readTypedArray(new StringReader(Arrays.toString(ints)), int.class, int[].class));
+        assertArrayEquals(new long[]{Long.MIN_VALUE, 0, Long.MAX_VALUE},
+                mapper.readObject("[-9223372036854775808,0,9223372036854775807]", long[].class));
+        assertArrayEquals(new double[]{1, -2.5, 1e300, 0.1}, mapper.readObject("[1,-2.5,1e300,0.1]", double[].class), 0);
+        assertArrayEquals(new float[]{1, 0.1f}, mapper.readObject(
+                new ByteArrayInputStream("[1,0.1]".getBytes(StandardCharsets.UTF_8)), float[].class), 0);
+        assertArrayEquals(new short[]{1, -2}, mapper.readObject("[1,-2]", short[].class));
+        assertArrayEquals(new boolean[]{true, false}, mapper.readObject("[true,false]", boolean[].class));
+        assertArrayEquals(new int[0], mapper.readObject("[]", int[].class));
+        assertNull(mapper.readObject("null", int[].class));
+    }
+
+    @Test
+    public void readNonIntegralNotation() {
+        assertArrayEquals(new long[]{1, 200}, mapper.readObject("[1.0,2e2]", long[].class));
+    }
+
+    @Test(expected = MapperException.class)
+    public void readStringItem() { // same error than the tree based mapping
+        mapper.readObject("[1,\"2\",3]", int[].class);
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void readIntOverflow() {
+        mapper.readObject("[1,2147483648]", int[].class);
+    }
+
+    @Test
+    public void readNested() {
+        final Holder holder = mapper.readObject("{\"ints\":[1,2],\"doubles\":[0.5],\"flags\":[true]}", Holder.class);
+        assertArrayEquals(new int[]{1, 2}, holder.ints);
+        assertArrayEquals(new double[]{0.5}, holder.doubles, 0);
+        assertArrayEquals(new boolean[]{true}, holder.flags);
+    }
+
+    @Test
+    public void writeAsBoxedFlavor() {
+        final Mapper jsRange = new MapperBuilder().setUseJsRange(true).build();
+        assertWrite(jsRange, new long[]{1, Long.MAX_VALUE}, new Long[]{1L, Long.MAX_VALUE});
+        assertWrite(mapper, new float[]{0.1f, Float.NaN, 2}, new Float[]{0.1f, Float.NaN, 2f});
+        assertWrite(mapper, new double[]{0.1, -3}, new Double[]{0.1, -3.});
+        assertWrite(mapper, new int[]{1, -2}, new Integer[]{1, -2});
+        assertWrite(mapper, new short[]{1, -2}, new Short[]{1, -2});
+        assertWrite(mapper, new boolean[]{true, false}, new Boolean[]{true, false});
+        assertEquals("[1,2]", mapper.writeArrayAsString((Object) new byte[]{1, 2}));
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        mapper.writeArray((Object) new int[]{4, 5}, out);
+        assertEquals("[4,5]", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    private static void assertWrite(final Mapper mapper, final Object primitives, final Object[] boxed) {
+        assertEquals(mapper.writeArrayAsString(boxed), mapper.writeArrayAsString(primitives));
+    }
+
+    public static class Holder {
+        public int[] ints;
+        public double[] doubles;
+        public boolean[] flags;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.mapper;
+
+import org.apache.johnzon.mapper.access.PropertyIndex;
+import org.junit.Test;
+
+import java.beans.Introspector;
+
+import static org.junit.Assert.assertEquals;
+
+public class PropertyIndexTest {
+    private final Mapper mapper = new MapperBuilder().setAccessModeName("method").setAttributeOrder(String::compareTo).build();
+
+    @Test
+    public void indexedProperties() {
+        assertEquals("{\"a\":\"a\",\"b\":\"b\"}", mapper.writeObjectAsString(new Indexed()));
+
+        final Indexed indexed = mapper.readObject("{\"a\":\"x\",\"b\":\"y\"}", Indexed.class);
+        assertEquals("x", indexed.getA());
+        assertEquals("b", indexed.getB());
+    }
+
+    @Test
+    public void outdatedIndex() {
+        assertEquals("{\"a\":\"a\",\"b\":\"b\"}", mapper.writeObjectAsString(new Outdated()));
+    }
+
+    @Test
+    public void propertyAddedSinceIndexed() {
+        assertEquals("{\"a\":\"a\",\"b\":\"b\",\"c\":\"c\"}", mapper.writeObjectAsString(new Grown()));
+    }
+
+    @Test
+    public void toIndex() throws Exception {
+        assertEquals("a:getA:setA:java.lang.String,b:getB:setB:java.lang.String,class:getClass::",
+                PropertyIndex.toIndex(Introspector.getBeanInfo(Indexed.class).getPropertyDescriptors()));
+    }
+
+    public static class Indexed {
+        private String a = "a";
+        private String b = "b";
+
+        public String getA() {
+            return a;
+        }
+
+        public void setA(final String a) {
+            this.a = a;
+        }
+
+        public String getB() {
+            return b;
+        }
+
+        public void setB(final String b) {
+            this.b = b;
+        }
+    }
+
+    public static class Outdated extends Indexed {
+    }
+
+    public static class Grown extends Indexed {
+        public String getC() {
+            return "c";
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.mapper;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.json.Json;
+
+import org.junit.Test;
+
+public class ReadIntoTest {
+    private final Mapper mapper = new MapperBuilder().setAccessModeName("field").build();
+
+    @Test
+    public void reuseInstances() {
+        final Order order = new Order();
+        final Customer customer = order.customer;
+        final List<Line> lines = order.lines;
+
+        final Order read = mapper.readInto(new StringReader(
+                "{\"id\":1,\"customer\":{\"name\":\"a\"},\"lines\":[{\"sku\":\"x\",\"quantity\":2}],\"tags\":[\"t1\"]}"), order);
+        assertSame(order, read);
+        assertSame(customer, order.customer);
+        assertSame(lines, order.lines);
+        assertEquals(1, order.id);
+        assertEquals("a", order.customer.name);
+        assertEquals(1, order.lines.size());
+        assertEquals("x", order.lines.get(0).sku);
+        assertEquals(2, order.lines.get(0).quantity);
+        assertEquals(singletonList("t1"), order.tags);
+
+        mapper.readInto(new StringReader(
+                "{\"id\":2,\"customer\":{\"name\":\"b\"},\"lines\":[{\"sku\":\"y\",\"quantity\":3},{\"sku\":\"z\",\"quantity\":4}]}"), order);
+        assertSame(customer, order.customer);
+        assertSame(lines, order.lines);
+        assertEquals(2, order.id);
+        assertEquals("b", order.customer.name);
+        assertEquals(2, order.lines.size());
+        assertEquals("z", order.lines.get(1).sku);
+        assertEquals(singletonList("t1"), order.tags); // missing attributes are untouched
+    }
+
+    @Test
+    public void createMissingInstances() {
+        final Order order = new Order();
+        order.customer = null;
+        order.tags = asList("immutable");
+        mapper.readInto(new StringReader("{\"customer\":{\"name\":\"c\"},\"tags\":[\"t2\",\"t3\"]}"), order);
+        assertEquals("c", order.customer.name);
+        assertEquals(asList("t2", "t3"), order.tags);
+    }
+
+    @Test
+    public void fromParser() {
+        final Order order = new Order();
+        final Customer customer = order.customer;
+        mapper.readInto(Json.createParser(new StringReader(
+                "{\"customer\":{\"name\":\"d\",\"name\":\"e\"},\"id\":3,\"unknown\":{\"id\":4},\"id\":5}")), order);
+        assertSame(customer, order.customer);
+        assertEquals("e", order.customer.name);
+        assertEquals(5, order.id);
+    }
+
+    @Test(expected = MapperException.class)
+    public void arrayIntoObject() {
+        mapper.readInto(new StringReader("[]"), new Order());
+    }
+
+    public static class Order {
+        public long id;
+        public Customer customer = new Customer();
+        public List<Line> lines = new ArrayList<>();
+        public List<String> tags;
+    }
+
+    public static class Customer {
+        public String name;
+    }
+
+    public static class Line {
+        public String sku;
+        public int quantity;
+    }
+}
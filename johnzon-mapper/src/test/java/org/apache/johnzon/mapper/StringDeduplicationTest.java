@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.mapper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.johnzon.mapper.internal.StringCache;
+import org.junit.Test;
+
+public class StringDeduplicationTest {
+    private static final String JSON = "[{\"status\":\"active\",\"name\":\"first\",\"codes\":[\"FR\"]}," +
+            "{\"status\":\"active\",\"name\":\"first\",\"codes\":[\"FR\"]}]";
+
+    @Test
+    public void allProperties() {
+        final Item[] items = new MapperBuilder().setAccessModeName("field").setDeduplicateStrings(true).build()
+                .readArray(new StringReader(JSON), Item.class);
+        assertEquals("active", items[0].status);
+        assertSame(items[0].status, items[1].status);
+        assertSame(items[0].name, items[1].name);
+        assertSame(items[0].codes.get(0), items[1].codes.get(0));
+    }
+
+    @Test
+    public void annotatedProperties() {
+        final Item[] items = new MapperBuilder().setAccessModeName("field").build()
+                .readArray(new StringReader(JSON), Item.class);
+        assertSame(items[0].status, items[1].status);
+        assertSame(items[0].codes.get(0), items[1].codes.get(0));
+        assertNotSame(items[0].name, items[1].name);
+    }
+
+    @Test
+    public void disabled() {
+        final Item[] items = new MapperBuilder().setAccessModeName("field").setStringDeduplicationCacheSize(0).build()
+                .readArray(new StringReader(JSON), Item.class);
+        assertNotSame(items[0].status, items[1].status);
+    }
+
+    @Test
+    public void untyped() {
+        final List<Map<String, Object>> items = List.class.cast(new MapperBuilder().setDeduplicateStrings(true).build()
+                .readObject(JSON, Object.class));
+        assertSame(items.get(0).get("status"), items.get(1).get("status"));
+    }
+
+    @Test
+    public void cache() {
+        final StringCache cache = new StringCache(4, 5);
+        final String value = new String("value");
+        assertSame(value, cache.deduplicate(value));
+        assertSame(value, cache.deduplicate(new String("value")));
+
+        final String tooLong = new String("too long");
+        assertSame(tooLong, cache.deduplicate(tooLong));
+        assertNotSame(tooLong, cache.deduplicate(new String("too long")));
+    }
+
+    public static class Item {
+        @JohnzonDeduplicateStrings
+        public String status;
+
+        public String name;
+
+        @JohnzonDeduplicateStrings
+        public List<String> codes;
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.mapper;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+import java.io.StringReader;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import javax.json.Json;
+import javax.json.JsonReader;
+import javax.json.JsonValue;
+
+import org.junit.Test;
+
+public class StructureBuilderTest {
+    @Test
+    public void bean() {
+        assertStructure(new MapperBuilder().setAccessModeName("field").build(), StructureBuilderTest::newBean);
+    }
+
+    @Test
+    public void beanWithNulls() {
+        assertStructure(new MapperBuilder().setAccessModeName("field").setSkipNull(false).build(), StructureBuilderTest::newBean);
+    }
+
+    @Test
+    public void beanSkippingEmptyArrays() {
+        assertStructure(new MapperBuilder().setAccessModeName("field")
+                .setSkipEmptyArray(true).setTreatByteArrayAsBase64(true).setUseJsRange(true).build(), StructureBuilderTest::newBean);
+    }
+
+    @Test
+    public void collectionsAndMaps() {
+        final Mapper mapper = new MapperBuilder().setAccessModeName("field").build();
+        assertStructure(mapper, () -> asList(newBean(), null, newBean()));
+
+        final Map<String, Object> map = new LinkedHashMap<>();
+        map.put("bean", new Nested("bean"));
+        map.put("list", asList(1, "two", null));
+        map.put("null", null);
+        assertStructure(mapper, () -> map);
+    }
+
+    @Test
+    public void valueFilter() {
+        assertStructure(new MapperBuilder().setAccessModeName("field")
+                .setSerializeValueFilter((name, value) -> "text".equals(name) || "date".equals(name)).build(), StructureBuilderTest::newBean);
+    }
+
+    @Test
+    public void discriminator() {
+        assertStructure(new MapperBuilder().setAccessModeName("field")
+                .setPolymorphicSerializationPredicate(Nested.class::equals)
+                .setPolymorphicDiscriminator("@type")
+                .setPolymorphicDiscriminatorMapper(Class::getSimpleName)
+                .build(), StructureBuilderTest::newBean);
+    }
+
+    @Test
+    public void objectConverters() {
+        final Mapper mapper = new MapperBuilder().setAccessModeName("field")
+                .addObjectConverter(Nested.class, new ObjectConverter.Codec<Nested>() {
+                    @Override
+                    public void writeJson(final Nested instance, final MappingGenerator generator) {
+                        generator.getJsonGenerator().write("converted", instance.name);
+                    }
+
+                    @Override
+                    public Nested fromJson(final JsonValue jsonValue, final Type targetType, final MappingParser parser) {
+                        throw new UnsupportedOperationException();
+                    }
+                })
+                .build();
+        assertStructure(mapper, StructureBuilderTest::newBean);
+        assertStructure(mapper, () -> asList(new Nested("root"), null));
+    }
+
+    @Test
+    public void anyGetter() {
+        final JohnzonAnyMappingTest.AnyMe any = new JohnzonAnyMappingTest.AnyMe();
+        any.setName("me");
+        any.handle("a", 1);
+        any.handle("b", asList("c", "d"));
+        assertStructure(new MapperBuilder().setAttributeOrder(String::compareTo).build(), () -> any);
+    }
+
+    // instances are created twice since streams can only be consumed once
+    private static void assertStructure(final Mapper mapper, final Supplier<Object> instance) {
+        final JsonValue expected;
+        try (final JsonReader reader = Json.createReader(new StringReader(mapper.writeObjectAsString(instance.get())))) {
+            expected = reader.readValue();
+        }
+        assertEquals(expected.toString(), mapper.toStructure(instance.get()).toString());
+    }
+
+    private static Bean newBean() {
+        final Bean bean = new Bean();
+        bean.text = "text";
+        bean.integer = 1;
+        bean.big = Long.MAX_VALUE;
+        bean.decimal = 1.5;
+        bean.notANumber = Double.NaN;
+        bean.simple = 2.5f;
+        bean.bigDecimal = new BigDecimal("10.10");
+        bean.bigInteger = BigInteger.TEN;
+        bean.character = 'c';
+        bean.flag = true;
+        bean.type = Kind.B;
+        bean.date = new Date(0);
+        bean.ints = new int[]{1, 2};
+        bean.bytes = new byte[]{1, 2, 3};
+        bean.empty = new String[0];
+        bean.names = new String[]{"a", null};
+        bean.nested = new Nested("nested");
+        bean.nesteds = asList(new Nested("first"), null, new Nested("second"));
+        bean.matrix = asList(asList(1, 2), new ArrayList<>());
+        bean.map = new HashMap<>();
+        bean.map.put("nested", new Nested("in map"));
+        bean.map.put("number", 3);
+        bean.stream = Stream.of("s1", "s2");
+        return bean;
+    }
+
+    public enum Kind {
+        A, B
+    }
+
+    public static class Nested {
+        public String name;
+        public String ignored = "ignored";
+
+        public Nested(final String name) {
+            this.name = name;
+        }
+    }
+
+    public static class Bean {
+        public String text;
+        public int integer;
+        public long big;
+        public double decimal;
+        public double notANumber;
+        public float simple;
+        public BigDecimal bigDecimal;
+        public BigInteger bigInteger;
+        public char character;
+        public boolean flag;
+        public Kind type;
+        public Date date;
+        public int[] ints;
+        public byte[] bytes;
+        public String[] empty;
+        public String[] names;
+        public Nested nested;
+        @JohnzonIgnoreNested(properties = "ignored")
+        public Collection<Nested> nesteds;
+        public List<List<Integer>> matrix;
+        public Map<String, Object> map;
+        public Stream<String> stream;
+        public String missing;
+    }
+}
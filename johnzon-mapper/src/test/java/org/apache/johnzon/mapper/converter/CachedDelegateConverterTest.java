@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.mapper.converter;
+
+import org.apache.johnzon.mapper.Adapter;
+import org.apache.johnzon.mapper.Mapper;
+import org.apache.johnzon.mapper.MapperBuilder;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CachedDelegateConverterTest {
+    @Test
+    public void bounded() {
+        final CachedDelegateConverter<Long> converter = new CachedDelegateConverter<>(new LongConverter(), 10);
+        for (long i = 0; i < 1000; i++) {
+            assertEquals(Long.toString(i), converter.toString(i));
+        }
+        assertEquals(10, converter.size());
+        assertEquals(990, converter.getEvictions());
+        assertEquals(1000, converter.getMisses());
+        assertEquals(0, converter.getHits());
+    }
+
+    @Test
+    public void keepFrequentlyUsedValues() {
+        final CachedDelegateConverter<Long> converter = new CachedDelegateConverter<>(new LongConverter(), 10);
+        assertEquals(Long.valueOf(1), converter.fromString("1"));
+        assertEquals(Long.valueOf(1), converter.fromString("1")); // promoted
+        for (long i = 2; i < 1000; i++) { // values read once don't evict it
+            converter.fromString(Long.toString(i));
+        }
+        final long hits = converter.getHits();
+        assertEquals(Long.valueOf(1), converter.fromString("1"));
+        assertEquals(hits + 1, converter.getHits());
+    }
+
+    @Test
+    public void mapperConverterCache() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Mapper mapper = new MapperBuilder()
+                .addAdapter(new Adapter<Value, String>() {
+                    @Override
+                    public String from(final Value instance) {
+                        return instance.value;
+                    }
+
+                    @Override
+                    public Value to(final String text) {
+                        calls.incrementAndGet();
+                        final Value value = new Value();
+                        value.value = text;
+                        return value;
+                    }
+                })
+                .setConverterCacheMaxSize(16)
+                .build();
+        for (int i = 0; i < 5; i++) {
+            final Holder holder = mapper.readObject("{\"value\":\"v\"}", Holder.class);
+            assertEquals("v", holder.value.value);
+        }
+        assertEquals(1, calls.get());
+        assertTrue(mapper.writeObjectAsString(mapper.readObject("{\"value\":\"v\"}", Holder.class)).contains("\"value\":\"v\""));
+    }
+
+    public static class Holder {
+        public Value value;
+    }
+
+    public static class Value {
+        private String value;
+    }
+}
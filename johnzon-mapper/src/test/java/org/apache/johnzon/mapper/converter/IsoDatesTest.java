@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.mapper.converter;
+
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class IsoDatesTest {
+    private static final ZoneId UTC = ZoneId.of("UTC");
+
+    @Test
+    public void basicMatchesSimpleDateFormat() throws Exception {
+        final Random random = new Random(1234);
+        for (final String zone : new String[]{"UTC", "Europe/Paris", "America/St_Johns", "Asia/Kolkata"}) {
+            final SimpleDateFormat format = new SimpleDateFormat("yyyyMMddHHmmssZ");
+            format.setTimeZone(TimeZone.getTimeZone(zone));
+            for (int i = 0; i < 10000; i++) {
+                // 1900 -> 2100
+                final long time = -2208988800000L + (long) (random.nextDouble() * 6311433600000L);
+                final Date date = new Date(time);
+                final String expected = format.format(date);
+                assertEquals(expected, IsoDates.formatBasic(time, ZoneId.of(zone).getRules()));
+                assertEquals(format.parse(expected).getTime(), IsoDates.parseBasic(expected));
+            }
+        }
+    }
+
+    @Test
+    public void isoMatchesDateTimeFormatter() {
+        final Random random = new Random(1234);
+        for (int i = 0; i < 10000; i++) {
+            final long time = -62135596800000L + (long) (random.nextDouble() * 315537897599999L); // 0001 -> 9999
+            final ZonedDateTime dateTime = ZonedDateTime.ofInstant(new Date(time).toInstant(), UTC);
+            final String expected = dateTime.format(DateTimeFormatter.ISO_ZONED_DATE_TIME);
+            assertEquals(expected, IsoDates.formatIsoUtc(time));
+            assertEquals(time, IsoDates.parseIsoZoned(expected));
+        }
+        assertEquals(ZonedDateTime.parse("2019-03-04T05:06+02:00").toInstant().toEpochMilli(), IsoDates.parseIsoZoned("2019-03-04T05:06+02:00"));
+        assertEquals(ZonedDateTime.parse("2019-03-04T05:06:07.123456Z").toInstant().toEpochMilli(), IsoDates.parseIsoZoned("2019-03-04T05:06:07.123456Z"));
+    }
+
+    @Test
+    public void fallbacks() {
+        assertEquals(IsoDates.INVALID, IsoDates.parseBasic("20190230000000+0000")); // lenient
+        assertEquals(IsoDates.INVALID, IsoDates.parseBasic("2019-01-01"));
+        assertEquals(IsoDates.INVALID, IsoDates.parseIsoZoned("2019-03-04T05:06:07+02:00[Europe/Paris]"));
+        assertEquals(IsoDates.INVALID, IsoDates.parseIsoZoned("2019-03-04T05:06:07"));
+        assertNull(IsoDates.formatBasic(-20000000000000L, UTC.getRules())); // julian calendar for SimpleDateFormat
+    }
+
+    @Test
+    public void converter() {
+        final DateConverter converter = new DateConverter("yyyyMMddHHmmssZ");
+        final Date date = new Date(1546398245000L);
+        assertEquals(date, converter.fromString(converter.toString(date)));
+        assertEquals(new Date(1546398245000L), converter.fromString("20190102030405+0000"));
+    }
+}
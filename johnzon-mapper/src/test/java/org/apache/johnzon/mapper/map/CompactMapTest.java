@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.mapper.map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class CompactMapTest {
+    @Test
+    public void behavesAsLinkedHashMap() {
+        final Map<String, Object> expected = new LinkedHashMap<>();
+        final Map<String, Object> map = new CompactMap<>(1);
+        for (int i = 0; i < 20; i++) {
+            expected.put("k" + i, i);
+            map.put("k" + i, i);
+        }
+        expected.put("k3", "updated");
+        map.put("k3", "updated");
+        expected.put(null, "null key");
+        map.put(null, "null key");
+        assertEquals(expected.remove("k5"), map.remove("k5"));
+        assertNull(map.remove("missing"));
+
+        assertEquals(expected, map);
+        assertEquals(map, expected);
+        assertEquals(expected.hashCode(), map.hashCode());
+        assertEquals(expected.toString(), map.toString());
+        assertEquals("null key", map.get(null));
+        assertTrue(map.containsKey("k19"));
+        assertFalse(map.containsKey("k5"));
+    }
+
+    @Test
+    public void collidingHashesInBigMaps() {
+        final Map<String, Integer> map = new CompactMap<>(1);
+        for (int i = 0; i < 50; i++) { // "Aa" and "BB" have the same hash
+            map.put("Aa" + i, i);
+            map.put("BB" + i, -i);
+        }
+        map.put("Aa7", 70);
+        map.remove("BB3");
+        assertEquals(99, map.size());
+        assertEquals(Integer.valueOf(70), map.get("Aa7"));
+        assertEquals(Integer.valueOf(-7), map.get("BB7"));
+        assertEquals(Integer.valueOf(-49), map.get("BB49"));
+        assertFalse(map.containsKey("BB3"));
+        assertNull(map.get("Aa50"));
+    }
+
+    @Test
+    public void append() {
+        final CompactMap<String, Integer> map = new CompactMap<>(1);
+        for (int i = 0; i < 10; i++) {
+            map.append("k" + i, i);
+        }
+        assertEquals(10, map.size());
+        assertEquals(Integer.valueOf(9), map.get("k9"));
+        assertEquals(Integer.valueOf(3), map.put("k3", 30));
+        assertEquals(10, map.size());
+        assertEquals(Integer.valueOf(30), map.get("k3"));
+    }
+
+    @Test
+    public void iteratorRemove() {
+        final Map<String, Integer> map = new CompactMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("c", 3);
+        final Iterator<Map.Entry<String, Integer>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<String, Integer> entry = iterator.next();
+            if (entry.getValue() == 2) {
+                iterator.remove();
+            } else {
+                entry.setValue(entry.getValue() * 10);
+            }
+        }
+        assertEquals("{a=10, c=30}", map.toString());
+    }
+}
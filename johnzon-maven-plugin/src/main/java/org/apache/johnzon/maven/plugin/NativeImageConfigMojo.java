@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.maven.plugin;
+
+import org.apache.johnzon.jsonb.JohnzonBuilder;
+import org.apache.johnzon.jsonb.JohnzonJsonb;
+import org.apache.johnzon.mapper.GeneratedCodec;
+import org.apache.johnzon.mapper.Mapper;
+import org.apache.johnzon.mapper.MapperBuilder;
+import org.apache.johnzon.mapper.access.PropertyIndex;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+import javax.json.Json;
+import javax.json.bind.JsonbConfig;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonGeneratorFactory;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static java.util.Collections.singletonMap;
+import static org.apache.maven.plugins.annotations.LifecyclePhase.PROCESS_CLASSES;
+import static org.apache.maven.plugins.annotations.ResolutionScope.RUNTIME_PLUS_SYSTEM;
+
+/**
+ * Generates the GraalVM native-image reflection and resource configuration of the project model.
+ * The included classes are prepared by a mapper (see {@link Mapper#warmup(Type...)}), using the Johnzon mapper
+ * or the JSON-B mapping rules depending on the {@code mode}, and all the classes it maps are registered with the enums they reference,
+ * the classes referenced by their mapping annotations (adapters, serializers...) and the generated codecs.
+ */
+@Mojo(name = "native-image-config", defaultPhase = PROCESS_CLASSES, requiresDependencyResolution = RUNTIME_PLUS_SYSTEM)
+public class NativeImageConfigMojo extends AbstractMojo {
+    private static final String CODECS = "META-INF/services/" + GeneratedCodec.class.getName();
+    private static final String[] JDK_PACKAGES = {"java.", "javax.", "jdk.", "sun."};
+
+    @Parameter(property = "johnzon.native-image.classesDir", defaultValue = "${project.build.outputDirectory}")
+    protected File classesDir;
+
+    @Parameter(property = "johnzon.native-image.target",
+            defaultValue = "${project.build.outputDirectory}/META-INF/native-image/${project.groupId}/${project.artifactId}")
+    protected File target;
+
+    /**
+     * Class name prefixes (packages) of the model, all classes are included if empty.
+     */
+    @Parameter(property = "johnzon.native-image.includes")
+    protected List<String> includes;
+
+    /**
+     * Mapping rules used to find the mapped classes: {@code mapper} (Johnzon mapper) or {@code jsonb} (JSON-B).
+     */
+    @Parameter(property = "johnzon.native-image.mode", defaultValue = "mapper")
+    protected String mode;
+
+    @Parameter(defaultValue = "${project}", readonly = true)
+    protected MavenProject project;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (!classesDir.isDirectory()) {
+            getLog().info("No " + classesDir + ", skipping");
+            return;
+        }
+        if (!"mapper".equals(mode) && !"jsonb".equals(mode)) {
+            throw new MojoExecutionException("Unsupported mode '" + mode + "', use 'mapper' or 'jsonb'");
+        }
+
+        final TreeMap<String, Class<?>> reflection = new TreeMap<>();
+        final Thread thread = Thread.currentThread();
+        final ClassLoader old = thread.getContextClassLoader();
+        try (final URLClassLoader loader = ProjectClasses.newLoader(project, classesDir, old)) {
+            thread.setContextClassLoader(loader); // generated codecs
+            final Collection<Class<?>> model = new ArrayList<>();
+            for (final String name : ProjectClasses.findClassNames(classesDir, includes)) {
+                try {
+                    final Class<?> clazz = loader.loadClass(name);
+                    if (clazz.isInterface() || clazz.isAnonymousClass() || clazz.isLocalClass() || clazz.isSynthetic()) {
+                        continue;
+                    }
+                    reflection.put(clazz.getName(), clazz);
+                    if (!clazz.isEnum() && !clazz.isAnnotation()) {
+                        model.add(clazz);
+                    }
+                } catch (final ClassNotFoundException | LinkageError | RuntimeException e) {
+                    getLog().debug("Skipping " + name + ": " + e.getMessage());
+                }
+            }
+            for (final Class<?> mapped : "jsonb".equals(mode) ? prepareJsonb(model) : prepareMapper(model)) {
+                reflection.put(mapped.getName(), mapped);
+            }
+            for (final Class<?> clazz : new ArrayList<>(reflection.values())) {
+                addReferencedClasses(clazz, reflection);
+            }
+            final File codecs = new File(classesDir, CODECS);
+            if (codecs.isFile()) {
+                for (final String codec : Files.readAllLines(codecs.toPath(), StandardCharsets.UTF_8)) {
+                    if (!codec.trim().isEmpty() && !codec.startsWith("#")) {
+                        reflection.put(codec.trim(), null);
+                    }
+                }
+            }
+        } catch (final IOException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        } finally {
+            thread.setContextClassLoader(old);
+        }
+        reflection.keySet().removeIf(it -> Stream.of(JDK_PACKAGES).anyMatch(it::startsWith));
+
+        final JsonGeneratorFactory factory = Json.createGeneratorFactory(singletonMap(JsonGenerator.PRETTY_PRINTING, true));
+        try {
+            Files.createDirectories(target.toPath());
+            try (final OutputStream stream = Files.newOutputStream(new File(target, "reflect-config.json").toPath());
+                 final JsonGenerator generator = factory.createGenerator(stream, StandardCharsets.UTF_8)) {
+                generator.writeStartArray();
+                for (final String name : reflection.keySet()) {
+                    generator.writeStartObject()
+                            .write("name", name)
+                            .write("allDeclaredConstructors", true)
+                            .write("allPublicConstructors", true)
+                            .write("allDeclaredMethods", true)
+                            .write("allPublicMethods", true)
+                            .write("allDeclaredFields", true)
+                            .write("allPublicFields", true)
+                            .writeEnd();
+                }
+                generator.writeEnd();
+            }
+            try (final OutputStream stream = Files.newOutputStream(new File(target, "resource-config.json").toPath());
+                 final JsonGenerator generator = factory.createGenerator(stream, StandardCharsets.UTF_8)) {
+                generator.writeStartObject()
+                        .writeStartObject("resources")
+                        .writeStartArray("includes");
+                for (final String resource : new String[]{PropertyIndex.LOCATION, CODECS}) {
+                    generator.writeStartObject().write("pattern", "\\Q" + resource + "\\E").writeEnd();
+                }
+                generator.writeEnd().writeEnd().writeEnd();
+            }
+        } catch (final IOException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        }
+        getLog().info("Registered " + reflection.size() + " classes for reflection in " + target);
+    }
+
+    private void warmup(final Consumer<Class<?>> warmup, final Collection<Class<?>> model) {
+        for (final Class<?> clazz : model) {
+            try {
+                warmup.accept(clazz);
+            } catch (final LinkageError | RuntimeException e) {
+                getLog().debug("Skipping " + clazz.getName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private Collection<Class<?>> prepareMapper(final Collection<Class<?>> model) {
+        final Mapper mapper = new MapperBuilder().build();
+        warmup(mapper::warmup, model);
+        return mapper.getMappedClasses();
+    }
+
+    private Collection<Class<?>> prepareJsonb(final Collection<Class<?>> model) {
+        try (final JohnzonJsonb jsonb = JohnzonJsonb.class.cast(new JohnzonBuilder()
+                .withConfig(new JsonbConfig().setProperty("johnzon.skip-cdi", true))
+                .build())) {
+            warmup(clazz -> jsonb.warmup(false, clazz), model);
+            return jsonb.getMappedClasses();
+        }
+    }
+
+    // enums of the signatures and classes of the mapping annotations (adapters, serializers, subtypes...)
+    private void addReferencedClasses(final Class<?> clazz, final TreeMap<String, Class<?>> reflection) {
+        final Collection<AnnotatedElement> elements = new ArrayList<>();
+        elements.add(clazz);
+        for (final Field field : clazz.getDeclaredFields()) {
+            elements.add(field);
+            addEnums(field.getGenericType(), reflection);
+        }
+        for (final Method method : clazz.getDeclaredMethods()) {
+            elements.add(method);
+            addEnums(method.getGenericReturnType(), reflection);
+            Stream.of(method.getGenericParameterTypes()).forEach(it -> addEnums(it, reflection));
+        }
+        for (final Constructor<?> constructor : clazz.getDeclaredConstructors()) {
+            elements.add(constructor);
+            Stream.of(constructor.getGenericParameterTypes()).forEach(it -> addEnums(it, reflection));
+        }
+        for (final AnnotatedElement element : elements) {
+            addAnnotationClasses(element.getAnnotations(), reflection);
+            if (Executable.class.isInstance(element)) {
+                Stream.of(Executable.class.cast(element).getParameterAnnotations())
+                        .forEach(it -> addAnnotationClasses(it, reflection));
+            }
+        }
+    }
+
+    private void addAnnotationClasses(final Annotation[] annotations, final TreeMap<String, Class<?>> reflection) {
+        for (final Annotation annotation : annotations) {
+            final String name = annotation.annotationType().getName();
+            if (!name.startsWith("javax.json.bind.annotation.") && !name.startsWith("org.apache.johnzon.")) {
+                continue;
+            }
+            for (final Method member : annotation.annotationType().getDeclaredMethods()) {
+                final Object value;
+                try {
+                    value = member.invoke(annotation);
+                } catch (final ReflectiveOperationException e) {
+                    continue;
+                }
+                if (Class.class.isInstance(value)) {
+                    reflection.putIfAbsent(Class.class.cast(value).getName(), Class.class.cast(value));
+                } else if (Class[].class.isInstance(value)) {
+                    Stream.of(Class[].class.cast(value)).forEach(it -> reflection.putIfAbsent(it.getName(), it));
+                } else if (Annotation.class.isInstance(value)) {
+                    addAnnotationClasses(new Annotation[]{Annotation.class.cast(value)}, reflection);
+                } else if (Annotation[].class.isInstance(value)) {
+                    addAnnotationClasses(Annotation[].class.cast(value), reflection);
+                }
+            }
+        }
+    }
+
+    private void addEnums(final Type type, final TreeMap<String, Class<?>> reflection) {
+        if (Class.class.isInstance(type)) {
+            final Class<?> clazz = Class.class.cast(type);
+            if (clazz.isArray()) {
+                addEnums(clazz.getComponentType(), reflection);
+            } else if (clazz.isEnum()) {
+                reflection.putIfAbsent(clazz.getName(), clazz);
+            }
+        } else if (ParameterizedType.class.isInstance(type)) {
+            Stream.of(ParameterizedType.class.cast(type).getActualTypeArguments()).forEach(it -> addEnums(it, reflection));
+        } else if (GenericArrayType.class.isInstance(type)) {
+            addEnums(GenericArrayType.class.cast(type).getGenericComponentType(), reflection);
+        } else if (WildcardType.class.isInstance(type)) {
+            Stream.of(WildcardType.class.cast(type).getUpperBounds()).forEach(it -> addEnums(it, reflection));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.maven.plugin;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.project.MavenProject;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Helpers for the goals working on the compiled classes of the project.
+ */
+final class ProjectClasses {
+    private ProjectClasses() {
+        // no-op
+    }
+
+    static URLClassLoader newLoader(final MavenProject project, final File classesDir, final ClassLoader parent) {
+        return new URLClassLoader(
+                Stream.concat(project.getArtifacts().stream()
+                                .map(Artifact::getFile)
+                                .filter(Objects::nonNull),
+                        Stream.of(classesDir))
+                        .filter(File::exists)
+                        .map(it -> {
+                            try {
+                                return it.toURI().toURL();
+                            } catch (final MalformedURLException e) {
+                                throw new IllegalStateException(e);
+                            }
+                        })
+                        .toArray(URL[]::new),
+                parent);
+    }
+
+    /**
+     * @param classesDir the compiled classes.
+     * @param includes the class name prefixes to keep, all classes are kept if null or empty.
+     * @return the sorted names of the classes.
+     * @throws IOException if the directory can't be browsed.
+     */
+    static Collection<String> findClassNames(final File classesDir, final List<String> includes) throws IOException {
+        final Path root = classesDir.toPath();
+        try (final Stream<Path> files = Files.walk(root)) {
+            return files.map(it -> root.relativize(it).toString())
+                    .filter(it -> it.endsWith(".class") && !it.endsWith("package-info.class") && !it.endsWith("module-info.class"))
+                    .map(it -> it.substring(0, it.length() - ".class".length()).replace(File.separatorChar, '.'))
+                    .filter(name -> includes == null || includes.isEmpty() || includes.stream().anyMatch(name::startsWith))
+                    .sorted()
+                    .collect(toList());
+        }
+    }
+}
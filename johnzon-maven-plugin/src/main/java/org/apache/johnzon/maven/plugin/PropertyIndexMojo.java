@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.maven.plugin;
+
+import org.apache.johnzon.mapper.access.PropertyIndex;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Modifier;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.apache.maven.plugins.annotations.LifecyclePhase.PROCESS_CLASSES;
+import static org.apache.maven.plugins.annotations.ResolutionScope.RUNTIME_PLUS_SYSTEM;
+
+/**
+ * Precomputes the java beans properties of the project classes in {@link PropertyIndex#LOCATION}
+ * to skip the introspection when the mapper first sees these classes.
+ */
+@Mojo(name = "property-index", defaultPhase = PROCESS_CLASSES, requiresDependencyResolution = RUNTIME_PLUS_SYSTEM)
+public class PropertyIndexMojo extends AbstractMojo {
+    @Parameter(property = "johnzon.property-index.classesDir", defaultValue = "${project.build.outputDirectory}")
+    protected File classesDir;
+
+    @Parameter(property = "johnzon.property-index.target", defaultValue = "${project.build.outputDirectory}/" + PropertyIndex.LOCATION)
+    protected File target;
+
+    /**
+     * Class name prefixes (packages) to index, all classes are indexed if empty.
+     */
+    @Parameter(property = "johnzon.property-index.includes")
+    protected List<String> includes;
+
+    @Parameter(defaultValue = "${project}", readonly = true)
+    protected MavenProject project;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (!classesDir.isDirectory()) {
+            getLog().info("No " + classesDir + ", skipping");
+            return;
+        }
+        final Map<String, String> index = new TreeMap<>();
+        try (final URLClassLoader loader = ProjectClasses.newLoader(project, classesDir, Thread.currentThread().getContextClassLoader())) {
+            for (final String name : ProjectClasses.findClassNames(classesDir, includes)) {
+                try {
+                    final Class<?> clazz = loader.loadClass(name);
+                    if (isIndexable(clazz)) {
+                        index.put(clazz.getName(), PropertyIndex.toIndex(Introspector.getBeanInfo(clazz).getPropertyDescriptors()));
+                    }
+                } catch (final ClassNotFoundException | LinkageError | IntrospectionException e) {
+                    getLog().debug("Skipping " + name + ": " + e.getMessage());
+                }
+            }
+        } catch (final IOException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        }
+
+        try {
+            if (target.getParentFile() != null) {
+                Files.createDirectories(target.toPath().getParent());
+            }
+            try (final Writer writer = Files.newBufferedWriter(target.toPath(), StandardCharsets.UTF_8)) {
+                for (final Map.Entry<String, String> entry : index.entrySet()) {
+                    writer.write(entry.getKey() + '=' + entry.getValue() + '\n');
+                }
+            }
+        } catch (final IOException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        }
+        getLog().info("Indexed " + index.size() + " classes in " + target);
+    }
+
+    private boolean isIndexable(final Class<?> clazz) {
+        return !clazz.isInterface() && !clazz.isAnnotation() && !clazz.isEnum() && !clazz.isSynthetic()
+                && !clazz.isAnonymousClass() && !clazz.isLocalClass() && Modifier.isPublic(clazz.getModifiers());
+    }
+}
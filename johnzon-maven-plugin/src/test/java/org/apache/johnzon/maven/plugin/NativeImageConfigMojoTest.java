@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.maven.plugin;
+
+import org.apache.johnzon.mapper.Converter;
+import org.apache.johnzon.mapper.JohnzonConverter;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.project.MavenProject;
+import org.junit.Test;
+
+import javax.json.Json;
+import javax.json.JsonReader;
+import javax.json.JsonValue;
+import javax.json.bind.annotation.JsonbTransient;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+
+public class NativeImageConfigMojoTest {
+    @Test
+    public void mapperMode() throws MojoExecutionException, IOException {
+        final NativeImageConfigMojo mojo = execute("mapper");
+        assertEquals(
+                asList(Child.class.getName(), Internal.class.getName(), Kind.class.getName(),
+                        Root.class.getName(), UpperConverter.class.getName()),
+                readReflectionNames(mojo));
+        try (final JsonReader reader = Json.createReader(Files.newBufferedReader(new File(mojo.target, "resource-config.json").toPath()))) {
+            assertEquals(
+                    asList("\\QMETA-INF/johnzon/property.index\\E", "\\QMETA-INF/services/org.apache.johnzon.mapper.GeneratedCodec\\E"),
+                    reader.readObject().getJsonObject("resources").getJsonArray("includes").stream()
+                            .map(it -> it.asJsonObject().getString("pattern"))
+                            .collect(toList()));
+        }
+    }
+
+    @Test
+    public void jsonbMode() throws MojoExecutionException, IOException {
+        assertEquals(
+                asList(Child.class.getName(), Kind.class.getName(), Root.class.getName(), UpperConverter.class.getName()),
+                readReflectionNames(execute("jsonb")));
+    }
+
+    @Test(expected = MojoExecutionException.class)
+    public void unknownMode() throws MojoExecutionException {
+        execute("jackson");
+    }
+
+    private static NativeImageConfigMojo execute(final String mode) throws MojoExecutionException {
+        final NativeImageConfigMojo mojo = new NativeImageConfigMojo();
+        mojo.classesDir = new File("target/test-classes");
+        mojo.target = new File("target/workdir-NativeImageConfigMojoTest-" + mode);
+        mojo.includes = singletonList(Root.class.getName());
+        mojo.mode = mode;
+        mojo.project = new MavenProject() {
+            @Override
+            public Set<Artifact> getArtifacts() {
+                return emptySet();
+            }
+        };
+        mojo.execute();
+        return mojo;
+    }
+
+    private static List<String> readReflectionNames(final NativeImageConfigMojo mojo) throws IOException {
+        try (final JsonReader reader = Json.createReader(Files.newBufferedReader(new File(mojo.target, "reflect-config.json").toPath()))) {
+            return reader.readArray().stream()
+                    .map(JsonValue::asJsonObject)
+                    .map(it -> it.getString("name"))
+                    .collect(toList());
+        }
+    }
+
+    public static class Root {
+        public List<Child> children;
+
+        @JohnzonConverter(UpperConverter.class)
+        public String label;
+
+        @JsonbTransient // only honored in jsonb mode
+        public Internal internal;
+    }
+
+    public static class Internal {
+        public String value;
+    }
+
+    public static class Child {
+        public Kind kind;
+    }
+
+    public enum Kind {
+        A, B
+    }
+
+    public static class UpperConverter implements Converter<String> {
+        @Override
+        public String toString(final String instance) {
+            return instance.toUpperCase();
+        }
+
+        @Override
+        public String fromString(final String text) {
+            return text;
+        }
+    }
+}
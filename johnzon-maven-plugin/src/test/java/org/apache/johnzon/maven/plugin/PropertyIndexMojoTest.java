@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.johnzon.maven.plugin;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.project.MavenProject;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Set;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.joining;
+import static org.junit.Assert.assertEquals;
+
+public class PropertyIndexMojoTest {
+    @Test
+    public void generate() throws MojoExecutionException, IOException {
+        final PropertyIndexMojo mojo = new PropertyIndexMojo();
+        mojo.classesDir = new File("target/test-classes");
+        mojo.target = new File("target/workdir-PropertyIndexMojoTest/property.index");
+        mojo.includes = singletonList(PropertyIndexMojoTest.class.getName() + "$");
+        mojo.project = new MavenProject() {
+            @Override
+            public Set<Artifact> getArtifacts() {
+                return emptySet();
+            }
+        };
+        mojo.execute();
+        assertEquals("" +
+                        "org.apache.johnzon.maven.plugin.PropertyIndexMojoTest$Foo=" +
+                        "active:isActive:setActive:boolean,class:getClass::,name:getName::\n" +
+                        "org.apache.johnzon.maven.plugin.PropertyIndexMojoTest$Foo$Bar=" +
+                        "class:getClass::,values:getValues:setValues:java.lang.String[]",
+                Files.readAllLines(mojo.target.toPath()).stream().collect(joining("\n")));
+    }
+
+    public static class Foo {
+        public boolean isActive() {
+            return true;
+        }
+
+        public void setActive(final boolean active) {
+            // no-op
+        }
+
+        public String getName() {
+            return "foo";
+        }
+
+        public static class Bar {
+            public String[] getValues() {
+                return null;
+            }
+
+            public void setValues(final String[] values) {
+                // no-op
+            }
+        }
+    }
+}